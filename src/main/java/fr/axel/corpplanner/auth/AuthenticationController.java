@@ -1,8 +1,10 @@
 package fr.axel.corpplanner.auth;
 
-import jakarta.servlet.http.HttpServletResponse;
+import fr.axel.corpplanner.security.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
@@ -15,8 +17,18 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
+    public static final String REFRESH_TOKEN_COOKIE = "refreshToken";
+    // Le refresh token n'est envoyé qu'aux routes d'authentification
+    private static final String REFRESH_TOKEN_PATH = "/api/v1/auth";
+
     private final AuthenticationService service;
 
+    @Value("${application.security.jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${application.security.jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
     @PostMapping("/register")
     public ResponseEntity<Map<String, String>> register(@RequestBody RegisterRequest request) {
         String message = service.register(request);
@@ -32,22 +44,18 @@ public class AuthenticationController {
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> login(
             @RequestBody AuthenticationRequest request,
-            HttpServletResponse response
+            HttpServletRequest httpRequest
     ) {
-        AuthenticationResponse authResponse = service.authenticate(request);
-
-        ResponseCookie jwtCookie = ResponseCookie.from("accessToken", authResponse.getToken())
-                .httpOnly(true)
-                .secure(false)
-                .path("/")
-                .maxAge(24 * 60 * 60) // 24h
-                .sameSite("Lax")
-                .build();
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
-                .body(Map.of("message", "Connexion réussie"));
+        AuthenticationResponse authResponse = service.authenticate(request, httpRequest.getRemoteAddr());
+        return withTokenCookies(authResponse, "Connexion réussie");
+    }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(
+            @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken
+    ) {
+        AuthenticationResponse authResponse = service.refresh(refreshToken);
+        return withTokenCookies(authResponse, "Session prolongée");
     }
 
     @PostMapping("/forgot-password")
@@ -61,13 +69,46 @@ public class AuthenticationController {
         return ResponseEntity.ok(Map.of("message", "Mot de passe modifié avec succès."));
     }
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        ResponseCookie cookie = ResponseCookie.from("accessToken", null)
+    public ResponseEntity<?> logout(
+            @CookieValue(name = JwtAuthenticationFilter.TOKEN_COOKIE, required = false) String accessToken,
+            @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken
+    ) {
+        // Le jeton d'accès est révoqué : une copie du cookie ne permet plus de se connecter
+        service.logout(accessToken, refreshToken);
+
+        ResponseCookie cookie = ResponseCookie.from(JwtAuthenticationFilter.TOKEN_COOKIE, null)
                 .path("/")
                 .maxAge(0)
                 .build();
+        ResponseCookie refreshCookie = ResponseCookie.from(REFRESH_TOKEN_COOKIE, null)
+                .path(REFRESH_TOKEN_PATH)
+                .maxAge(0)
+                .build();
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
                 .build();
     }
+
+    private ResponseEntity<Map<String, String>> withTokenCookies(AuthenticationResponse authResponse, String message) {
+        ResponseCookie jwtCookie = ResponseCookie.from(JwtAuthenticationFilter.TOKEN_COOKIE, authResponse.getToken())
+                .httpOnly(true)
+                .secure(false)
+                .path("/")
+                .maxAge(jwtExpiration / 1000)
+                .sameSite("Lax")
+                .build();
+        ResponseCookie refreshCookie = ResponseCookie.from(REFRESH_TOKEN_COOKIE, authResponse.getRefreshToken())
+                .httpOnly(true)
+                .secure(false)
+                .path(REFRESH_TOKEN_PATH)
+                .maxAge(refreshExpiration / 1000)
+                .sameSite("Strict")
+                .build();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
+                .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
+                .body(Map.of("message", message));
+    }
 }
\ No newline at end of file
@@ -2,21 +2,34 @@ package fr.axel.corpplanner.auth;
 
 import fr.axel.corpplanner.email.EmailService;
 import fr.axel.corpplanner.security.JwtService;
+import fr.axel.corpplanner.security.LoginAttemptLimiter;
+import fr.axel.corpplanner.security.RefreshTokenService;
+import fr.axel.corpplanner.security.TokenPrincipal;
+import fr.axel.corpplanner.security.TokenRevocationList;
 import fr.axel.corpplanner.security.VerificationService;
+import fr.axel.corpplanner.security.VerifiedToken;
+import fr.axel.corpplanner.security.domain.RefreshToken;
 import fr.axel.corpplanner.security.domain.TokenType;
 import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +41,9 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final VerificationService verificationService;
     private final EmailService emailService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
 
 
     @Transactional
@@ -94,24 +110,69 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
         verificationService.deleteToken(code, TokenType.PASSWORD_RESET);
+        // Un attaquant qui détenait une session ne la garde pas après la réinitialisation
+        refreshTokenService.revokeAll(user);
     }
 
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+        // Compte ou IP déjà en échec répété : refus immédiat, sans hachage
+        loginAttemptLimiter.checkAllowed(request.getEmail(), clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            loginAttemptLimiter.recordFailure(request.getEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptLimiter.recordSuccess(request.getEmail());
+
+        // Utilisateur déjà chargé (avec ses rôles) par DaoAuthenticationProvider
+        var user = (User) authentication.getPrincipal();
+
+        return issueTokens(user, null);
+    }
+
+    // Rotation : l'ancien refresh token est consommé, une nouvelle paire est émise dans la même famille
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthenticationResponse refresh(String refreshToken) {
+        RefreshToken consumed = refreshTokenService.consume(refreshToken);
+        return issueTokens(consumed.getUser(), consumed.getFamilyId());
+    }
+
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                VerifiedToken token = jwtService.verify(accessToken);
+                revocationList.revoke(token.tokenId(), LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()));
+            } catch (JwtException e) {
+                // Jeton déjà invalide ou expiré : rien à révoquer
+            }
+        }
+        refreshTokenService.revoke(refreshToken);
+    }
 
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow();
+    private AuthenticationResponse issueTokens(User user, String familyId) {
+        String accessTokenId = UUID.randomUUID().toString();
+        LocalDateTime accessExpiresAt = LocalDateTime.now().plusNanos(jwtService.getExpiration() * 1_000_000);
 
-        var jwtToken = jwtService.generateToken(user);
+        // Id et rôles embarqués : JwtAuthenticationFilter reconstruit l'utilisateur sans requête
+        var jwtToken = jwtService.generateToken(Map.of(
+                JwtService.TOKEN_ID_CLAIM, accessTokenId,
+                TokenPrincipal.USER_ID_CLAIM, user.getId(),
+                TokenPrincipal.ROLES_CLAIM, user.getRoles().stream().map(Enum::name).sorted().toList()
+        ), user);
 
         return AuthenticationResponse.builder()
                 .token(jwtToken)
+                .refreshToken(refreshTokenService.create(user, familyId, accessTokenId, accessExpiresAt))
                 .build();
     }
 }
\ No newline at end of file
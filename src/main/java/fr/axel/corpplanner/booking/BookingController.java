@@ -1,21 +1,53 @@
 package fr.axel.corpplanner.booking;
 
-import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.ApprovalQueuePage;
+import fr.axel.corpplanner.booking.dto.ApprovalRequest;
+import fr.axel.corpplanner.booking.dto.ApprovalResponse;
+import fr.axel.corpplanner.booking.dto.AutoBookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingBatchResponse;
+import fr.axel.corpplanner.booking.dto.BookingFilter;
+import fr.axel.corpplanner.booking.dto.BookingPage;
 import fr.axel.corpplanner.booking.dto.BookingRequest;
 import fr.axel.corpplanner.booking.dto.BookingResponse;
+import fr.axel.corpplanner.booking.dto.BookingSeriesRequest;
+import fr.axel.corpplanner.booking.dto.BookingSeriesResponse;
+import fr.axel.corpplanner.booking.dto.ExportFormat;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.GridFormat;
+import fr.axel.corpplanner.booking.dto.OccupancyGridResponse;
+import fr.axel.corpplanner.booking.dto.SlotHoldResponse;
+import fr.axel.corpplanner.booking.dto.UserOverlapRule;
+import fr.axel.corpplanner.booking.dto.WaitlistEntryResponse;
+import fr.axel.corpplanner.booking.service.BookingApprovalService;
+import fr.axel.corpplanner.booking.service.BookingBatchService;
+import fr.axel.corpplanner.booking.service.BookingExportService;
+import fr.axel.corpplanner.booking.service.BookingSeriesService;
 import fr.axel.corpplanner.booking.service.BookingService;
+import fr.axel.corpplanner.booking.service.MeetingSchedulerService;
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.SlotHoldService;
+import fr.axel.corpplanner.booking.service.UserOverlapService;
+import fr.axel.corpplanner.booking.service.WaitlistService;
 import fr.axel.corpplanner.user.domain.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,6 +57,15 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final BookingSeriesService bookingSeriesService;
+    private final OccupancyGrid occupancyGrid;
+    private final BookingExportService bookingExportService;
+    private final BookingApprovalService bookingApprovalService;
+    private final WaitlistService waitlistService;
+    private final SlotHoldService slotHoldService;
+    private final MeetingSchedulerService meetingSchedulerService;
+    private final UserOverlapService userOverlapService;
 
     @PostMapping
     @Operation(summary = "Créer une réservation")
@@ -34,17 +75,211 @@ public class BookingController {
     ) {
         return ResponseEntity.status(HttpStatus.CREATED).body( bookingService.createBooking(request, userDetails));
     }
+
+    @PostMapping("/auto")
+    @Operation(summary = "Réserver n'importe quelle ressource correspondante",
+            description = "Attribue la plus petite ressource libre du type, de la capacité et du site demandés.")
+    public ResponseEntity<BookingResponse> createBookingAnyResource(
+            @Valid @RequestBody AutoBookingRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBookingAnyResource(request, userDetails));
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Poser une option temporaire sur un créneau",
+            description = "Le créneau est bloqué pour les autres utilisateurs pendant la durée de l'option (5 minutes par défaut).")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+            @Valid @RequestBody BookingRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotHoldService.hold(request, userDetails));
+    }
+
+    @PostMapping("/holds/{id}/confirm")
+    @Operation(summary = "Transformer une option en réservation")
+    public ResponseEntity<BookingResponse> confirmHold(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotHoldService.confirm(id, userDetails));
+    }
+
+    @DeleteMapping("/holds/{id}")
+    @Operation(summary = "Lever une option")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        slotHoldService.release(id, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Créer plusieurs réservations en une seule requête",
+            description = "Chaque élément est accepté ou rejeté individuellement (conflit ou requête invalide).")
+    public ResponseEntity<BookingBatchResponse> createBookings(
+            @RequestBody List<BookingRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(bookingBatchService.createBookings(requests, userDetails));
+    }
+
+    @PostMapping("/series")
+    @Operation(summary = "Créer une réservation récurrente",
+            description = "Quotidienne ou hebdomadaire, toutes les N périodes, jusqu'à une date ou pour un nombre d'occurrences.")
+    public ResponseEntity<BookingSeriesResponse> createSeries(
+            @Valid @RequestBody BookingSeriesRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingSeriesService.createSeries(request, userDetails));
+    }
+
+    @DeleteMapping("/series/{id}")
+    @Operation(summary = "Annuler une réservation récurrente")
+    public ResponseEntity<Void> cancelSeries(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        bookingSeriesService.cancelSeries(id, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/grid")
+    @Operation(summary = "Grille d'occupation de plusieurs ressources",
+            description = "Par jour : bitmap base64 (bit i = case i, octets little-endian) ou plages occupées (format=RUNS).")
+    public ResponseEntity<OccupancyGridResponse> getGrid(
+            @RequestParam List<Long> resourceIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "BITMAP") GridFormat format
+    ) {
+        return ResponseEntity.ok(occupancyGrid.getGrid(resourceIds, from, to, format));
+    }
+
+    @GetMapping("/meetings/slots")
+    @Operation(summary = "Trouver un créneau de réunion",
+            description = "Créneaux où tous les participants sont libres ainsi qu'au moins une salle assez grande, "
+                    + "du plus tôt au plus tard puis de la plus petite salle suffisante à la plus grande.")
+    public ResponseEntity<List<FreeSlot>> findMeetingSlots(
+            @RequestParam List<Long> userIds,
+            @RequestParam Duration duration,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(meetingSchedulerService.findMeetingSlots(userIds, duration, from, to, location, limit));
+    }
+
     @GetMapping(path = "/mine")
-    @Operation(summary = "Récupérer uniquement mes réservations")
+    @Operation(summary = "Récupérer uniquement mes réservations",
+            description = "Les occurrences des séries sont limitées à une fenêtre autour d'aujourd'hui.")
     public ResponseEntity<List<BookingResponse>> getAllBookings(@AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(bookingService.getBookings(userDetails));
     }
 
     @GetMapping
-    @Operation(summary = "Récupérer toutes les réservations de l'entreprise")
+    @Operation(summary = "Récupérer les réservations de l'entreprise",
+            description = "Triées par date de début, filtrables. Passer nextCursor dans cursor pour obtenir la page suivante.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingPage> getAllBookings(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Long resourceId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        BookingFilter filter = new BookingFilter(status, resourceId, userId, from, to);
+        return ResponseEntity.ok(bookingService.searchBookings(filter, cursor, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exporter les réservations d'une période",
+            description = "Flux CSV ou NDJSON (une réservation par ligne) des réservations commençant dans [from, to[.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        bookingExportService.validate(from, to);
+        String extension = format == ExportFormat.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + extension + "\"")
+                .body(out -> bookingExportService.export(format, from, to, out));
+    }
+
+    @GetMapping("/approvals")
+    @Operation(summary = "File des réservations en attente de validation",
+            description = "De la plus ancienne à la plus récente. Passer nextCursor dans cursor pour obtenir la page suivante.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApprovalQueuePage> getApprovalQueue(
+            @RequestParam(required = false) Long resourceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(bookingApprovalService.getQueue(resourceId, cursor, size));
+    }
+
+    @PostMapping("/approvals/confirm")
+    @Operation(summary = "Valider des réservations en attente",
+            description = "Les réservations qui ne sont plus en attente sont ignorées et listées dans skipped.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApprovalResponse> confirmBookings(@Valid @RequestBody ApprovalRequest request) {
+        return ResponseEntity.ok(bookingApprovalService.confirm(request.ids()));
+    }
+
+    @PostMapping("/approvals/reject")
+    @Operation(summary = "Refuser des réservations en attente",
+            description = "Les réservations refusées sont annulées et leurs créneaux libérés immédiatement.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApprovalResponse> rejectBookings(@Valid @RequestBody ApprovalRequest request) {
+        return ResponseEntity.ok(bookingApprovalService.reject(request.ids()));
+    }
+
+    @PostMapping("/waitlist")
+    @Operation(summary = "S'inscrire en liste d'attente sur un créneau déjà réservé",
+            description = "La réservation est créée automatiquement si le créneau se libère (priorité, puis ancienneté).")
+    public ResponseEntity<WaitlistEntryResponse> joinWaitlist(
+            @Valid @RequestBody BookingRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(request, userDetails));
+    }
+
+    @GetMapping("/waitlist/mine")
+    @Operation(summary = "Récupérer mes demandes en liste d'attente")
+    public ResponseEntity<List<WaitlistEntryResponse>> getMyWaitlist(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(waitlistService.getMine(userDetails));
+    }
+
+    @DeleteMapping("/waitlist/{id}")
+    @Operation(summary = "Quitter la liste d'attente")
+    public ResponseEntity<Void> leaveWaitlist(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        waitlistService.leave(id, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/user-overlap-policy")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Consulter la règle anti-chevauchement par utilisateur", description = "Nécessite le rôle ADMIN.")
+    public ResponseEntity<UserOverlapRule> getUserOverlapPolicy() {
+        return ResponseEntity.ok(userOverlapService.getRule());
+    }
+
+    @PutMapping("/user-overlap-policy")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<BookingResponse>> getAllBookings(){
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    @Operation(summary = "Modifier la règle anti-chevauchement par utilisateur",
+            description = "Active ou non la règle et fixe les rôles et types de ressource exemptés. Nécessite le rôle ADMIN.")
+    public ResponseEntity<UserOverlapRule> updateUserOverlapPolicy(@Valid @RequestBody UserOverlapRule request) {
+        return ResponseEntity.ok(userOverlapService.update(request));
     }
 
     @DeleteMapping("/{id}")
@@ -14,11 +14,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(indexes = {
-        @Index(name = "idx_booking_dates", columnList = "startDate, endDate")
+        @Index(name = "idx_booking_dates", columnList = "startDate, endDate"),
+        @Index(name = "idx_booking_start_id", columnList = "startDate, id"),
+        @Index(name = "idx_booking_status_created", columnList = "status, createdAt, id")
 })
 public class Booking {
+    // Séquence (et non IDENTITY) pour que Hibernate puisse regrouper les insertions en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,6 +39,9 @@ public class Booking {
     @Column(updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Copie du mode de la ressource : la contrainte d'exclusion PostgreSQL ne porte que sur les ressources exclusives
+    private Boolean pooled;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,67 @@
+package fr.axel.corpplanner.booking.domain;
+
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.user.domain.User;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_booking_series_dates", columnList = "startDate, lastEndDate")
+})
+public class BookingSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Première occurrence
+    @Column(nullable = false)
+    private LocalDateTime startDate;
+
+    @Column(nullable = false)
+    private LocalDateTime endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Recurrence frequency;
+
+    @Column(nullable = false)
+    private int repeatEvery;
+
+    private LocalDate untilDate;
+
+    private Integer occurrenceCount;
+
+    // Fin de la dernière occurrence, pour les recherches par plage de dates
+    @Column(nullable = false)
+    private LocalDateTime lastEndDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resource_id", nullable = false)
+    private Resource resource;
+
+    public RecurrenceRule toRule() {
+        return new RecurrenceRule(id, resource.getId(), user.getId(), startDate, endDate,
+                frequency, repeatEvery, untilDate, occurrenceCount);
+    }
+}
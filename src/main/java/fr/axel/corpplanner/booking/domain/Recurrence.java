@@ -0,0 +1,15 @@
+package fr.axel.corpplanner.booking.domain;
+
+public enum Recurrence {
+    DAILY(1), WEEKLY(7);
+
+    private final int days;
+
+    Recurrence(int days) {
+        this.days = days;
+    }
+
+    public int days() {
+        return days;
+    }
+}
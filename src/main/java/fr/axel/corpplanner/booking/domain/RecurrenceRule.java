@@ -0,0 +1,68 @@
+package fr.axel.corpplanner.booking.domain;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Règle de récurrence d'une série : l'occurrence k commence à firstStart + k * période.
+ * Les occurrences ne sont jamais stockées, elles sont calculées à la demande dans une fenêtre.
+ */
+public record RecurrenceRule(
+        Long seriesId,
+        Long resourceId,
+        Long userId,
+        LocalDateTime firstStart,
+        LocalDateTime firstEnd,
+        Recurrence frequency,
+        int repeatEvery,
+        LocalDate untilDate,
+        Integer occurrenceCount
+) {
+    public long periodSeconds() {
+        return Duration.ofDays((long) frequency.days() * repeatEvery).toSeconds();
+    }
+
+    public long lastIndex() {
+        if (occurrenceCount != null) {
+            return occurrenceCount - 1L;
+        }
+        long days = ChronoUnit.DAYS.between(firstStart.toLocalDate(), untilDate);
+        return days < 0 ? -1 : days / ((long) frequency.days() * repeatEvery);
+    }
+
+    public LocalDateTime lastEnd() {
+        return firstEnd.plusSeconds(periodSeconds() * Math.max(lastIndex(), 0));
+    }
+
+    public BookingSlot occurrence(long index) {
+        long shift = periodSeconds() * index;
+        return new BookingSlot(null, resourceId, userId, firstStart.plusSeconds(shift), firstEnd.plusSeconds(shift), seriesId);
+    }
+
+    public Stream<BookingSlot> occurrences() {
+        return LongStream.rangeClosed(0, lastIndex()).mapToObj(this::occurrence);
+    }
+
+    // Occurrences chevauchant [from, to[, sans parcourir celles qui précèdent la fenêtre
+    public Stream<BookingSlot> occurrences(LocalDateTime from, LocalDateTime to) {
+        long period = periodSeconds();
+        long afterFirstEnd = ChronoUnit.SECONDS.between(firstEnd, from);
+        long first = afterFirstEnd < 0 ? 0 : afterFirstEnd / period + 1;
+        long untilEnd = ChronoUnit.SECONDS.between(firstStart, to);
+        if (untilEnd <= 0) {
+            return Stream.empty();
+        }
+        long last = Math.min((untilEnd - 1) / period, lastIndex());
+        return LongStream.rangeClosed(first, last).mapToObj(this::occurrence);
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return occurrences(from, to).findAny().isPresent();
+    }
+}
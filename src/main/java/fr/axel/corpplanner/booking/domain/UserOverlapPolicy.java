@@ -0,0 +1,42 @@
+package fr.axel.corpplanner.booking.domain;
+
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.user.domain.Role;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Règle anti-chevauchement par utilisateur, modifiable par un administrateur.
+ * Une seule ligne (id {@link #SINGLETON_ID}) ; absente, la configuration de l'application s'applique.
+ */
+@Entity
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOverlapPolicy {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    private boolean enabled;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "user_overlap_exempt_roles", joinColumns = @JoinColumn(name = "policy_id"))
+    @Column(name = "role")
+    @Builder.Default
+    private Set<Role> exemptRoles = new HashSet<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "user_overlap_exempt_types", joinColumns = @JoinColumn(name = "policy_id"))
+    @Column(name = "type")
+    @Builder.Default
+    private Set<ResourceType> exemptResourceTypes = new HashSet<>();
+}
@@ -0,0 +1,5 @@
+package fr.axel.corpplanner.booking.domain;
+
+public enum WaitlistStatus {
+    WAITING, PROMOTED, CANCELLED, EXPIRED
+}
@@ -0,0 +1,10 @@
+package fr.axel.corpplanner.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record ApprovalRequest(
+        @NotEmpty(message = "La liste des réservations est obligatoire")
+        List<Long> ids
+) {}
@@ -0,0 +1,26 @@
+package fr.axel.corpplanner.booking.dto;
+
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Réservation sans ressource imposée : la plus petite ressource libre répondant aux critères est attribuée.
+ */
+public record AutoBookingRequest(
+        @NotNull(message = "La date de début est obligatoire")
+        LocalDateTime startDate,
+
+        @NotNull(message = "La date de fin est obligatoire")
+        LocalDateTime endDate,
+
+        @NotNull(message = "Type de ressource obligatoire")
+        ResourceType type,
+
+        @Min(value = 1, message = "La capacité minimale doit être positive")
+        Integer minCapacity,
+
+        String location
+) {}
@@ -0,0 +1,12 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.util.List;
+
+/**
+ * Propositions renvoyées avec un conflit : créneaux libres les plus proches sur la même ressource
+ * et ressources équivalentes libres sur le créneau demandé.
+ */
+public record BookingAlternatives(
+        List<TimeWindow> sameResource,
+        List<FreeSlot> equivalentResources
+) {}
@@ -0,0 +1,33 @@
+package fr.axel.corpplanner.booking.dto;
+
+public record BookingBatchItemResult(
+        int index,
+        String status,
+        BookingResponse booking,
+        String message
+) {
+    public static final String CREATED = "CREATED";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    public static BookingBatchItemResult created(int index, BookingResponse booking) {
+        return new BookingBatchItemResult(index, CREATED, booking, null);
+    }
+
+    public static BookingBatchItemResult conflict(int index) {
+        return new BookingBatchItemResult(index, CONFLICT, null, "Cette ressource est déjà réservée sur ce créneau.");
+    }
+
+    public static BookingBatchItemResult userOverlap(int index) {
+        return new BookingBatchItemResult(index, CONFLICT, null, "Vous avez déjà une réservation sur ce créneau.");
+    }
+
+    public static BookingBatchItemResult failed(int index) {
+        return new BookingBatchItemResult(index, FAILED, null, "Erreur lors de l'enregistrement, veuillez réessayer.");
+    }
+
+    public static BookingBatchItemResult invalid(int index, String message) {
+        return new BookingBatchItemResult(index, INVALID, null, message);
+    }
+}
@@ -0,0 +1,9 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.util.List;
+
+public record BookingBatchResponse(
+        int created,
+        int rejected,
+        List<BookingBatchItemResult> results
+) {}
@@ -0,0 +1,36 @@
+package fr.axel.corpplanner.booking.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans la liste triée par (startDate, réservations puis occurrences de séries, id).
+ * Sérialisée en base64 url-safe, opaque pour le client.
+ */
+public record BookingCursor(
+        LocalDateTime startDate,
+        boolean occurrence,
+        long id
+) {
+    public String encode() {
+        String raw = startDate + "|" + (occurrence ? "S" : "B") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String value) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !(parts[1].equals("B") || parts[1].equals("S"))) {
+                throw new IllegalArgumentException(value);
+            }
+            return new BookingCursor(LocalDateTime.parse(parts[0]), parts[1].equals("S"), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Curseur de pagination invalide.");
+        }
+    }
+}
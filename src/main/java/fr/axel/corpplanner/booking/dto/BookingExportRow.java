@@ -0,0 +1,22 @@
+package fr.axel.corpplanner.booking.dto;
+
+import fr.axel.corpplanner.booking.domain.Status;
+
+import java.time.LocalDateTime;
+
+public record BookingExportRow(
+        Long id,
+        Long seriesId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Status status,
+        Long resourceId,
+        String resourceName,
+        Long userId,
+        String userEmail
+) {
+    public BookingExportRow(Long id, LocalDateTime startDate, LocalDateTime endDate, Status status,
+                            Long resourceId, String resourceName, Long userId, String userEmail) {
+        this(id, null, startDate, endDate, status, resourceId, resourceName, userId, userEmail);
+    }
+}
@@ -0,0 +1,13 @@
+package fr.axel.corpplanner.booking.dto;
+
+import fr.axel.corpplanner.booking.domain.Status;
+
+import java.time.LocalDateTime;
+
+public record BookingFilter(
+        Status status,
+        Long resourceId,
+        Long userId,
+        LocalDateTime from,
+        LocalDateTime to
+) {}
@@ -0,0 +1,8 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.util.List;
+
+public record BookingPage(
+        List<BookingResponse> items,
+        String nextCursor
+) {}
@@ -7,5 +7,10 @@ public record BookingResponse(
         LocalDateTime startDate,
         LocalDateTime endDate,
         String status,
-        String resourceName
-) {}
\ No newline at end of file
+        String resourceName,
+        Long seriesId
+) {
+    public BookingResponse(Long id, LocalDateTime startDate, LocalDateTime endDate, String status, String resourceName) {
+        this(id, startDate, endDate, status, resourceName, null);
+    }
+}
@@ -0,0 +1,33 @@
+package fr.axel.corpplanner.booking.dto;
+
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record BookingSeriesRequest(
+        @NotNull(message = "La date de début est obligatoire")
+        LocalDateTime startDate,
+
+        @NotNull(message = "La date de fin est obligatoire")
+        LocalDateTime endDate,
+
+        @NotNull(message = "Ressource obligatoire")
+        Long resourceId,
+
+        @NotNull(message = "La fréquence est obligatoire")
+        Recurrence frequency,
+
+        @Min(value = 1, message = "L'intervalle minimum est 1")
+        @Max(value = 730, message = "L'intervalle maximum est 730")
+        Integer repeatEvery,
+
+        LocalDate untilDate,
+
+        @Min(value = 1, message = "Une série contient au moins une occurrence")
+        @Max(value = 730, message = "Une série contient au plus 730 occurrences")
+        Integer occurrenceCount
+) {}
@@ -0,0 +1,17 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record BookingSeriesResponse(
+        Long id,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String frequency,
+        int repeatEvery,
+        LocalDate untilDate,
+        Integer occurrenceCount,
+        LocalDateTime lastEndDate,
+        String status,
+        String resourceName
+) {}
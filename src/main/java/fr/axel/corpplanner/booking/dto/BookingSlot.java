@@ -0,0 +1,23 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Créneau occupé : réservation ponctuelle (id renseigné) ou occurrence d'une série (seriesId renseigné).
+ */
+public record BookingSlot(
+        Long id,
+        Long resourceId,
+        Long userId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long seriesId
+) {
+    public BookingSlot(Long id, Long resourceId, Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        this(id, resourceId, userId, startDate, endDate, null);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startDate.isBefore(end) && endDate.isAfter(start);
+    }
+}
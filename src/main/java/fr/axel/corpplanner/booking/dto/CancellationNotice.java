@@ -0,0 +1,13 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Réservations d'un même utilisateur annulées par la désactivation d'une ressource.
+ */
+public record CancellationNotice(
+        String email,
+        Long count,
+        LocalDateTime firstStart
+) {
+}
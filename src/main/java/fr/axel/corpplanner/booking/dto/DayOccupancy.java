@@ -0,0 +1,13 @@
+package fr.axel.corpplanner.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DayOccupancy(
+        LocalDate date,
+        String bitmap,
+        List<OccupiedRun> runs
+) {}
@@ -0,0 +1,6 @@
+package fr.axel.corpplanner.booking.dto;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
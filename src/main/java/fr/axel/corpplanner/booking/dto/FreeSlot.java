@@ -0,0 +1,10 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record FreeSlot(
+        Long resourceId,
+        String resourceName,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {}
@@ -0,0 +1,6 @@
+package fr.axel.corpplanner.booking.dto;
+
+public enum GridFormat {
+    BITMAP,
+    RUNS
+}
@@ -0,0 +1,9 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.util.List;
+
+public record OccupancyGridResponse(
+        int slotMinutes,
+        int slotsPerDay,
+        List<ResourceOccupancy> resources
+) {}
@@ -0,0 +1,8 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record OccupiedRun(
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {}
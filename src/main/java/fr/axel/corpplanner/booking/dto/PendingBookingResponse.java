@@ -0,0 +1,13 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record PendingBookingResponse(
+        Long id,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long resourceId,
+        String resourceName,
+        String userEmail,
+        LocalDateTime createdAt
+) {}
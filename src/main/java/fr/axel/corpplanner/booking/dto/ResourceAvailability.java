@@ -0,0 +1,15 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unités encore libres sur toute la fenêtre : "available sur capacity disponibles".
+ * Une ressource exclusive a une capacité de 1.
+ */
+public record ResourceAvailability(
+        Long resourceId,
+        int capacity,
+        int available,
+        LocalDateTime from,
+        LocalDateTime to
+) {}
@@ -0,0 +1,8 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.util.List;
+
+public record ResourceOccupancy(
+        Long resourceId,
+        List<DayOccupancy> days
+) {}
@@ -0,0 +1,15 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Option temporaire sur un créneau : bloque la ressource pour les autres utilisateurs jusqu'à expiresAt.
+ */
+public record SlotHold(
+        Long id,
+        Long resourceId,
+        Long userId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        LocalDateTime expiresAt
+) {}
@@ -0,0 +1,11 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record SlotHoldResponse(
+        Long id,
+        Long resourceId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        LocalDateTime expiresAt
+) {}
@@ -0,0 +1,13 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record TimeWindow(
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+    public Duration length() {
+        return Duration.between(startDate, endDate);
+    }
+}
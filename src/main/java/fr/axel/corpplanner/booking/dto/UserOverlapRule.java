@@ -0,0 +1,22 @@
+package fr.axel.corpplanner.booking.dto;
+
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.user.domain.Role;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Set;
+
+/**
+ * Règle anti-chevauchement : si elle est active, un utilisateur ne peut pas occuper deux ressources
+ * sur le même créneau, sauf s'il a un rôle exempté ou si l'une des ressources est d'un type exempté.
+ */
+public record UserOverlapRule(
+        @NotNull Boolean enabled,
+        Set<Role> exemptRoles,
+        Set<ResourceType> exemptResourceTypes
+) {
+    public UserOverlapRule {
+        exemptRoles = exemptRoles == null ? Set.of() : Set.copyOf(exemptRoles);
+        exemptResourceTypes = exemptResourceTypes == null ? Set.of() : Set.copyOf(exemptResourceTypes);
+    }
+}
@@ -0,0 +1,14 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record WaitlistEntryResponse(
+        Long id,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String resourceName,
+        int priority,
+        String status,
+        Long bookingId,
+        LocalDateTime requestedAt
+) {}
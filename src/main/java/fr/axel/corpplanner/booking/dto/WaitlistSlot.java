@@ -0,0 +1,18 @@
+package fr.axel.corpplanner.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record WaitlistSlot(
+        Long id,
+        Long resourceId,
+        Long userId,
+        String userEmail,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        int priority,
+        LocalDateTime requestedAt
+) {
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startDate.isBefore(end) && endDate.isAfter(start);
+    }
+}
@@ -1,7 +1,11 @@
 package fr.axel.corpplanner.booking.mapper;
 
 import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
 import fr.axel.corpplanner.booking.dto.BookingResponse;
+import fr.axel.corpplanner.booking.dto.BookingRow;
+import fr.axel.corpplanner.booking.dto.BookingSeriesResponse;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
 import org.springframework.stereotype.Component;
 
 
@@ -20,5 +24,41 @@ public class BookingMapper {
                 booking.getResource().getName()
         );
     }
+
+    public BookingResponse mapRow(BookingRow row) {
+        return new BookingResponse(
+                row.id(),
+                row.startDate(),
+                row.endDate(),
+                row.status().name(),
+                row.resourceName()
+        );
+    }
+
+    public BookingResponse mapOccurrence(BookingSeries series, BookingSlot occurrence) {
+        return new BookingResponse(
+                null,
+                occurrence.startDate(),
+                occurrence.endDate(),
+                series.getStatus().name(),
+                series.getResource().getName(),
+                series.getId()
+        );
+    }
+
+    public BookingSeriesResponse mapSeries(BookingSeries series) {
+        return new BookingSeriesResponse(
+                series.getId(),
+                series.getStartDate(),
+                series.getEndDate(),
+                series.getFrequency().name(),
+                series.getRepeatEvery(),
+                series.getUntilDate(),
+                series.getOccurrenceCount(),
+                series.getLastEndDate(),
+                series.getStatus().name(),
+                series.getResource().getName()
+        );
+    }
 }
 
@@ -1,14 +1,28 @@
 package fr.axel.corpplanner.booking.repository;
 
 import fr.axel.corpplanner.booking.domain.Booking;
-import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.BookingExportRow;
+import fr.axel.corpplanner.booking.dto.BookingRow;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.CancellationNotice;
+import fr.axel.corpplanner.booking.dto.PendingBookingResponse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("""
@@ -24,5 +38,187 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("endDate") LocalDateTime endDate
     );
 
-    List<Booking> findAllByUser_Id(Long userId);
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingRow(b.id, b.startDate, b.endDate, b.status, r.name)
+        FROM Booking b
+        JOIN b.resource r
+        WHERE b.user.email = :email
+        ORDER BY b.startDate, b.id
+    """)
+    List<BookingRow> findRowsByUserEmail(@Param("email") String email);
+
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.status != 'CANCELLED'
+    """)
+    List<BookingSlot> findAllActiveSlots();
+
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.resource.id = :resourceId
+        AND b.status != 'CANCELLED'
+        AND (b.startDate < :endDate AND b.endDate > :startDate)
+    """)
+    List<BookingSlot> findActiveSlotsInRange(
+            @Param("resourceId") Long resourceId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.resource.id IN :resourceIds
+        AND b.status != 'CANCELLED'
+        AND (b.startDate < :endDate AND b.endDate > :startDate)
+        ORDER BY b.resource.id, b.startDate
+    """)
+    List<BookingSlot> findActiveSlotsForResourcesInRange(
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    // Créneaux des participants et des salles candidates d'une réunion, en une seule lecture
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE (b.user.id IN :userIds OR b.resource.id IN :resourceIds)
+        AND b.status != 'CANCELLED'
+        AND (b.startDate < :endDate AND b.endDate > :startDate)
+        ORDER BY b.startDate, b.id
+    """)
+    List<BookingSlot> findActiveSlotsForUsersOrResourcesInRange(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    // Réservations à venir d'une ressource, sans charger les entités (désactivation de la ressource)
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.resource.id = :resourceId
+        AND b.status != 'CANCELLED'
+        AND b.startDate >= :from
+    """)
+    List<BookingSlot> findActiveSlotsStartingFrom(
+            @Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from
+    );
+
+    // Un avis par utilisateur concerné : nombre de réservations et première date
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.CancellationNotice(u.email, COUNT(b), MIN(b.startDate))
+        FROM Booking b
+        JOIN b.user u
+        WHERE b.resource.id = :resourceId
+        AND b.status != 'CANCELLED'
+        AND b.startDate >= :from
+        GROUP BY u.email
+    """)
+    List<CancellationNotice> findCancellationNotices(
+            @Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from
+    );
+
+    // 0 ligne si la réservation est déjà annulée, y compris par une requête concurrente ou une autre instance
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED' WHERE b.id = :id AND b.status != 'CANCELLED'")
+    int cancel(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE Booking b SET b.status = :status
+        WHERE b.resource.id = :resourceId
+        AND b.status != 'CANCELLED'
+        AND b.startDate >= :from
+    """)
+    int updateActiveStatusStartingFrom(
+            @Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from,
+            @Param("status") Status status
+    );
+
+    // Pagination par clé (startDate, id) : pas d'OFFSET ni de COUNT, le nom de la ressource vient de la même requête
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingRow(b.id, b.startDate, b.endDate, b.status, r.name)
+        FROM Booking b
+        JOIN b.resource r
+        WHERE (:status IS NULL OR b.status = :status)
+        AND (:resourceId IS NULL OR r.id = :resourceId)
+        AND (:userId IS NULL OR b.user.id = :userId)
+        AND (:from IS NULL OR b.startDate >= :from)
+        AND (:to IS NULL OR b.startDate < :to)
+        AND (:afterStart IS NULL OR (b.startDate >= :afterStart AND (b.startDate > :afterStart OR b.id > :afterId)))
+        ORDER BY b.startDate, b.id
+    """)
+    List<BookingRow> findPage(
+            @Param("status") Status status,
+            @Param("resourceId") Long resourceId,
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Curseur JDBC lu par paquets : à consommer dans une transaction et à fermer
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingExportRow(b.id, b.startDate, b.endDate, b.status, r.id, r.name, u.id, u.email)
+        FROM Booking b
+        JOIN b.resource r
+        JOIN b.user u
+        WHERE b.startDate >= :from
+        AND b.startDate < :to
+        ORDER BY b.startDate, b.id
+    """)
+    Stream<BookingExportRow> streamForExport(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // File d'attente des réservations WAITING, de la plus ancienne à la plus récente, paginée par clé (createdAt, id)
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.PendingBookingResponse(b.id, b.startDate, b.endDate, r.id, r.name, u.email, b.createdAt)
+        FROM Booking b
+        JOIN b.resource r
+        JOIN b.user u
+        WHERE b.status = 'WAITING'
+        AND (:resourceId IS NULL OR r.id = :resourceId)
+        AND (:afterCreatedAt IS NULL OR (b.createdAt >= :afterCreatedAt AND (b.createdAt > :afterCreatedAt OR b.id > :afterId)))
+        ORDER BY b.createdAt, b.id
+    """)
+    List<PendingBookingResponse> findWaitingPage(
+            @Param("resourceId") Long resourceId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // SELECT ... FOR UPDATE : à appeler dans la transaction qui change ensuite le statut de ces lignes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.BookingSlot(b.id, b.resource.id, b.user.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.id IN :ids
+        AND b.status = 'WAITING'
+    """)
+    List<BookingSlot> lockWaitingSlots(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = 'WAITING'")
+    int updateWaitingStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") Status status
+    );
 }
@@ -0,0 +1,95 @@
+package fr.axel.corpplanner.booking.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.JDBCException;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ajustements du schéma de la table booking que ddl-auto ne sait pas faire, appliqués au démarrage
+ * sur PostgreSQL uniquement :
+ * - recale la séquence booking_seq au-delà des identifiants existants (anciennes lignes en IDENTITY) ;
+ * - en mode optionnel, interdit le chevauchement de deux réservations actives sur une même ressource
+ *   exclusive (contrainte d'exclusion GiST, les pools en sont exclus). Sur une autre base (H2 en test),
+ *   la requête de conflit est conservée.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSchemaInitializer {
+
+    public static final String CONSTRAINT_NAME = "booking_no_overlap";
+    // SQLSTATE PostgreSQL renvoyé lors d'une violation de contrainte d'exclusion
+    public static final String EXCLUSION_VIOLATION = "23P01";
+    public static final String SEQUENCE_NAME = "booking_seq";
+    public static final int SEQUENCE_ALLOCATION = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.booking.exclusion-constraint.enabled:false}")
+    private boolean exclusionConstraintEnabled;
+
+    private boolean exclusionConstraintActive;
+
+    @PostConstruct
+    public void init() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(database);
+
+        if (postgres) {
+            alignSequence();
+        }
+
+        if (!exclusionConstraintEnabled) {
+            return;
+        }
+        if (!postgres) {
+            log.warn("Contrainte d'exclusion ignorée : base {} non supportée, vérification par requête conservée", database);
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint WHERE conname = ?", String.class, CONSTRAINT_NAME);
+        // Une contrainte créée avant l'arrivée des pools ne les exclut pas : on la recrée
+        if (!existing.isEmpty() && !existing.get(0).contains("pooled")) {
+            jdbcTemplate.execute("ALTER TABLE booking DROP CONSTRAINT " + CONSTRAINT_NAME);
+            existing = List.of();
+        }
+        if (existing.isEmpty()) {
+            jdbcTemplate.execute("""
+                ALTER TABLE booking ADD CONSTRAINT %s
+                EXCLUDE USING gist (resource_id WITH =, tsrange(start_date, end_date) WITH &&)
+                WHERE (status <> 'CANCELLED' AND pooled IS NOT TRUE)
+            """.formatted(CONSTRAINT_NAME));
+            log.info("Contrainte d'exclusion {} créée sur la table booking", CONSTRAINT_NAME);
+        }
+        exclusionConstraintActive = true;
+    }
+
+    // L'optimiseur "pooled" de Hibernate attribue les ids ]valeur - allocation, valeur] :
+    // la séquence doit donc rester au moins une allocation au-dessus du plus grand id existant.
+    private void alignSequence() {
+        jdbcTemplate.queryForObject("""
+            SELECT setval('%1$s', GREATEST((SELECT COALESCE(MAX(id), 0) FROM booking) + %2$d,
+                                           (SELECT last_value FROM %1$s)))
+        """.formatted(SEQUENCE_NAME, SEQUENCE_ALLOCATION), Long.class);
+    }
+
+    public boolean isExclusionConstraintActive() {
+        return exclusionConstraintActive;
+    }
+
+    public static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof JDBCException jdbc && EXCLUSION_VIOLATION.equals(jdbc.getSQLState());
+    }
+}
@@ -0,0 +1,143 @@
+package fr.axel.corpplanner.booking.repository;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        JOIN FETCH s.user
+        WHERE s.status != 'CANCELLED'
+    """)
+    List<BookingSeries> findAllActive();
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        JOIN FETCH s.user
+        WHERE s.resource.id = :resourceId
+        AND s.status != 'CANCELLED'
+        AND (s.startDate < :endDate AND s.lastEndDate > :startDate)
+    """)
+    List<BookingSeries> findActiveInRange(
+            @Param("resourceId") Long resourceId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        JOIN FETCH s.user
+        WHERE s.resource.id = :resourceId
+        AND s.status != 'CANCELLED'
+        AND s.lastEndDate > :from
+    """)
+    List<BookingSeries> findActiveEndingAfter(
+            @Param("resourceId") Long resourceId,
+            @Param("from") LocalDateTime from
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE BookingSeries s SET s.status = :status WHERE s.id IN :ids AND s.status != 'CANCELLED'")
+    int updateActiveStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") Status status
+    );
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        JOIN FETCH s.user
+        WHERE s.resource.id IN :resourceIds
+        AND s.status != 'CANCELLED'
+        AND (s.startDate < :endDate AND s.lastEndDate > :startDate)
+    """)
+    List<BookingSeries> findActiveForResourcesInRange(
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        WHERE (s.user.id IN :userIds OR s.resource.id IN :resourceIds)
+        AND s.status != 'CANCELLED'
+        AND (s.startDate < :endDate AND s.lastEndDate > :startDate)
+    """)
+    List<BookingSeries> findActiveForUsersOrResourcesInRange(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("resourceIds") Collection<Long> resourceIds,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    // Séries en cours au point de départ de la page : leur prochaine occurrence n'est pas une colonne, elles sont toutes lues.
+    // Leur nombre est borné par celui des séries simultanées, pas par l'historique
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        WHERE (:status IS NULL OR s.status = :status)
+        AND (:resourceId IS NULL OR s.resource.id = :resourceId)
+        AND (:userId IS NULL OR s.user.id = :userId)
+        AND (:to IS NULL OR s.startDate < :to)
+        AND s.startDate <= :pivot
+        AND s.lastEndDate > :pivot
+    """)
+    List<BookingSeries> findInProgressForListing(
+            @Param("status") Status status,
+            @Param("resourceId") Long resourceId,
+            @Param("userId") Long userId,
+            @Param("to") LocalDateTime to,
+            @Param("pivot") LocalDateTime pivot
+    );
+
+    // Séries qui commencent après le point de départ : leur première entrée est startDate,
+    // seules les premières dans l'ordre de la page peuvent y figurer
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        WHERE (:status IS NULL OR s.status = :status)
+        AND (:resourceId IS NULL OR s.resource.id = :resourceId)
+        AND (:userId IS NULL OR s.user.id = :userId)
+        AND (:to IS NULL OR s.startDate < :to)
+        AND (:pivot IS NULL OR s.startDate > :pivot)
+        ORDER BY s.startDate, s.id
+    """)
+    List<BookingSeries> findStartingForListing(
+            @Param("status") Status status,
+            @Param("resourceId") Long resourceId,
+            @Param("userId") Long userId,
+            @Param("to") LocalDateTime to,
+            @Param("pivot") LocalDateTime pivot,
+            Pageable pageable
+    );
+
+    @EntityGraph(attributePaths = "resource")
+    List<BookingSeries> findAllByUser_Email(String email);
+
+    @Query("""
+        SELECT s FROM BookingSeries s
+        JOIN FETCH s.resource
+        JOIN FETCH s.user
+        WHERE s.startDate < :to
+        AND s.lastEndDate > :from
+    """)
+    List<BookingSeries> findAllInRange(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+}
@@ -0,0 +1,7 @@
+package fr.axel.corpplanner.booking.repository;
+
+import fr.axel.corpplanner.booking.domain.UserOverlapPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserOverlapPolicyRepository extends JpaRepository<UserOverlapPolicy, Long> {
+}
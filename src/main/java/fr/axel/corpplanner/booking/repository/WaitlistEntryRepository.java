@@ -0,0 +1,45 @@
+package fr.axel.corpplanner.booking.repository;
+
+import fr.axel.corpplanner.booking.domain.WaitlistEntry;
+import fr.axel.corpplanner.booking.domain.WaitlistStatus;
+import fr.axel.corpplanner.booking.dto.WaitlistSlot;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("""
+        SELECT new fr.axel.corpplanner.booking.dto.WaitlistSlot(w.id, w.resource.id, u.id, u.email, w.startDate, w.endDate, w.priority, w.requestedAt)
+        FROM WaitlistEntry w
+        JOIN w.user u
+        WHERE w.status = 'WAITING'
+    """)
+    List<WaitlistSlot> findAllWaitingSlots();
+
+    @EntityGraph(attributePaths = "resource")
+    List<WaitlistEntry> findAllByUser_EmailOrderByRequestedAtDesc(String email);
+
+    // Ressource désactivée : toutes ses demandes encore en attente sont closes d'un coup
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :status WHERE w.resource.id = :resourceId AND w.status = 'WAITING'")
+    int closeAllWaiting(
+            @Param("resourceId") Long resourceId,
+            @Param("status") WaitlistStatus status
+    );
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :status, w.bookingId = :bookingId WHERE w.id = :id AND w.status = 'WAITING'")
+    int close(
+            @Param("id") Long id,
+            @Param("status") WaitlistStatus status,
+            @Param("bookingId") Long bookingId
+    );
+}
@@ -0,0 +1,100 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index en mémoire des créneaux non annulés, par ressource (et par utilisateur via {@link UserBookingIndex}).
+ * La base reste la source de vérité : l'index est chargé au démarrage puis
+ * maintenu par {@link BookingService} à chaque création / annulation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final UserBookingIndex userIndex;
+    private final Map<Long, ResourceTimeline> timelines = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        timelines.clear();
+        userIndex.clear();
+        List<BookingSlot> slots = bookingRepository.findAllActiveSlots();
+        slots.forEach(this::add);
+        List<BookingSeries> series = bookingSeriesRepository.findAllActive();
+        series.forEach(this::addSeries);
+        log.info("Index de disponibilité chargé : {} créneaux et {} séries sur {} ressources",
+                slots.size(), series.size(), timelines.size());
+    }
+
+    public boolean hasConflict(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        ResourceTimeline timeline = timelines.get(resourceId);
+        return timeline != null && timeline.overlaps(start, end);
+    }
+
+    public List<BookingSlot> findOverlapping(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        ResourceTimeline timeline = timelines.get(resourceId);
+        return timeline == null ? List.of() : timeline.overlapping(start, end);
+    }
+
+    public void add(Booking booking) {
+        add(toSlot(booking));
+    }
+
+    public void add(BookingSlot slot) {
+        timelines.computeIfAbsent(slot.resourceId(), id -> new ResourceTimeline()).add(slot);
+        userIndex.add(slot);
+    }
+
+    public void remove(Booking booking) {
+        remove(toSlot(booking));
+    }
+
+    public void remove(BookingSlot slot) {
+        ResourceTimeline timeline = timelines.get(slot.resourceId());
+        if (timeline != null) {
+            timeline.remove(slot);
+        }
+        userIndex.remove(slot);
+    }
+
+    public void addSeries(BookingSeries series) {
+        RecurrenceRule rule = series.toRule();
+        timelines.computeIfAbsent(rule.resourceId(), id -> new ResourceTimeline()).addSeries(rule);
+        userIndex.addSeries(rule);
+    }
+
+    public void removeSeries(BookingSeries series) {
+        ResourceTimeline timeline = timelines.get(series.getResource().getId());
+        if (timeline != null) {
+            timeline.removeSeries(series.getId());
+        }
+        userIndex.removeSeries(series.getUser().getId(), series.getId());
+    }
+
+    private BookingSlot toSlot(Booking booking) {
+        return new BookingSlot(
+                booking.getId(),
+                booking.getResource().getId(),
+                booking.getUser().getId(),
+                booking.getStartDate(),
+                booking.getEndDate()
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.BookingAlternatives;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.TimeWindow;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Alternatives proposées quand un créneau est pris, calculées depuis l'index en mémoire :
+ * aucune requête sur les réservations, une seule sur les ressources pour les équivalentes.
+ * Un pool reste proposé tant qu'une de ses unités est libre.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingAlternativesService {
+
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotHolds slotHolds;
+    private final ResourceAvailabilityService resourceAvailability;
+    private final ResourceRepository resourceRepository;
+
+    @Value("${application.booking.alternatives.count:3}")
+    private int count;
+
+    @Value("${application.booking.alternatives.horizon-hours:24}")
+    private long horizonHours;
+
+    public BookingAlternatives suggest(Resource resource, LocalDateTime start, LocalDateTime end, Long userId) {
+        return new BookingAlternatives(
+                nearestWindows(resource, start, end, userId),
+                equivalentResources(resource, start, end, userId)
+        );
+    }
+
+    // Créneaux de même durée les plus proches du début demandé, dans [start - horizon, end + horizon]
+    List<TimeWindow> nearestWindows(Resource resource, LocalDateTime start, LocalDateTime end, Long userId) {
+        Long resourceId = resource.getId();
+        Duration duration = Duration.between(start, end);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = start.minusHours(horizonHours).isAfter(now) ? start.minusHours(horizonHours) : now;
+        LocalDateTime to = end.plusHours(horizonHours);
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+
+        Iterator<BookingSlot> busy = SortedMerge.merge(List.of(
+                availabilityIndex.findOverlapping(resourceId, from, to).iterator(),
+                slotHolds.findOverlapping(resourceId, from, to, userId).iterator()
+        ), ResourceTimeline.BY_START);
+        if (resource.concurrentLimit() > 1) {
+            busy = IntervalSweep.fullPeriods(busy, resource.concurrentLimit()).iterator();
+        }
+
+        // Dans chaque fenêtre libre : la position la plus proche du début demandé et les deux extrémités
+        TreeSet<LocalDateTime> starts = new TreeSet<>();
+        Iterator<TimeWindow> windows = IntervalSweep.freeWindows(busy, from, to, duration);
+        while (windows.hasNext()) {
+            TimeWindow window = windows.next();
+            LocalDateTime latest = window.endDate().minus(duration);
+            starts.add(window.startDate());
+            starts.add(latest);
+            if (start.isAfter(window.startDate()) && start.isBefore(latest)) {
+                starts.add(start);
+            }
+        }
+
+        return starts.stream()
+                .sorted(Comparator.comparing((LocalDateTime s) -> Duration.between(s, start).abs())
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(count)
+                .sorted()
+                .map(s -> new TimeWindow(s, s.plus(duration)))
+                .toList();
+    }
+
+    // Ressources du même type et du même site, de capacité au moins égale, libres sur le créneau, les plus petites d'abord.
+    // Sans site connu, aucune : findMatching ignorerait le critère et proposerait des ressources de n'importe quel site
+    List<FreeSlot> equivalentResources(Resource resource, LocalDateTime start, LocalDateTime end, Long userId) {
+        if (resource.getLocation() == null) {
+            return List.of();
+        }
+        List<FreeSlot> result = new ArrayList<>(count);
+        for (Resource candidate : resourceRepository.findMatching(resource.getType(), resource.getCapacity(), resource.getLocation())) {
+            if (result.size() >= count) {
+                break;
+            }
+            if (Objects.equals(candidate.getId(), resource.getId())
+                    || resourceAvailability.isFull(candidate, userId, start, end)) {
+                continue;
+            }
+            result.add(new FreeSlot(candidate.getId(), candidate.getName(), start, end));
+        }
+        return result;
+    }
+}
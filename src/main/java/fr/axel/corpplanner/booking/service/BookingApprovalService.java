@@ -0,0 +1,109 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.ApprovalCursor;
+import fr.axel.corpplanner.booking.dto.ApprovalQueuePage;
+import fr.axel.corpplanner.booking.dto.ApprovalResponse;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.PendingBookingResponse;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Validation des réservations en attente par les administrateurs.
+ * Les décisions groupées verrouillent les lignes en attente puis passent par un seul UPDATE ensembliste ;
+ * un refus libère dans l'index de disponibilité les seuls créneaux effectivement annulés, dès la fin de la transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingApprovalService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final BookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.booking.batch.max-size:500}")
+    private int maxBatchSize;
+
+    public ApprovalQueuePage getQueue(Long resourceId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE + ".");
+        }
+        ApprovalCursor after = cursor == null || cursor.isBlank() ? null : ApprovalCursor.decode(cursor);
+        List<PendingBookingResponse> rows = bookingRepository.findWaitingPage(resourceId,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), PageRequest.of(0, size + 1));
+
+        if (rows.size() <= size) {
+            return new ApprovalQueuePage(rows, null);
+        }
+        List<PendingBookingResponse> items = rows.subList(0, size);
+        PendingBookingResponse last = items.get(size - 1);
+        return new ApprovalQueuePage(items, new ApprovalCursor(last.createdAt(), last.id()).encode());
+    }
+
+    public ApprovalResponse confirm(List<Long> ids) {
+        Set<Long> requested = validate(ids);
+        return response(requested, decide(requested, Status.CONFIRMED));
+    }
+
+    // Un refus annule la réservation : le statut CANCELLED est celui que toutes les vérifications de conflit ignorent
+    public ApprovalResponse reject(List<Long> ids) {
+        Set<Long> requested = validate(ids);
+        List<BookingSlot> cancelled = decide(requested, Status.CANCELLED);
+
+        Map<Long, List<BookingSlot>> byResource = cancelled.stream()
+                .collect(Collectors.groupingBy(BookingSlot::resourceId, TreeMap::new, Collectors.toList()));
+        byResource.forEach((resourceId, slots) -> bookingLocks.withResourceLock(resourceId, () -> slots.forEach(slot -> {
+            availabilityIndex.remove(slot);
+            occupancyGrid.refresh(resourceId, slot.startDate(), slot.endDate());
+            eventPublisher.publishEvent(new SlotReleasedEvent(resourceId, slot.startDate(), slot.endDate()));
+        })));
+        return response(requested, cancelled);
+    }
+
+    // Les lignes en attente sont verrouillées puis mises à jour dans la même transaction :
+    // une décision concurrente ne peut plus les modifier entre la lecture et l'UPDATE
+    private List<BookingSlot> decide(Set<Long> requested, Status status) {
+        return transactionTemplate.execute(tx -> {
+            List<BookingSlot> waiting = bookingRepository.lockWaitingSlots(requested);
+            if (!waiting.isEmpty()) {
+                bookingRepository.updateWaitingStatus(waiting.stream().map(BookingSlot::id).toList(), status);
+            }
+            return waiting;
+        });
+    }
+
+    private Set<Long> validate(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Un lot doit contenir entre 1 et " + maxBatchSize + " réservations");
+        }
+        return new LinkedHashSet<>(ids);
+    }
+
+    private ApprovalResponse response(Set<Long> requested, List<BookingSlot> updated) {
+        Set<Long> found = updated.stream().map(BookingSlot::id).collect(Collectors.toSet());
+        List<Long> skipped = requested.stream().filter(id -> !found.contains(id)).toList();
+        return new ApprovalResponse(updated.size(), skipped);
+    }
+}
@@ -0,0 +1,237 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.BookingBatchItemResult;
+import fr.axel.corpplanner.booking.dto.BookingBatchResponse;
+import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.mapper.BookingMapper;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSchemaInitializer;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Création de réservations en lot : une seule requête par ressource pour les créneaux existants,
+ * détection des conflits en mémoire (entre éléments du lot et avec l'existant), puis insertion en batch JDBC.
+ * Chaque ressource est écrite dans sa propre transaction : si l'une échoue, ses éléments sont marqués FAILED
+ * et la réponse décrit quand même les éléments déjà enregistrés pour les autres ressources.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatchService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final ResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final BookingMapper bookingMapper;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final SlotHolds slotHolds;
+    private final BookingLocks bookingLocks;
+    private final UserOverlapService userOverlap;
+    private final BookingSchemaInitializer bookingSchema;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${application.booking.availability.verify-on-write:false}")
+    private boolean verifyOnWrite;
+
+    @Value("${application.booking.batch.max-size:500}")
+    private int maxBatchSize;
+
+    public BookingBatchResponse createBookings(List<BookingRequest> requests, UserDetails connectedUser) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Un lot doit contenir entre 1 et " + maxBatchSize + " réservations");
+        }
+
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+
+        Set<Long> resourceIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(BookingRequest::resourceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Resource> resources = resourceRepository.findAllById(resourceIds).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+
+        BookingBatchItemResult[] results = new BookingBatchItemResult[requests.size()];
+        Map<Long, List<Integer>> indexesByResource = new TreeMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i), resources);
+            if (error != null) {
+                results[i] = BookingBatchItemResult.invalid(i, error);
+            } else {
+                indexesByResource.computeIfAbsent(requests.get(i).resourceId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        indexesByResource.forEach((resourceId, indexes) -> {
+            try {
+                bookingLocks.withResourceLock(resourceId, () -> bookingLocks.withUserLock(user.getId(),
+                        () -> bookResource(resources.get(resourceId), indexes, requests, user, results)));
+            } catch (RuntimeException e) {
+                // Rien n'a été écrit pour cette ressource : les autres gardent leur résultat
+                log.error("Échec du lot sur la ressource {}", resourceId, e);
+                indexes.stream()
+                        .filter(i -> results[i] == null)
+                        .forEach(i -> results[i] = BookingBatchItemResult.failed(i));
+            }
+        });
+
+        int created = (int) Arrays.stream(results)
+                .filter(r -> BookingBatchItemResult.CREATED.equals(r.status()))
+                .count();
+        return new BookingBatchResponse(created, results.length - created, Arrays.asList(results));
+    }
+
+    private String validate(BookingRequest request, Map<Long, Resource> resources) {
+        if (request == null) {
+            return "Réservation vide";
+        }
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!resources.containsKey(request.resourceId())) {
+            return "Ressource introuvable";
+        }
+        if (request.startDate().isAfter(request.endDate())) {
+            return "La date de début doit être avant la fin";
+        }
+        return null;
+    }
+
+    private void bookResource(Resource resource, List<Integer> indexes, List<BookingRequest> requests,
+                              User user, BookingBatchItemResult[] results) {
+        LocalDateTime from = indexes.stream().map(i -> requests.get(i).startDate()).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = indexes.stream().map(i -> requests.get(i).endDate()).max(LocalDateTime::compareTo).orElseThrow();
+
+        ResourceTimeline timeline = new ResourceTimeline();
+        availabilityIndex.findOverlapping(resource.getId(), from, to).forEach(timeline::add);
+        if (verifyOnWrite && !bookingSchema.isExclusionConstraintActive()) {
+            bookingRepository.findActiveSlotsInRange(resource.getId(), from, to).forEach(timeline::add);
+            bookingSeriesRepository.findActiveInRange(resource.getId(), from, to)
+                    .forEach(series -> series.toRule().occurrences(from, to).forEach(timeline::add));
+        }
+
+        // Règle anti-chevauchement : les éléments déjà acceptés pour cette ressource ne sont pas encore dans l'index
+        boolean overlapForbidden = userOverlap.applies(user, resource.getType());
+        ResourceTimeline own = new ResourceTimeline();
+
+        // Les éléments du lot sont acceptés dans l'ordre d'envoi : le premier arrivé garde le créneau
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i : indexes) {
+            BookingRequest request = requests.get(i);
+            if (isTaken(timeline, resource, user, request)) {
+                results[i] = BookingBatchItemResult.conflict(i);
+                continue;
+            }
+            if (overlapForbidden && (own.overlaps(request.startDate(), request.endDate())
+                    || userOverlap.conflicts(user, resource.getType(), request.startDate(), request.endDate()))) {
+                results[i] = BookingBatchItemResult.userOverlap(i);
+                continue;
+            }
+            BookingSlot slot = new BookingSlot((long) -(i + 1), resource.getId(), user.getId(), request.startDate(), request.endDate());
+            timeline.add(slot);
+            own.add(slot);
+            accepted.put(i, Booking.builder()
+                    .startDate(request.startDate())
+                    .endDate(request.endDate())
+                    .resource(resource)
+                    .user(user)
+                    .status(Status.WAITING)
+                    .pooled(resource.concurrentLimit() > 1)
+                    .build());
+        }
+
+        if (!accepted.isEmpty()) {
+            insertAll(accepted, results);
+        }
+    }
+
+    // Pour un pool, la timeline locale (existant + éléments déjà acceptés du lot) est comptée et non testée
+    private boolean isTaken(ResourceTimeline timeline, Resource resource, User user, BookingRequest request) {
+        LocalDateTime start = request.startDate();
+        LocalDateTime end = request.endDate();
+        List<BookingSlot> holds = slotHolds.findOverlapping(resource.getId(), start, end, user.getId());
+        if (resource.concurrentLimit() == 1) {
+            return timeline.overlaps(start, end) || !holds.isEmpty();
+        }
+        int used = IntervalSweep.maxOverlap(SortedMerge.merge(List.of(
+                timeline.overlapping(start, end).iterator(), holds.iterator()), ResourceTimeline.BY_START), start, end);
+        return used >= resource.concurrentLimit();
+    }
+
+    private void insertAll(Map<Integer, Booking> accepted, BookingBatchItemResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(accepted.values()));
+        } catch (DataIntegrityViolationException e) {
+            if (!BookingSchemaInitializer.isExclusionViolation(e)) {
+                throw e;
+            }
+            // Une autre instance a pris un créneau entre-temps : on rejoue ligne par ligne pour isoler les conflits
+            insertOneByOne(accepted, results);
+        }
+
+        accepted.forEach((i, booking) -> {
+            availabilityIndex.add(booking);
+            occupancyGrid.add(booking.getResource().getId(), booking.getStartDate(), booking.getEndDate());
+            results[i] = BookingBatchItemResult.created(i, bookingMapper.mapToResponse(booking));
+        });
+    }
+
+    private void insertOneByOne(Map<Integer, Booking> accepted, BookingBatchItemResult[] results) {
+        Iterator<Map.Entry<Integer, Booking>> it = accepted.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Booking> entry = it.next();
+            entry.getValue().setId(null);
+            try {
+                bookingRepository.save(entry.getValue());
+            } catch (RuntimeException e) {
+                // Les lignes déjà rejouées sont validées : on ne lève plus, pour qu'elles figurent dans la réponse
+                if (e instanceof DataIntegrityViolationException violation
+                        && BookingSchemaInitializer.isExclusionViolation(violation)) {
+                    results[entry.getKey()] = BookingBatchItemResult.conflict(entry.getKey());
+                } else {
+                    log.error("Échec de l'enregistrement de l'élément {} du lot", entry.getKey(), e);
+                    results[entry.getKey()] = BookingBatchItemResult.failed(entry.getKey());
+                }
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package fr.axel.corpplanner.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.dto.BookingExportRow;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.ExportFormat;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export des réservations en flux : les lignes sont lues par paquets depuis un curseur JDBC
+ * et écrites au fil de l'eau, la mémoire utilisée ne dépend pas du nombre de lignes.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+    private static final String CSV_HEADER = "id,seriesId,startDate,endDate,status,resourceId,resourceName,userId,userEmail";
+    private static final Comparator<BookingExportRow> BY_START = Comparator.comparing(BookingExportRow::startDate);
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public void validate(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La date de début doit être avant la date de fin.");
+        }
+    }
+
+    public void export(ExportFormat format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            List<BookingSeries> series = bookingSeriesRepository.findAllInRange(from, to);
+            try (Stream<BookingExportRow> bookings = bookingRepository.streamForExport(from, to)) {
+                List<Iterator<BookingExportRow>> sources = new ArrayList<>(series.size() + 1);
+                sources.add(bookings.iterator());
+                series.forEach(s -> sources.add(occurrences(s, from, to)));
+                Iterator<BookingExportRow> rows = SortedMerge.merge(sources, BY_START);
+                if (format == ExportFormat.CSV) {
+                    writeCsv(rows, out);
+                } else {
+                    writeNdjson(rows, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Iterator<BookingExportRow> occurrences(BookingSeries series, LocalDateTime from, LocalDateTime to) {
+        return series.toRule().occurrences(from, to)
+                .filter(occurrence -> !occurrence.startDate().isBefore(from))
+                .map(occurrence -> toRow(series, occurrence))
+                .iterator();
+    }
+
+    private BookingExportRow toRow(BookingSeries series, BookingSlot occurrence) {
+        return new BookingExportRow(
+                null,
+                series.getId(),
+                occurrence.startDate(),
+                occurrence.endDate(),
+                series.getStatus(),
+                series.getResource().getId(),
+                series.getResource().getName(),
+                series.getUser().getId(),
+                series.getUser().getEmail()
+        );
+    }
+
+    private void writeCsv(Iterator<BookingExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            BookingExportRow row = rows.next();
+            writer.write(String.join(",",
+                    value(row.id()),
+                    value(row.seriesId()),
+                    row.startDate().toString(),
+                    row.endDate().toString(),
+                    row.status().name(),
+                    value(row.resourceId()),
+                    csv(row.resourceName()),
+                    value(row.userId()),
+                    csv(row.userEmail())));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<BookingExportRow> rows, OutputStream out) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024))
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private static String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
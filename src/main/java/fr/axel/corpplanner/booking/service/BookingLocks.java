@@ -0,0 +1,54 @@
+package fr.axel.corpplanner.booking.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Verrou par ressource : les écritures sur une même ressource sont sérialisées
+ * (vérification du conflit puis insertion), celles sur des ressources différentes restent parallèles.
+ * Un verrou est créé à la première réservation d'une ressource ; leur nombre est borné par le parc.
+ * Le verrou par utilisateur sérialise la règle anti-chevauchement entre ressources ; il est toujours pris
+ * sous le verrou de la ressource, jamais l'inverse, ce qui exclut tout interblocage entre les deux.
+ */
+@Component
+public class BookingLocks {
+
+    private final Map<Long, ReentrantLock> resourceLocks = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
+
+    public <T> T withResourceLock(Long resourceId, Supplier<T> action) {
+        return withLock(resourceLocks, resourceId, action);
+    }
+
+    public void withResourceLock(Long resourceId, Runnable action) {
+        withResourceLock(resourceId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T withUserLock(Long userId, Supplier<T> action) {
+        return withLock(userLocks, userId, action);
+    }
+
+    public void withUserLock(Long userId, Runnable action) {
+        withUserLock(userId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T withLock(Map<Long, ReentrantLock> locks, Long id, Supplier<T> action) {
+        ReentrantLock lock = locks.computeIfAbsent(id, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
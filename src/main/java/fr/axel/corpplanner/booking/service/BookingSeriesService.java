@@ -0,0 +1,176 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.BookingSeriesRequest;
+import fr.axel.corpplanner.booking.dto.BookingSeriesResponse;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.mapper.BookingMapper;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookingSeriesService {
+
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingRepository bookingRepository;
+    private final ResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final BookingMapper bookingMapper;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final SlotHolds slotHolds;
+    private final BookingLocks bookingLocks;
+    private final UserOverlapService userOverlap;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.booking.availability.verify-on-write:false}")
+    private boolean verifyOnWrite;
+
+    @Value("${application.booking.series.max-horizon-days:730}")
+    private int maxHorizonDays;
+
+    public BookingSeriesResponse createSeries(BookingSeriesRequest request, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+
+        Resource resource = resourceRepository.findById(request.resourceId())
+                .orElseThrow(() -> new RuntimeException("Ressource introuvable"));
+
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new RuntimeException("La date de début doit être avant la fin");
+        }
+        if ((request.untilDate() == null) == (request.occurrenceCount() == null)) {
+            throw new RuntimeException("Une série se termine soit à une date, soit après un nombre d'occurrences");
+        }
+
+        BookingSeries series = BookingSeries.builder()
+                .startDate(request.startDate())
+                .endDate(request.endDate())
+                .frequency(request.frequency())
+                .repeatEvery(request.repeatEvery() == null ? 1 : request.repeatEvery())
+                .untilDate(request.untilDate())
+                .occurrenceCount(request.occurrenceCount())
+                .resource(resource)
+                .user(user)
+                .status(Status.WAITING)
+                .build();
+
+        RecurrenceRule rule = series.toRule();
+        if (rule.lastIndex() < 0) {
+            throw new RuntimeException("La date de fin de série précède la première occurrence");
+        }
+        if (Duration.between(request.startDate(), request.endDate()).toSeconds() > rule.periodSeconds()) {
+            throw new RuntimeException("Une occurrence ne peut pas durer plus longtemps que la période de la série");
+        }
+        // Borne le balayage de conflit fait sous le verrou de la ressource. La période est comparée d'abord :
+        // avec un intervalle démesuré, lastEnd() sortirait des bornes de LocalDateTime
+        long horizonSeconds = Duration.ofDays(maxHorizonDays).toSeconds();
+        if ((rule.lastIndex() > 0 && rule.periodSeconds() > horizonSeconds / rule.lastIndex())
+                || rule.lastEnd().isAfter(request.startDate().plusDays(maxHorizonDays))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Une série ne peut pas s'étendre sur plus de " + maxHorizonDays + " jours.");
+        }
+        series.setLastEndDate(rule.lastEnd());
+
+        BookingSeries saved = bookingLocks.withResourceLock(request.resourceId(), () -> bookingLocks.withUserLock(user.getId(), () -> {
+            userOverlap.checkSeries(user, resource.getType(), rule);
+            if (hasConflict(rule, resource)) {
+                throw new BookingConflictException("Cette série chevauche des réservations existantes sur cette ressource.");
+            }
+            BookingSeries inserted = bookingSeriesRepository.save(series);
+            availabilityIndex.addSeries(inserted);
+            occupancyGrid.evictResource(request.resourceId());
+            return inserted;
+        }));
+
+        return bookingMapper.mapSeries(saved);
+    }
+
+    public void cancelSeries(Long seriesId, UserDetails connectedUser) {
+        BookingSeries series = bookingSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new RuntimeException("Série introuvable"));
+
+        User currentUser = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
+
+        boolean isOwner = series.getUser().getId().equals(currentUser.getId());
+        boolean isAdmin = currentUser.getRoles().contains(Role.ADMIN);
+
+        if (!isOwner && !isAdmin) {
+            throw new AccessDeniedException("Vous n'avez pas le droit d'annuler cette série.");
+        }
+
+        if (series.getStatus() == Status.CANCELLED) {
+            throw new RuntimeException("Cette série est déjà annulée.");
+        }
+
+        bookingLocks.withResourceLock(series.getResource().getId(), () -> {
+            series.setStatus(Status.CANCELLED);
+            bookingSeriesRepository.save(series);
+            availabilityIndex.removeSeries(series);
+            occupancyGrid.evictResource(series.getResource().getId());
+            eventPublisher.publishEvent(new SlotReleasedEvent(series.getResource().getId(), series.getStartDate(), series.getLastEndDate()));
+        });
+    }
+
+    // Un seul balayage des occurrences triées contre les créneaux occupés triés sur toute la durée de la série
+    private boolean hasConflict(RecurrenceRule rule, Resource resource) {
+        LocalDateTime from = rule.firstStart();
+        LocalDateTime to = rule.lastEnd();
+        List<BookingSlot> holds = slotHolds.findOverlapping(rule.resourceId(), from, to, rule.userId());
+
+        int limit = resource.concurrentLimit();
+        if (limit > 1) {
+            // Pool : chaque occurrence doit laisser au moins une unité libre. L'index et la base sont comptés
+            // séparément, une même réservation présente dans les deux ne devant pas occuper deux unités
+            Iterator<BookingSlot> indexed = SortedMerge.merge(List.of(
+                    availabilityIndex.findOverlapping(rule.resourceId(), from, to).iterator(),
+                    holds.iterator()
+            ), ResourceTimeline.BY_START);
+            return IntervalSweep.anyAtCapacity(rule.occurrences().iterator(), indexed, limit)
+                    || (verifyOnWrite && IntervalSweep.anyAtCapacity(rule.occurrences().iterator(),
+                            busyInDatabase(rule.resourceId(), from, to).iterator(), limit));
+        }
+
+        List<BookingSlot> busy = new ArrayList<>(availabilityIndex.findOverlapping(rule.resourceId(), from, to));
+        if (verifyOnWrite) {
+            busy.addAll(busyInDatabase(rule.resourceId(), from, to));
+            busy.sort(ResourceTimeline.BY_START);
+        }
+
+        return IntervalSweep.anyOverlap(rule.occurrences().iterator(), busy.iterator())
+                || IntervalSweep.anyOverlap(rule.occurrences().iterator(), holds.iterator());
+    }
+
+    // Réservations et occurrences actives lues en base sur [from, to[, triées par date de début
+    private List<BookingSlot> busyInDatabase(Long resourceId, LocalDateTime from, LocalDateTime to) {
+        List<BookingSlot> busy = new ArrayList<>(bookingRepository.findActiveSlotsInRange(resourceId, from, to));
+        bookingSeriesRepository.findActiveInRange(resourceId, from, to)
+                .forEach(existing -> existing.toRule().occurrences(from, to).forEach(busy::add));
+        busy.sort(ResourceTimeline.BY_START);
+        return busy;
+    }
+}
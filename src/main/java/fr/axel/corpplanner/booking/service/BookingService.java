@@ -1,11 +1,21 @@
 package fr.axel.corpplanner.booking.service;
 
 import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
 import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.AutoBookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingAlternatives;
+import fr.axel.corpplanner.booking.dto.BookingCursor;
+import fr.axel.corpplanner.booking.dto.BookingFilter;
+import fr.axel.corpplanner.booking.dto.BookingPage;
 import fr.axel.corpplanner.booking.dto.BookingRequest;
 import fr.axel.corpplanner.booking.dto.BookingResponse;
+import fr.axel.corpplanner.booking.dto.BookingRow;
 import fr.axel.corpplanner.booking.mapper.BookingMapper;
 import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSchemaInitializer;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
 import fr.axel.corpplanner.config.BookingConflictException;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.repository.ResourceRepository;
@@ -13,20 +23,51 @@ import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
     private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
     private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final SlotHolds slotHolds;
+    private final BookingAlternativesService bookingAlternatives;
+    private final ResourceAvailabilityService resourceAvailability;
+    private final UserOverlapService userOverlap;
+    private final BookingLocks bookingLocks;
+    private final BookingSchemaInitializer bookingSchema;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Si true, un créneau libre dans l'index est revérifié en base avant l'insertion
+    @Value("${application.booking.availability.verify-on-write:false}")
+    private boolean verifyOnWrite;
+
+    @Value("${application.booking.series.listing-window-days:365}")
+    private int seriesListingWindowDays;
 
     public BookingResponse createBooking(BookingRequest request, UserDetails connectedUser) {
 
@@ -40,37 +81,199 @@ public class BookingService {
             throw new RuntimeException("La date de début doit être avant la fin");
         }
 
-        boolean hasConflict = bookingRepository.hasConflictingBooking(
-                request.resourceId(),
-                request.startDate(),
-                request.endDate()
-        );
+        // Les alternatives sont calculées hors verrou, uniquement en cas de conflit
+        Booking saved = createIfFree(user, resource, request.startDate(), request.endDate())
+                .orElseThrow(() -> new BookingConflictException("Cette ressource est déjà réservée sur ce créneau.",
+                        bookingAlternatives.suggest(resource, request.startDate(), request.endDate(), user.getId())));
+
+        return bookingMapper.mapToResponse(saved);
+    }
+
+    /**
+     * Attribue la plus petite ressource libre correspondant aux critères (best-fit, pour limiter la fragmentation).
+     * Les candidates pleines sont écartées via l'index (en comptant les unités d'un pool) ; si une autre requête
+     * prend la meilleure entre-temps, on bascule sur la suivante au lieu de renvoyer un conflit.
+     */
+    public BookingResponse createBookingAnyResource(AutoBookingRequest request, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
 
-        if (hasConflict) {
-            throw new BookingConflictException("Cette ressource est déjà réservée sur ce créneau.");
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new RuntimeException("La date de début doit être avant la fin");
         }
 
+        // Triées par capacité croissante puis par id
+        List<Resource> matching = resourceRepository.findMatching(request.type(), request.minCapacity(), request.location());
+        for (Resource resource : matching) {
+            if (resourceAvailability.isRetired(resource)
+                    || resourceAvailability.isFull(resource, user.getId(), request.startDate(), request.endDate())) {
+                continue;
+            }
+            // Vide si une autre requête ou une autre instance a pris le créneau : ressource suivante
+            Optional<Booking> saved = createIfFree(user, resource, request.startDate(), request.endDate());
+            if (saved.isPresent()) {
+                return bookingMapper.mapToResponse(saved.get());
+            }
+        }
+        // Alternatives calculées sur la ressource la mieux ajustée aux critères
+        BookingAlternatives alternatives = matching.isEmpty() ? null
+                : bookingAlternatives.suggest(matching.get(0), request.startDate(), request.endDate(), user.getId());
+        throw new BookingConflictException("Aucune ressource correspondante n'est libre sur ce créneau.", alternatives);
+    }
+
+    // Crée la réservation si le créneau est libre, sous le verrou de la ressource puis celui de l'utilisateur ;
+    // vide si le créneau est pris, y compris quand c'est la contrainte d'exclusion qui le détecte.
+    // Lève BookingConflictException si l'utilisateur a déjà une réservation sur ce créneau (règle anti-chevauchement),
+    // et 410 si la ressource a été désactivée (vérifié sous le verrou, que la désactivation prend aussi)
+    public Optional<Booking> createIfFree(User user, Resource resource, LocalDateTime startDate, LocalDateTime endDate) {
         Booking booking = Booking.builder()
-                .startDate(request.startDate())
-                .endDate(request.endDate())
+                .startDate(startDate)
+                .endDate(endDate)
                 .resource(resource)
                 .user(user)
                 .status(Status.WAITING)
+                .pooled(resource.concurrentLimit() > 1)
                 .build();
 
-        return bookingMapper.mapToResponse(bookingRepository.save(booking));
+        return bookingLocks.withResourceLock(resource.getId(), () -> bookingLocks.withUserLock(user.getId(), () -> {
+            if (resourceAvailability.isRetired(resource)) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Cette ressource n'est plus disponible.");
+            }
+            userOverlap.check(user, resource.getType(), startDate, endDate);
+            if (isSlotTaken(resource, user.getId(), startDate, endDate)) {
+                return Optional.empty();
+            }
+            Optional<Booking> inserted = insert(booking);
+            inserted.ifPresent(saved -> {
+                availabilityIndex.add(saved);
+                occupancyGrid.add(resource.getId(), startDate, endDate);
+                // Les options de l'utilisateur sur ce créneau ne servent plus : elles ne doivent pas bloquer les autres
+                slotHolds.releaseOwn(resource.getId(), user.getId(), startDate, endDate);
+            });
+            return inserted;
+        }));
+    }
+
+    private boolean isSlotTaken(Resource resource, Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        Long resourceId = resource.getId();
+        int limit = resource.concurrentLimit();
+        if (limit > 1) {
+            // Pool : non couvert par la contrainte d'exclusion, on compte les réservations simultanées
+            return resourceAvailability.usedUnits(resourceId, userId, startDate, endDate) >= limit
+                    || (verifyOnWrite && resourceAvailability.usedUnitsInDatabase(resourceId, startDate, endDate) >= limit);
+        }
+        if (availabilityIndex.hasConflict(resourceId, startDate, endDate)
+                || slotHolds.hasConflict(resourceId, startDate, endDate, userId)) {
+            return true;
+        }
+        if (!verifyOnWrite) {
+            return false;
+        }
+        // Avec la contrainte d'exclusion, c'est l'insertion elle-même qui détecte le conflit avec une réservation ;
+        // les occurrences de séries n'ont pas de ligne en base, elles restent vérifiées ici
+        boolean bookingTaken = !bookingSchema.isExclusionConstraintActive()
+                && bookingRepository.hasConflictingBooking(resourceId, startDate, endDate);
+        return bookingTaken
+                || bookingSeriesRepository.findActiveInRange(resourceId, startDate, endDate).stream()
+                        .anyMatch(series -> series.toRule().overlaps(startDate, endDate));
+    }
+
+    private Optional<Booking> insert(Booking booking) {
+        try {
+            return Optional.of(bookingRepository.save(booking));
+        } catch (DataIntegrityViolationException e) {
+            if (BookingSchemaInitializer.isExclusionViolation(e)) {
+                return Optional.empty();
+            }
+            throw e;
+        }
     }
 
     public List<BookingResponse> getBookings(UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null) {
-            throw new RuntimeException("Utilisateur non trouvé");
+        return mergeWithOccurrences(
+                bookingRepository.findRowsByUserEmail(userDetails.getUsername()),
+                bookingSeriesRepository.findAllByUser_Email(userDetails.getUsername())
+        );
+    }
+
+    public BookingPage searchBookings(BookingFilter filter, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La taille de page doit être comprise entre 1 et " + MAX_PAGE_SIZE + ".");
+        }
+        BookingCursor after = cursor == null || cursor.isBlank() ? null : BookingCursor.decode(cursor);
+        LocalDateTime afterStart = after == null ? null : after.startDate();
+
+        // À date égale, les réservations passent avant les occurrences : un curseur d'occurrence exclut toutes les réservations de cette date
+        Long afterBookingId = after == null ? null : after.occurrence() ? Long.MAX_VALUE : after.id();
+        List<BookingRow> rows = bookingRepository.findPage(filter.status(), filter.resourceId(), filter.userId(),
+                filter.from(), filter.to(), afterStart, afterBookingId, PageRequest.of(0, size + 1));
+
+        List<Iterator<PageEntry>> sources = new ArrayList<>();
+        sources.add(rows.stream()
+                .map(row -> new PageEntry(row.startDate(), false, row.id(), bookingMapper.mapRow(row)))
+                .iterator());
+        // Point de départ de la page : les séries commencées avant sont en cours, les autres sont bornées à size + 1
+        LocalDateTime pivot = afterStart == null ? filter.from()
+                : filter.from() == null || afterStart.isAfter(filter.from()) ? afterStart : filter.from();
+        List<BookingSeries> seriesList = new ArrayList<>();
+        if (pivot != null) {
+            seriesList.addAll(bookingSeriesRepository.findInProgressForListing(filter.status(), filter.resourceId(),
+                    filter.userId(), filter.to(), pivot));
+        }
+        seriesList.addAll(bookingSeriesRepository.findStartingForListing(filter.status(), filter.resourceId(),
+                filter.userId(), filter.to(), pivot, PageRequest.of(0, size + 1)));
+        for (BookingSeries series : seriesList) {
+            sources.add(occurrencesAfter(series, filter, after).iterator());
+        }
+
+        Iterator<PageEntry> merged = SortedMerge.merge(sources, PageEntry.ORDER);
+        List<BookingResponse> items = new ArrayList<>(size);
+        PageEntry last = null;
+        while (merged.hasNext() && items.size() < size) {
+            last = merged.next();
+            items.add(last.response());
+        }
+        String nextCursor = merged.hasNext()
+                ? new BookingCursor(last.startDate(), last.occurrence(), last.id()).encode()
+                : null;
+        return new BookingPage(items, nextCursor);
+    }
+
+    private Stream<PageEntry> occurrencesAfter(BookingSeries series, BookingFilter filter, BookingCursor after) {
+        RecurrenceRule rule = series.toRule();
+        LocalDateTime from = filter.from() != null ? filter.from() : rule.firstStart();
+        if (after != null && after.startDate().isAfter(from)) {
+            from = after.startDate();
+        }
+        LocalDateTime to = filter.to() != null ? filter.to() : rule.lastEnd();
+        LocalDateTime lowerBound = from;
+        return rule.occurrences(from, to)
+                .map(occurrence -> new PageEntry(occurrence.startDate(), true, series.getId(),
+                        bookingMapper.mapOccurrence(series, occurrence)))
+                .filter(entry -> !entry.startDate().isBefore(lowerBound))
+                .filter(entry -> after == null || PageEntry.ORDER.compare(entry,
+                        new PageEntry(after.startDate(), after.occurrence(), after.id(), null)) > 0);
+    }
+
+    // Réservations ponctuelles (triées) et occurrences des séries fusionnées par date de début.
+    // Les occurrences ne sont développées que dans la fenêtre autour d'aujourd'hui : au-delà, voir searchBookings
+    private List<BookingResponse> mergeWithOccurrences(List<BookingRow> bookings, List<BookingSeries> seriesList) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minusDays(seriesListingWindowDays);
+        LocalDateTime to = now.plusDays(seriesListingWindowDays);
+        List<Stream<BookingResponse>> sources = new ArrayList<>();
+        sources.add(bookings.stream().map(bookingMapper::mapRow));
+        for (BookingSeries series : seriesList) {
+            sources.add(series.toRule().occurrences(from, to).map(occurrence -> bookingMapper.mapOccurrence(series, occurrence)));
         }
-        return bookingRepository.findAllByUser_Id(user.getId()).stream().map(bookingMapper :: mapToResponse).toList();
+        return SortedMerge.merge(sources, Comparator.comparing(BookingResponse::startDate)).toList();
     }
 
-    public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream().map(bookingMapper :: mapToResponse).toList();
+    private record PageEntry(LocalDateTime startDate, boolean occurrence, long id, BookingResponse response) {
+        static final Comparator<PageEntry> ORDER = Comparator.comparing(PageEntry::startDate)
+                .thenComparing(PageEntry::occurrence)
+                .thenComparingLong(PageEntry::id);
     }
 
     public void cancelBooking(Long bookingId, UserDetails connectedUser) {
@@ -92,8 +295,16 @@ public class BookingService {
             throw new RuntimeException("Cette réservation est déjà annulée.");
         }
 
-        booking.setStatus(Status.CANCELLED);
-        bookingRepository.save(booking);
+        // Revérifié par la mise à jour conditionnelle : de deux annulations concurrentes, une seule libère le créneau
+        bookingLocks.withResourceLock(booking.getResource().getId(), () -> {
+            if (bookingRepository.cancel(booking.getId()) == 0) {
+                throw new RuntimeException("Cette réservation est déjà annulée.");
+            }
+            booking.setStatus(Status.CANCELLED);
+            availabilityIndex.remove(booking);
+            occupancyGrid.refresh(booking.getResource().getId(), booking.getStartDate(), booking.getEndDate());
+            eventPublisher.publishEvent(new SlotReleasedEvent(booking.getResource().getId(), booking.getStartDate(), booking.getEndDate()));
+        });
     }
 
 }
@@ -0,0 +1,125 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.TimeWindow;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche des premiers créneaux libres parmi les ressources correspondant aux critères.
+ * Les réservations de toutes les ressources sont lues en une seule requête, puis chaque ressource
+ * produit ses fenêtres libres à la demande : la fusion s'arrête dès que la limite est atteinte.
+ * Les options en cours comptent comme occupées : un créneau bloqué par un formulaire n'est pas proposé.
+ * Un pool n'est occupé que lorsque toutes ses unités sont prises.
+ */
+@Service
+@RequiredArgsConstructor
+public class FreeSlotService {
+
+    private static final Comparator<Candidate> EARLIEST_FIRST = Comparator
+            .comparing((Candidate c) -> c.window().startDate())
+            .thenComparing(c -> c.resource().getId());
+
+    private final ResourceRepository resourceRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final SlotHolds slotHolds;
+
+    @Value("${application.booking.free-slots.max-results:100}")
+    private int maxResults;
+
+    @Transactional(readOnly = true)
+    public List<FreeSlot> findFreeSlots(ResourceType type, Integer minCapacity, String location,
+                                        Duration duration, LocalDateTime from, LocalDateTime to, int limit) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La durée doit être positive.");
+        }
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La date de début doit être avant la date de fin.");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Le nombre de résultats doit être compris entre 1 et " + maxResults + ".");
+        }
+
+        List<Resource> resources = resourceRepository.findMatching(type, minCapacity, location);
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = resources.stream().map(Resource::getId).toList();
+
+        Map<Long, List<BookingSlot>> slotsByResource = bookingRepository
+                .findActiveSlotsForResourcesInRange(ids, from, to).stream()
+                .collect(Collectors.groupingBy(BookingSlot::resourceId));
+        Map<Long, List<BookingSeries>> seriesByResource = bookingSeriesRepository
+                .findActiveForResourcesInRange(ids, from, to).stream()
+                .collect(Collectors.groupingBy(s -> s.getResource().getId()));
+
+        List<Iterator<Candidate>> perResource = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            Iterator<BookingSlot> busy = busySlots(
+                    slotsByResource.getOrDefault(resource.getId(), List.of()),
+                    seriesByResource.getOrDefault(resource.getId(), List.of()),
+                    slotHolds.findOverlapping(resource.getId(), from, to, null),
+                    from, to);
+            if (resource.concurrentLimit() > 1) {
+                busy = IntervalSweep.fullPeriods(busy, resource.concurrentLimit()).iterator();
+            }
+            Iterator<TimeWindow> windows = IntervalSweep.freeWindows(busy, from, to, duration);
+            perResource.add(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return windows.hasNext();
+                }
+
+                @Override
+                public Candidate next() {
+                    return new Candidate(resource, windows.next());
+                }
+            });
+        }
+
+        Iterator<Candidate> merged = SortedMerge.merge(perResource, EARLIEST_FIRST);
+        List<FreeSlot> result = new ArrayList<>(limit);
+        while (merged.hasNext() && result.size() < limit) {
+            Candidate candidate = merged.next();
+            result.add(new FreeSlot(candidate.resource().getId(), candidate.resource().getName(),
+                    candidate.window().startDate(), candidate.window().endDate()));
+        }
+        return result;
+    }
+
+    private Iterator<BookingSlot> busySlots(List<BookingSlot> slots, List<BookingSeries> series,
+                                            List<BookingSlot> holds, LocalDateTime from, LocalDateTime to) {
+        if (series.isEmpty() && holds.isEmpty()) {
+            return slots.iterator();
+        }
+        List<Iterator<BookingSlot>> sources = new ArrayList<>(series.size() + 2);
+        sources.add(slots.iterator());
+        sources.add(holds.iterator());
+        series.forEach(s -> sources.add(s.toRule().occurrences(from, to).iterator()));
+        return SortedMerge.merge(sources, ResourceTimeline.BY_START);
+    }
+
+    private record Candidate(Resource resource, TimeWindow window) {}
+}
@@ -0,0 +1,216 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.TimeWindow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Balayage linéaire de deux suites de créneaux triées par date de début.
+ */
+public final class IntervalSweep {
+
+    private IntervalSweep() {
+    }
+
+    /**
+     * Vrai si un candidat chevauche un créneau occupé. Les candidats doivent être triés par début
+     * avec des fins croissantes (cas des occurrences d'une série), les créneaux occupés triés par début.
+     */
+    public static boolean anyOverlap(Iterator<BookingSlot> candidates, Iterator<BookingSlot> busy) {
+        LocalDateTime reach = LocalDateTime.MIN;
+        BookingSlot next = busy.hasNext() ? busy.next() : null;
+        while (candidates.hasNext()) {
+            BookingSlot candidate = candidates.next();
+            while (next != null && next.startDate().isBefore(candidate.endDate())) {
+                if (next.endDate().isAfter(reach)) {
+                    reach = next.endDate();
+                }
+                next = busy.hasNext() ? busy.next() : null;
+            }
+            if (reach.isAfter(candidate.startDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vrai si au moins limit créneaux occupés sont simultanés pendant l'un des candidats (pool).
+     * Mêmes hypothèses d'ordre que {@link #anyOverlap} : chaque créneau occupé n'est lu qu'une fois,
+     * et il quitte la liste active dès qu'il se termine avant le début du candidat courant.
+     */
+    public static boolean anyAtCapacity(Iterator<BookingSlot> candidates, Iterator<BookingSlot> busy, int limit) {
+        List<BookingSlot> active = new ArrayList<>();
+        BookingSlot next = busy.hasNext() ? busy.next() : null;
+        while (candidates.hasNext()) {
+            BookingSlot candidate = candidates.next();
+            while (next != null && next.startDate().isBefore(candidate.endDate())) {
+                active.add(next);
+                next = busy.hasNext() ? busy.next() : null;
+            }
+            active.removeIf(slot -> !slot.endDate().isAfter(candidate.startDate()));
+            if (active.size() >= limit
+                    && maxOverlap(active.iterator(), candidate.startDate(), candidate.endDate()) >= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nombre maximal de créneaux simultanés dans [from, to[ (ligne de balayage sur les créneaux triés par début,
+     * tas des fins en cours), en O(k log k) pour k créneaux.
+     */
+    public static int maxOverlap(Iterator<BookingSlot> busy, LocalDateTime from, LocalDateTime to) {
+        PriorityQueue<LocalDateTime> ends = new PriorityQueue<>();
+        int max = 0;
+        while (busy.hasNext()) {
+            BookingSlot slot = busy.next();
+            if (!slot.overlaps(from, to)) {
+                continue;
+            }
+            LocalDateTime start = slot.startDate().isAfter(from) ? slot.startDate() : from;
+            while (!ends.isEmpty() && !ends.peek().isAfter(start)) {
+                ends.poll();
+            }
+            ends.add(slot.endDate());
+            max = Math.max(max, ends.size());
+        }
+        return max;
+    }
+
+    /**
+     * Périodes pendant lesquelles au moins limit créneaux sont simultanés (toutes les unités d'un pool prises),
+     * triées et disjointes. Avec limit = 1, ce sont les créneaux eux-mêmes, fusionnés quand ils se chevauchent.
+     */
+    public static List<BookingSlot> fullPeriods(Iterator<BookingSlot> busy, int limit) {
+        PriorityQueue<LocalDateTime> ends = new PriorityQueue<>();
+        List<BookingSlot> periods = new ArrayList<>();
+        LocalDateTime fullSince = null;
+        while (busy.hasNext()) {
+            BookingSlot slot = busy.next();
+            while (!ends.isEmpty() && !ends.peek().isAfter(slot.startDate())) {
+                LocalDateTime end = ends.poll();
+                if (fullSince != null && ends.size() < limit) {
+                    periods.add(new BookingSlot(null, null, null, fullSince, end));
+                    fullSince = null;
+                }
+            }
+            ends.add(slot.endDate());
+            if (fullSince == null && ends.size() >= limit) {
+                fullSince = slot.startDate();
+            }
+        }
+        while (fullSince != null && !ends.isEmpty()) {
+            LocalDateTime end = ends.poll();
+            if (ends.size() < limit) {
+                periods.add(new BookingSlot(null, null, null, fullSince, end));
+                fullSince = null;
+            }
+        }
+        return periods;
+    }
+
+    /**
+     * Fenêtres libres d'au moins minLength dans [from, to[, calculées au fil de la lecture
+     * des créneaux occupés (triés par début, éventuellement chevauchants).
+     */
+    public static Iterator<TimeWindow> freeWindows(Iterator<BookingSlot> busy, LocalDateTime from,
+                                                   LocalDateTime to, Duration minLength) {
+        return new Iterator<>() {
+            private LocalDateTime cursor = from;
+            private TimeWindow next = advance();
+
+            private TimeWindow advance() {
+                while (cursor.isBefore(to)) {
+                    if (!busy.hasNext()) {
+                        TimeWindow last = new TimeWindow(cursor, to);
+                        cursor = to;
+                        return fits(last) ? last : null;
+                    }
+                    BookingSlot slot = busy.next();
+                    TimeWindow gap = slot.startDate().isAfter(cursor)
+                            ? new TimeWindow(cursor, slot.startDate().isBefore(to) ? slot.startDate() : to)
+                            : null;
+                    if (slot.endDate().isAfter(cursor)) {
+                        cursor = slot.endDate();
+                    }
+                    if (gap != null && fits(gap)) {
+                        return gap;
+                    }
+                }
+                return null;
+            }
+
+            private boolean fits(TimeWindow window) {
+                return window.length().compareTo(minLength) >= 0;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public TimeWindow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                TimeWindow current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Intersections d'au moins minLength entre deux suites de fenêtres triées et disjointes deux à deux,
+     * en un seul passage : on avance à chaque pas la suite dont la fenêtre courante se termine le plus tôt.
+     */
+    public static Iterator<TimeWindow> intersect(Iterator<TimeWindow> first, Iterator<TimeWindow> second,
+                                                 Duration minLength) {
+        return new Iterator<>() {
+            private TimeWindow a = first.hasNext() ? first.next() : null;
+            private TimeWindow b = second.hasNext() ? second.next() : null;
+            private TimeWindow next = advance();
+
+            private TimeWindow advance() {
+                while (a != null && b != null) {
+                    LocalDateTime start = a.startDate().isAfter(b.startDate()) ? a.startDate() : b.startDate();
+                    LocalDateTime end = a.endDate().isBefore(b.endDate()) ? a.endDate() : b.endDate();
+                    if (a.endDate().isBefore(b.endDate())) {
+                        a = first.hasNext() ? first.next() : null;
+                    } else {
+                        b = second.hasNext() ? second.next() : null;
+                    }
+                    if (start.isBefore(end) && Duration.between(start, end).compareTo(minLength) >= 0) {
+                        return new TimeWindow(start, end);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public TimeWindow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                TimeWindow current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
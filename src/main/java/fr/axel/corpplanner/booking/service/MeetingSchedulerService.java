@@ -0,0 +1,159 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.TimeWindow;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recherche de créneaux de réunion : tous les participants et au moins une salle doivent être libres.
+ * Les créneaux des participants et des salles sont lus en une requête (plus une pour les séries),
+ * les agendas des participants sont fusionnés en k voies puis balayés une seule fois pour obtenir
+ * les fenêtres communes, croisées ensuite avec les fenêtres libres de chaque salle.
+ */
+@Service
+@RequiredArgsConstructor
+public class MeetingSchedulerService {
+
+    private static final int MAX_ATTENDEES = 100;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    // Au plus tôt d'abord, puis la plus petite salle suffisante
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparing((Candidate c) -> c.window().startDate())
+            .thenComparing(c -> c.room().getCapacity(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(c -> c.room().getId());
+
+    private final UserRepository userRepository;
+    private final ResourceRepository resourceRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+
+    @Value("${application.booking.free-slots.max-results:100}")
+    private int maxResults;
+
+    @Transactional(readOnly = true)
+    public List<FreeSlot> findMeetingSlots(List<Long> userIds, Duration duration, LocalDateTime from,
+                                           LocalDateTime to, String location, int limit) {
+        Set<Long> attendees = userIds == null ? Set.of() : new LinkedHashSet<>(userIds);
+        if (attendees.isEmpty() || attendees.size() > MAX_ATTENDEES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Il faut entre 1 et " + MAX_ATTENDEES + " participants.");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La durée doit être positive.");
+        }
+        if (!from.isBefore(to) || Duration.between(from, to).toDays() >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La période doit être positive et couvrir moins de " + MAX_RANGE_DAYS + " jours.");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Le nombre de résultats doit être compris entre 1 et " + maxResults + ".");
+        }
+        if (userRepository.countByIdIn(attendees) != attendees.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Participant introuvable.");
+        }
+
+        List<Resource> rooms = resourceRepository.findMatching(ResourceType.ROOM, attendees.size(), location);
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+        List<Long> roomIds = rooms.stream().map(Resource::getId).toList();
+
+        List<BookingSlot> slots = bookingRepository.findActiveSlotsForUsersOrResourcesInRange(attendees, roomIds, from, to);
+        List<BookingSeries> series = bookingSeriesRepository.findActiveForUsersOrResourcesInRange(attendees, roomIds, from, to);
+
+        // Un créneau peut occuper à la fois un participant et une salle
+        List<BookingSlot> attendeeSlots = new ArrayList<>();
+        Map<Long, List<BookingSlot>> roomSlots = new HashMap<>();
+        for (BookingSlot slot : slots) {
+            if (attendees.contains(slot.userId())) {
+                attendeeSlots.add(slot);
+            }
+            roomSlots.computeIfAbsent(slot.resourceId(), id -> new ArrayList<>()).add(slot);
+        }
+        List<Iterator<BookingSlot>> attendeeSources = new ArrayList<>();
+        attendeeSources.add(attendeeSlots.iterator());
+        Map<Long, List<Iterator<BookingSlot>>> roomSources = new HashMap<>();
+        for (BookingSeries s : series) {
+            RecurrenceRule rule = s.toRule();
+            if (attendees.contains(rule.userId())) {
+                attendeeSources.add(rule.occurrences(from, to).iterator());
+            }
+            roomSources.computeIfAbsent(rule.resourceId(), id -> new ArrayList<>()).add(rule.occurrences(from, to).iterator());
+        }
+
+        List<TimeWindow> common = new ArrayList<>();
+        IntervalSweep.freeWindows(SortedMerge.merge(attendeeSources, ResourceTimeline.BY_START), from, to, duration)
+                .forEachRemaining(common::add);
+        if (common.isEmpty()) {
+            return List.of();
+        }
+
+        List<Iterator<Candidate>> perRoom = new ArrayList<>(rooms.size());
+        for (Resource room : rooms) {
+            List<Iterator<BookingSlot>> sources = roomSources.getOrDefault(room.getId(), new ArrayList<>());
+            sources.add(roomSlots.getOrDefault(room.getId(), List.of()).iterator());
+            Iterator<BookingSlot> roomBusy = SortedMerge.merge(sources, ResourceTimeline.BY_START);
+            if (room.concurrentLimit() > 1) {
+                // Salle en pool : occupée seulement quand toutes ses unités sont prises
+                roomBusy = IntervalSweep.fullPeriods(roomBusy, room.concurrentLimit()).iterator();
+            }
+            Iterator<TimeWindow> roomFree = IntervalSweep.freeWindows(roomBusy, from, to, duration);
+            Iterator<TimeWindow> windows = IntervalSweep.intersect(common.iterator(), roomFree, duration);
+            perRoom.add(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return windows.hasNext();
+                }
+
+                @Override
+                public Candidate next() {
+                    return new Candidate(room, windows.next());
+                }
+            });
+        }
+
+        // Une seule proposition par horaire : la salle la mieux ajustée
+        Iterator<Candidate> ranked = SortedMerge.merge(perRoom, RANKING);
+        List<FreeSlot> result = new ArrayList<>(limit);
+        LocalDateTime lastStart = null;
+        while (ranked.hasNext() && result.size() < limit) {
+            Candidate candidate = ranked.next();
+            LocalDateTime start = candidate.window().startDate();
+            if (start.equals(lastStart)) {
+                continue;
+            }
+            lastStart = start;
+            result.add(new FreeSlot(candidate.room().getId(), candidate.room().getName(), start, start.plus(duration)));
+        }
+        return result;
+    }
+
+    private record Candidate(Resource room, TimeWindow window) {}
+}
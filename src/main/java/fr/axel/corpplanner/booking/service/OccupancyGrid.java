@@ -0,0 +1,194 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.DayOccupancy;
+import fr.axel.corpplanner.booking.dto.GridFormat;
+import fr.axel.corpplanner.booking.dto.OccupancyGridResponse;
+import fr.axel.corpplanner.booking.dto.OccupiedRun;
+import fr.axel.corpplanner.booking.dto.ResourceOccupancy;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache d'occupation par ressource et par jour : un bit par case de slot-minutes (96 bits pour 15 minutes).
+ * Une case est occupée dès qu'un créneau la touche ; pour un pool, dès qu'une période où toutes ses unités
+ * sont prises la touche. Les jours sont construits à la demande depuis {@link AvailabilityIndex},
+ * mis à jour à chaque écriture et évincés du moins récemment consulté au plus récent.
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyGrid {
+
+    private static final int MAX_RANGE_DAYS = 62;
+    private static final int MAX_RESOURCES = 200;
+
+    private final AvailabilityIndex availabilityIndex;
+    private final ResourceRepository resourceRepository;
+    // Nombre d'unités des pools, chargé au démarrage puis tenu à jour par ResourceService
+    private final Map<Long, Integer> limits = new ConcurrentHashMap<>();
+
+    @Value("${application.booking.grid.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${application.booking.grid.max-days:10000}")
+    private int maxDays;
+
+    private int slotsPerDay;
+    private Map<DayKey, long[]> days;
+
+    @PostConstruct
+    public void init() {
+        if (slotMinutes <= 0 || (24 * 60) % slotMinutes != 0) {
+            throw new IllegalStateException("application.booking.grid.slot-minutes doit diviser une journée : " + slotMinutes);
+        }
+        slotsPerDay = 24 * 60 / slotMinutes;
+        resourceRepository.findAll().forEach(this::registerResource);
+        days = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DayKey, long[]> eldest) {
+                return size() > maxDays;
+            }
+        };
+    }
+
+    public OccupancyGridResponse getGrid(List<Long> resourceIds, LocalDate from, LocalDate to, GridFormat format) {
+        if (resourceIds == null || resourceIds.isEmpty() || resourceIds.size() > MAX_RESOURCES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Il faut entre 1 et " + MAX_RESOURCES + " ressources.");
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La période doit couvrir entre 1 et " + MAX_RANGE_DAYS + " jours.");
+        }
+
+        List<ResourceOccupancy> resources = new ArrayList<>(resourceIds.size());
+        for (Long resourceId : resourceIds.stream().distinct().toList()) {
+            List<DayOccupancy> occupancy = new ArrayList<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                long[] bits = day(resourceId, date);
+                occupancy.add(format == GridFormat.RUNS
+                        ? new DayOccupancy(date, null, runs(date, bits))
+                        : new DayOccupancy(date, Base64.getEncoder().encodeToString(BitSet.valueOf(bits).toByteArray()), null));
+            }
+            resources.add(new ResourceOccupancy(resourceId, occupancy));
+        }
+        return new OccupancyGridResponse(slotMinutes, slotsPerDay, resources);
+    }
+
+    public synchronized long[] day(Long resourceId, LocalDate date) {
+        return days.computeIfAbsent(new DayKey(resourceId, date), this::build).clone();
+    }
+
+    // Ajout : il suffit d'allumer les cases des jours déjà en cache, sauf pour un pool qui n'est pas forcément plein
+    public synchronized void add(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        if (limit(resourceId) > 1) {
+            refresh(resourceId, start, end);
+            return;
+        }
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            long[] bits = days.get(new DayKey(resourceId, date));
+            if (bits != null) {
+                mark(bits, date, start, end);
+            }
+        }
+    }
+
+    // Retrait : une case peut rester occupée par un autre créneau, les jours touchés sont recalculés depuis l'index
+    public synchronized void refresh(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            DayKey key = new DayKey(resourceId, date);
+            if (days.containsKey(key)) {
+                days.put(key, build(key));
+            }
+        }
+    }
+
+    // Une série (ou une modification de la ressource) touche potentiellement tous les jours en cache de la ressource
+    public synchronized void evictResource(Long resourceId) {
+        days.keySet().removeIf(key -> key.resourceId().equals(resourceId));
+    }
+
+    // Le nombre d'unités a pu changer : les jours déjà construits de la ressource sont oubliés
+    public synchronized void registerResource(Resource resource) {
+        if (resource.concurrentLimit() > 1) {
+            limits.put(resource.getId(), resource.concurrentLimit());
+        } else {
+            limits.remove(resource.getId());
+        }
+        evictResource(resource.getId());
+    }
+
+    public synchronized void clear() {
+        days.clear();
+    }
+
+    private long[] build(DayKey key) {
+        long[] bits = new long[(slotsPerDay + 63) / 64];
+        LocalDateTime dayStart = key.date().atStartOfDay();
+        List<BookingSlot> busy = availabilityIndex.findOverlapping(key.resourceId(), dayStart, dayStart.plusDays(1));
+        int limit = limit(key.resourceId());
+        if (limit > 1) {
+            busy = IntervalSweep.fullPeriods(busy.iterator(), limit);
+        }
+        for (BookingSlot slot : busy) {
+            mark(bits, key.date(), slot.startDate(), slot.endDate());
+        }
+        return bits;
+    }
+
+    private int limit(Long resourceId) {
+        return limits.getOrDefault(resourceId, 1);
+    }
+
+    private void mark(long[] bits, LocalDate date, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        long fromMinute = Math.max(0, Duration.between(dayStart, start).toMinutes());
+        long toMinute = Math.min(24 * 60, ceilMinutes(Duration.between(dayStart, end)));
+        if (fromMinute >= toMinute) {
+            return;
+        }
+        int first = (int) (fromMinute / slotMinutes);
+        int last = (int) ((toMinute + slotMinutes - 1) / slotMinutes) - 1;
+        for (int i = first; i <= last; i++) {
+            bits[i >> 6] |= 1L << (i & 63);
+        }
+    }
+
+    private static long ceilMinutes(Duration duration) {
+        long minutes = duration.toMinutes();
+        return duration.minusMinutes(minutes).isZero() ? minutes : minutes + 1;
+    }
+
+    private List<OccupiedRun> runs(LocalDate date, long[] bits) {
+        BitSet set = BitSet.valueOf(bits);
+        LocalDateTime dayStart = date.atStartOfDay();
+        List<OccupiedRun> runs = new ArrayList<>();
+        for (int start = set.nextSetBit(0); start >= 0; start = set.nextSetBit(start)) {
+            int end = set.nextClearBit(start);
+            runs.add(new OccupiedRun(dayStart.plusMinutes((long) start * slotMinutes),
+                    dayStart.plusMinutes((long) end * slotMinutes)));
+            start = end;
+        }
+        return runs;
+    }
+
+    private record DayKey(Long resourceId, LocalDate date) {}
+}
@@ -0,0 +1,84 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.ResourceAvailability;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupation d'une ressource en nombre d'unités : pour un pool, une réservation est acceptée tant que
+ * le nombre maximal de créneaux simultanés sur la fenêtre reste inférieur à la capacité.
+ * Le calcul se fait sur l'index en mémoire (réservations, séries et options des autres utilisateurs).
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceAvailabilityService {
+
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotHolds slotHolds;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final ResourceRepository resourceRepository;
+    // Ressources désactivées depuis le démarrage : une entité chargée juste avant peut encore se croire active
+    private final Set<Long> retired = ConcurrentHashMap.newKeySet();
+
+    // À appeler sous le verrou de la ressource, avant d'annuler ce qu'elle porte
+    public void retire(Long resourceId) {
+        retired.add(resourceId);
+    }
+
+    public boolean isRetired(Resource resource) {
+        return Boolean.FALSE.equals(resource.getActive()) || retired.contains(resource.getId());
+    }
+
+    public ResourceAvailability getAvailability(Long resourceId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La date de début doit être avant la date de fin.");
+        }
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new EntityNotFoundException("Resource not found with id: " + resourceId));
+
+        int capacity = resource.concurrentLimit();
+        int used = usedUnits(resourceId, null, from, to);
+        return new ResourceAvailability(resourceId, capacity, Math.max(0, capacity - used), from, to);
+    }
+
+    // Vrai si la ressource ne peut plus accueillir de réservation sur [start, end[ ; les options de userId sont ignorées
+    public boolean isFull(Resource resource, Long userId, LocalDateTime start, LocalDateTime end) {
+        if (resource.concurrentLimit() == 1) {
+            return availabilityIndex.hasConflict(resource.getId(), start, end)
+                    || slotHolds.hasConflict(resource.getId(), start, end, userId);
+        }
+        return usedUnits(resource.getId(), userId, start, end) >= resource.concurrentLimit();
+    }
+
+    // Nombre maximal de réservations et d'options simultanées sur [start, end[
+    public int usedUnits(Long resourceId, Long userId, LocalDateTime start, LocalDateTime end) {
+        return IntervalSweep.maxOverlap(SortedMerge.merge(List.of(
+                availabilityIndex.findOverlapping(resourceId, start, end).iterator(),
+                slotHolds.findOverlapping(resourceId, start, end, userId).iterator()
+        ), ResourceTimeline.BY_START), start, end);
+    }
+
+    // Même calcul depuis la base, pour la revérification à l'écriture
+    public int usedUnitsInDatabase(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        List<BookingSlot> busy = new ArrayList<>(bookingRepository.findActiveSlotsInRange(resourceId, start, end));
+        bookingSeriesRepository.findActiveInRange(resourceId, start, end)
+                .forEach(series -> series.toRule().occurrences(start, end).forEach(busy::add));
+        busy.sort(ResourceTimeline.BY_START);
+        return IntervalSweep.maxOverlap(busy.iterator(), start, end);
+    }
+}
@@ -0,0 +1,152 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.domain.WaitlistStatus;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.CancellationNotice;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import fr.axel.corpplanner.email.EmailMessage;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Désactivation d'une ressource : ses réservations à venir sont annulées par une seule requête UPDATE
+ * (seuls leurs créneaux sont lus, pour les retirer de l'index), ses séries sont tronquées à la dernière
+ * occurrence commencée (annulées si aucune ne l'est), ses options levées et ses demandes en liste d'attente
+ * closes. Chaque utilisateur concerné reçoit un seul e-mail, envoyé par paquets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResourceDeactivationService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyGrid occupancyGrid;
+    private final SlotHolds slotHolds;
+    private final Waitlist waitlist;
+    private final ResourceAvailabilityService resourceAvailability;
+    private final BookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+
+    public int cancelFutureBookings(Resource resource) {
+        Long resourceId = resource.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        return bookingLocks.withResourceLock(resourceId, () -> {
+            // Toute écriture qui prendra le verrou après nous verra la ressource comme désactivée
+            resourceAvailability.retire(resourceId);
+
+            Cancellation cancellation = transactionTemplate.execute(status -> {
+                List<BookingSlot> slots = bookingRepository.findActiveSlotsStartingFrom(resourceId, now);
+                List<CancellationNotice> notices = new ArrayList<>(bookingRepository.findCancellationNotices(resourceId, now));
+                List<BookingSeries> cancelled = new ArrayList<>();
+                List<BookingSeries> truncated = new ArrayList<>();
+                for (BookingSeries series : bookingSeriesRepository.findActiveEndingAfter(resourceId, now)) {
+                    RecurrenceRule rule = series.toRule();
+                    long lastStarted = lastStartedIndex(rule, now);
+                    if (lastStarted >= rule.lastIndex()) {
+                        // Dernière occurrence en cours : rien à retirer
+                        continue;
+                    }
+                    notices.add(new CancellationNotice(series.getUser().getEmail(), 1L,
+                            rule.occurrence(lastStarted + 1).startDate()));
+                    if (lastStarted < 0) {
+                        cancelled.add(series);
+                    } else {
+                        // Les occurrences passées restent visibles (mes réservations, exports, grille)
+                        BookingSlot last = rule.occurrence(lastStarted);
+                        series.setUntilDate(last.startDate().toLocalDate());
+                        series.setOccurrenceCount(null);
+                        series.setLastEndDate(last.endDate());
+                        truncated.add(series);
+                    }
+                }
+
+                int updated = bookingRepository.updateActiveStatusStartingFrom(resourceId, now, Status.CANCELLED);
+                if (!truncated.isEmpty()) {
+                    bookingSeriesRepository.saveAll(truncated);
+                }
+                if (!cancelled.isEmpty()) {
+                    bookingSeriesRepository.updateActiveStatus(cancelled.stream().map(BookingSeries::getId).toList(), Status.CANCELLED);
+                }
+                int waiting = waitlistEntryRepository.closeAllWaiting(resourceId, WaitlistStatus.EXPIRED);
+                return new Cancellation(slots, notices, cancelled, truncated, updated, waiting);
+            });
+
+            cancellation.slots().forEach(availabilityIndex::remove);
+            cancellation.cancelled().forEach(availabilityIndex::removeSeries);
+            cancellation.truncated().forEach(series -> {
+                availabilityIndex.removeSeries(series);
+                availabilityIndex.addSeries(series);
+            });
+            occupancyGrid.evictResource(resourceId);
+            int holds = slotHolds.releaseResource(resourceId);
+            waitlist.removeResource(resourceId);
+
+            List<EmailMessage> messages = messages(resource, cancellation.notices());
+            if (!messages.isEmpty()) {
+                emailService.sendAll(messages);
+            }
+            log.info("Ressource {} désactivée : {} réservations annulées, {} séries annulées et {} tronquées, "
+                            + "{} options levées, {} demandes en attente closes, {} utilisateurs prévenus",
+                    resourceId, cancellation.updated(), cancellation.cancelled().size(), cancellation.truncated().size(),
+                    holds, cancellation.waiting(), messages.size());
+            return cancellation.updated();
+        });
+    }
+
+    // Indice de la dernière occurrence commencée avant now, -1 si la série n'a pas commencé
+    private static long lastStartedIndex(RecurrenceRule rule, LocalDateTime now) {
+        long elapsed = ChronoUnit.SECONDS.between(rule.firstStart(), now);
+        if (elapsed <= 0) {
+            return -1;
+        }
+        return Math.min((elapsed - 1) / rule.periodSeconds(), rule.lastIndex());
+    }
+
+    // Un message par utilisateur, qu'il ait des réservations ponctuelles, des séries ou les deux
+    private List<EmailMessage> messages(Resource resource, List<CancellationNotice> notices) {
+        Map<String, CancellationNotice> byEmail = new LinkedHashMap<>();
+        notices.forEach(notice -> byEmail.merge(notice.email(), notice,
+                (a, b) -> new CancellationNotice(a.email(), a.count() + b.count(),
+                        a.firstStart().isBefore(b.firstStart()) ? a.firstStart() : b.firstStart())));
+
+        return byEmail.values().stream()
+                .map(notice -> new EmailMessage(
+                        notice.email(),
+                        "Vos réservations sur " + resource.getName() + " sont annulées",
+                        "La ressource " + resource.getName() + " n'est plus disponible : "
+                                + notice.count() + " réservation(s) à partir du " + notice.firstStart()
+                                + " ont été annulées."))
+                .toList();
+    }
+
+    private record Cancellation(
+            List<BookingSlot> slots,
+            List<CancellationNotice> notices,
+            List<BookingSeries> cancelled,
+            List<BookingSeries> truncated,
+            int updated,
+            int waiting
+    ) {
+    }
+}
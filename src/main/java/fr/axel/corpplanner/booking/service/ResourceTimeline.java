@@ -0,0 +1,96 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Créneaux occupés d'une ressource, triés par date de début.
+ * La durée du plus long créneau borne la recherche : seuls les créneaux commençant
+ * dans [start - longest, end[ peuvent chevaucher [start, end[. Le coût est O(log n + m), m étant le nombre
+ * de créneaux de cette fenêtre et non le seul nombre de chevauchements : un créneau très long (jamais oublié,
+ * même après sa suppression) élargit la fenêtre de toutes les recherches suivantes.
+ * Les séries récurrentes sont conservées sous forme de règles et développées dans la fenêtre demandée.
+ */
+class ResourceTimeline {
+
+    static final Comparator<BookingSlot> BY_START = Comparator
+            .comparing(BookingSlot::startDate)
+            .thenComparing(BookingSlot::id, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(BookingSlot::seriesId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final NavigableSet<BookingSlot> slots = new TreeSet<>(BY_START);
+    private final List<RecurrenceRule> series = new ArrayList<>();
+    private Duration longest = Duration.ZERO;
+
+    synchronized void add(BookingSlot slot) {
+        slots.add(slot);
+        Duration length = Duration.between(slot.startDate(), slot.endDate());
+        if (length.compareTo(longest) > 0) {
+            longest = length;
+        }
+    }
+
+    synchronized boolean remove(BookingSlot slot) {
+        return slots.remove(slot);
+    }
+
+    synchronized void addSeries(RecurrenceRule rule) {
+        series.add(rule);
+    }
+
+    synchronized void removeSeries(Long seriesId) {
+        series.removeIf(rule -> rule.seriesId().equals(seriesId));
+    }
+
+    synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        for (BookingSlot slot : candidates(start, end)) {
+            if (slot.overlaps(start, end)) {
+                return true;
+            }
+        }
+        for (RecurrenceRule rule : series) {
+            if (rule.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Créneaux ponctuels et occurrences chevauchant [start, end[, triés par date de début
+    synchronized List<BookingSlot> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<BookingSlot> single = new ArrayList<>();
+        for (BookingSlot slot : candidates(start, end)) {
+            if (slot.overlaps(start, end)) {
+                single.add(slot);
+            }
+        }
+        if (series.isEmpty()) {
+            return single;
+        }
+        List<Stream<BookingSlot>> sources = new ArrayList<>();
+        sources.add(single.stream());
+        series.forEach(rule -> sources.add(rule.occurrences(start, end)));
+        return SortedMerge.merge(sources, BY_START).toList();
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    private NavigableSet<BookingSlot> candidates(LocalDateTime start, LocalDateTime end) {
+        return slots.subSet(probe(start.minus(longest)), true, probe(end), false);
+    }
+
+    private static BookingSlot probe(LocalDateTime date) {
+        return new BookingSlot(Long.MIN_VALUE, null, null, date, date);
+    }
+}
@@ -0,0 +1,57 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.WaitlistSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Demandes en attente d'une ressource, triées par date de début comme {@link ResourceTimeline} :
+ * une libération de [start, end[ ne parcourt que les demandes qui la chevauchent,
+ * renvoyées ensuite dans l'ordre de priorité.
+ */
+class ResourceWaitlist {
+
+    static final Comparator<WaitlistSlot> BY_PRIORITY = Comparator
+            .comparingInt(WaitlistSlot::priority).reversed()
+            .thenComparing(WaitlistSlot::requestedAt)
+            .thenComparing(WaitlistSlot::id);
+
+    private static final Comparator<WaitlistSlot> BY_START = Comparator
+            .comparing(WaitlistSlot::startDate)
+            .thenComparing(WaitlistSlot::id);
+
+    private final NavigableSet<WaitlistSlot> entries = new TreeSet<>(BY_START);
+    private Duration longest = Duration.ZERO;
+
+    synchronized void add(WaitlistSlot entry) {
+        entries.add(entry);
+        Duration length = Duration.between(entry.startDate(), entry.endDate());
+        if (length.compareTo(longest) > 0) {
+            longest = length;
+        }
+    }
+
+    synchronized boolean remove(WaitlistSlot entry) {
+        return entries.remove(entry);
+    }
+
+    synchronized List<WaitlistSlot> overlapping(LocalDateTime start, LocalDateTime end) {
+        return entries.subSet(probe(start.minus(longest)), true, probe(end), false).stream()
+                .filter(entry -> entry.overlaps(start, end))
+                .sorted(BY_PRIORITY)
+                .toList();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static WaitlistSlot probe(LocalDateTime startDate) {
+        return new WaitlistSlot(Long.MIN_VALUE, null, null, null, startDate, startDate, 0, null);
+    }
+}
@@ -0,0 +1,114 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingResponse;
+import fr.axel.corpplanner.booking.dto.SlotHold;
+import fr.axel.corpplanner.booking.dto.SlotHoldResponse;
+import fr.axel.corpplanner.booking.mapper.BookingMapper;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Options posées pendant la saisie d'une réservation : le créneau est bloqué pour les autres
+ * le temps de terminer le formulaire, puis l'option est transformée en réservation.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotHoldService {
+
+    private final ResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final BookingMapper bookingMapper;
+    private final SlotHolds slotHolds;
+    private final ResourceAvailabilityService resourceAvailability;
+    private final BookingLocks bookingLocks;
+
+    @Value("${application.booking.holds.max-per-user:5}")
+    private int maxPerUser;
+
+    public SlotHoldResponse hold(BookingRequest request, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+
+        Resource resource = resourceRepository.findById(request.resourceId())
+                .orElseThrow(() -> new RuntimeException("Ressource introuvable"));
+
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new RuntimeException("La date de début doit être avant la fin");
+        }
+
+        // Verrou de l'utilisateur en plus : deux options posées en parallèle sur deux ressources ne dépassent pas le plafond
+        SlotHold hold = bookingLocks.withResourceLock(resource.getId(), () -> bookingLocks.withUserLock(user.getId(), () -> {
+            if (resourceAvailability.isRetired(resource)) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Cette ressource n'est plus disponible.");
+            }
+            if (slotHolds.countByUser(user.getId()) >= maxPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Vous avez déjà " + maxPerUser + " options en cours : confirmez-en ou levez-en une.");
+            }
+            if (resourceAvailability.isFull(resource, user.getId(), request.startDate(), request.endDate())) {
+                throw new BookingConflictException("Ce créneau est déjà réservé ou en cours de réservation.");
+            }
+            return slotHolds.place(resource.getId(), user.getId(), request.startDate(), request.endDate());
+        }));
+
+        return new SlotHoldResponse(hold.id(), hold.resourceId(), hold.startDate(), hold.endDate(), hold.expiresAt());
+    }
+
+    // L'option garantit déjà le créneau : la conversion se limite à une recherche dans l'index et une insertion
+    public BookingResponse confirm(Long holdId, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+
+        SlotHold hold = findOwned(holdId, user, false);
+
+        Booking booking = bookingLocks.withResourceLock(hold.resourceId(), () -> {
+            if (slotHolds.find(holdId).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Cette option a expiré.");
+            }
+            Resource resource = resourceRepository.findById(hold.resourceId())
+                    .orElseThrow(() -> new RuntimeException("Ressource introuvable"));
+            Booking created = bookingService.createIfFree(user, resource, hold.startDate(), hold.endDate())
+                    .orElseThrow(() -> new BookingConflictException("Cette ressource est déjà réservée sur ce créneau."));
+            // Levée seulement après l'insertion : si elle échoue, l'option garde le créneau jusqu'à son expiration
+            slotHolds.release(holdId);
+            return created;
+        });
+
+        return bookingMapper.mapToResponse(booking);
+    }
+
+    public void release(Long holdId, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
+
+        SlotHold hold = findOwned(holdId, user, true);
+        bookingLocks.withResourceLock(hold.resourceId(), () -> slotHolds.release(holdId));
+    }
+
+    private SlotHold findOwned(Long holdId, User user, boolean adminAllowed) {
+        SlotHold hold = slotHolds.find(holdId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Option introuvable ou expirée."));
+
+        boolean isOwner = hold.userId().equals(user.getId());
+        boolean isAdmin = adminAllowed && user.getRoles().contains(Role.ADMIN);
+
+        if (!isOwner && !isAdmin) {
+            throw new AccessDeniedException("Cette option appartient à un autre utilisateur.");
+        }
+        return hold;
+    }
+}
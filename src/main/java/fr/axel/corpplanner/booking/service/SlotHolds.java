@@ -0,0 +1,171 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.SlotHold;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Options temporaires en mémoire, par ressource. Elles ne sont jamais écrites en base :
+ * l'expiration passe par une {@link TimingWheel} avancée à chaque tick, sans aucun parcours de table.
+ * Les options d'un utilisateur ne le bloquent pas lui-même, seulement les autres.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotHolds {
+
+    private final BookingLocks bookingLocks;
+    private final Map<Long, ResourceTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, Held> holds = new ConcurrentHashMap<>();
+    // Identifiants des options de chaque utilisateur, pour le plafond par utilisateur
+    private final Map<Long, Set<Long>> byUser = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${application.booking.holds.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${application.booking.holds.tick-millis:1000}")
+    private long tickMillis;
+
+    private TimingWheel<Long> wheel;
+
+    @PostConstruct
+    public void init() {
+        if (ttlSeconds <= 0) {
+            throw new IllegalStateException("application.booking.holds.ttl-seconds doit être positif : " + ttlSeconds);
+        }
+        // Un tour de roue couvre la durée d'une option : chaque case n'est visitée qu'une fois par option
+        int wheelSize = (int) Math.min(1 << 16, Math.max(1, ttlSeconds * 1000 / tickMillis + 1));
+        wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    // À appeler sous le verrou de la ressource, une fois vérifié que le créneau est libre
+    public SlotHold place(Long resourceId, Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        long id = sequence.incrementAndGet();
+        long deadline = System.currentTimeMillis() + ttlSeconds * 1000;
+        SlotHold hold = new SlotHold(id, resourceId, userId, startDate, endDate, LocalDateTime.now().plusSeconds(ttlSeconds));
+        timelines.computeIfAbsent(resourceId, rid -> new ResourceTimeline()).add(toSlot(hold));
+        holds.put(id, new Held(hold, wheel.schedule(id, deadline)));
+        byUser.compute(userId, (uid, ids) -> {
+            Set<Long> owned = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            owned.add(id);
+            return owned;
+        });
+        return hold;
+    }
+
+    // Options encore posées par l'utilisateur, toutes ressources confondues
+    public int countByUser(Long userId) {
+        Set<Long> owned = byUser.get(userId);
+        return owned == null ? 0 : owned.size();
+    }
+
+    public Optional<SlotHold> find(Long holdId) {
+        return Optional.ofNullable(holds.get(holdId))
+                .map(Held::hold)
+                .filter(hold -> hold.expiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    // Options d'autres utilisateurs chevauchant [start, end[
+    public boolean hasConflict(Long resourceId, LocalDateTime start, LocalDateTime end, Long userId) {
+        return !findOverlapping(resourceId, start, end, userId).isEmpty();
+    }
+
+    // Options d'autres utilisateurs chevauchant [start, end[, triées par date de début
+    public List<BookingSlot> findOverlapping(Long resourceId, LocalDateTime start, LocalDateTime end, Long userId) {
+        ResourceTimeline timeline = timelines.get(resourceId);
+        if (timeline == null) {
+            return List.of();
+        }
+        return timeline.overlapping(start, end).stream()
+                .filter(slot -> !slot.userId().equals(userId))
+                .toList();
+    }
+
+    // Retire l'option ; false si elle a déjà expiré ou été levée
+    public boolean release(Long holdId) {
+        Held held = holds.remove(holdId);
+        if (held == null) {
+            return false;
+        }
+        wheel.cancel(held.timeout());
+        ResourceTimeline timeline = timelines.get(held.hold().resourceId());
+        if (timeline != null) {
+            timeline.remove(toSlot(held.hold()));
+        }
+        byUser.computeIfPresent(held.hold().userId(), (uid, owned) -> {
+            owned.remove(holdId);
+            return owned.isEmpty() ? null : owned;
+        });
+        return true;
+    }
+
+    // Options de l'utilisateur sur la ressource chevauchant [start, end[ : sa réservation les rend inutiles.
+    // À appeler sous le verrou de la ressource
+    public int releaseOwn(Long resourceId, Long userId, LocalDateTime start, LocalDateTime end) {
+        Set<Long> owned = byUser.get(userId);
+        if (owned == null) {
+            return 0;
+        }
+        List<Long> ids = owned.stream()
+                .map(holds::get)
+                .filter(Objects::nonNull)
+                .map(Held::hold)
+                .filter(hold -> hold.resourceId().equals(resourceId)
+                        && hold.startDate().isBefore(end) && start.isBefore(hold.endDate()))
+                .map(SlotHold::id)
+                .toList();
+        ids.forEach(this::release);
+        return ids.size();
+    }
+
+    // Ressource désactivée : toutes ses options sont levées. À appeler sous le verrou de la ressource
+    public int releaseResource(Long resourceId) {
+        List<Long> ids = holds.values().stream()
+                .map(Held::hold)
+                .filter(hold -> hold.resourceId().equals(resourceId))
+                .map(SlotHold::id)
+                .toList();
+        ids.forEach(this::release);
+        timelines.remove(resourceId);
+        return ids.size();
+    }
+
+    public int size() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${application.booking.holds.tick-millis:1000}")
+    public void expire() {
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        for (Long holdId : expired) {
+            Held held = holds.get(holdId);
+            if (held != null) {
+                bookingLocks.withResourceLock(held.hold().resourceId(), () -> release(holdId));
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.debug("{} options expirées", expired.size());
+        }
+    }
+
+    private static BookingSlot toSlot(SlotHold hold) {
+        return new BookingSlot(hold.id(), hold.resourceId(), hold.userId(), hold.startDate(), hold.endDate());
+    }
+
+    private record Held(SlotHold hold, TimingWheel.Timeout<Long> timeout) {}
+}
@@ -0,0 +1,12 @@
+package fr.axel.corpplanner.booking.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publié, sous le verrou de la ressource, quand un créneau occupé redevient libre.
+ */
+public record SlotReleasedEvent(
+        Long resourceId,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {}
@@ -0,0 +1,100 @@
+package fr.axel.corpplanner.booking.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roue temporelle hachée : une échéance est rangée dans la case (tick d'échéance modulo taille),
+ * l'ajout et l'annulation sont en O(1) et avancer d'un tick ne parcourt que la case correspondante.
+ * Une échéance plus lointaine qu'un tour de roue reste dans sa case jusqu'au tour concerné.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final List<Set<Timeout<T>>> buckets;
+    private final int mask;
+
+    // Dernier tick traité
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long originMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("La durée d'un tick et la taille de la roue doivent être positives");
+        }
+        int capacity = 1;
+        while (capacity < wheelSize) {
+            capacity <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.mask = capacity - 1;
+        this.buckets = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            buckets.add(new HashSet<>());
+        }
+    }
+
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long elapsed = deadlineMillis - originMillis;
+        long tick = Math.max(Math.floorDiv(elapsed + tickMillis - 1, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        buckets.get((int) (tick & mask)).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        boolean removed = buckets.get((int) (timeout.deadlineTick & mask)).remove(timeout);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    // Traite les ticks écoulés jusqu'à nowMillis et renvoie les éléments arrivés à échéance
+    public synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        if (target <= currentTick) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        // Après une longue pause, un seul tour de roue suffit à visiter toutes les cases
+        long last = Math.min(target, currentTick + mask + 1);
+        for (long tick = currentTick + 1; tick <= last; tick++) {
+            var it = buckets.get((int) (tick & mask)).iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.deadlineTick <= target) {
+                    it.remove();
+                    size--;
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        currentTick = target;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+    }
+}
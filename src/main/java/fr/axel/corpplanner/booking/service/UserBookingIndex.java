@@ -0,0 +1,102 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index en mémoire des créneaux non annulés, par utilisateur, pour la règle anti-chevauchement.
+ * Alimenté par {@link AvailabilityIndex} à chaque ajout / retrait ; le type de chaque ressource
+ * est gardé à côté pour appliquer les exemptions sans relire la base.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBookingIndex {
+
+    private final ResourceRepository resourceRepository;
+    // Même structure triée que pour une ressource, avec le même coût (voir ResourceTimeline)
+    private final Map<Long, ResourceTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, ResourceType> resourceTypes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadResourceTypes() {
+        resourceTypes.clear();
+        resourceRepository.findAll().forEach(this::registerResource);
+    }
+
+    // Vrai si l'utilisateur occupe déjà, sur [start, end[, une ressource dont le type n'est pas exempté
+    public boolean hasConflict(Long userId, LocalDateTime start, LocalDateTime end, Set<ResourceType> exemptTypes) {
+        ResourceTimeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            return false;
+        }
+        if (exemptTypes.isEmpty()) {
+            return timeline.overlaps(start, end);
+        }
+        // Type inconnu (ressource créée hors API) : le créneau compte
+        return timeline.overlapping(start, end).stream()
+                .map(slot -> resourceTypes.get(slot.resourceId()))
+                .anyMatch(type -> type == null || !exemptTypes.contains(type));
+    }
+
+    // Créneaux de l'utilisateur chevauchant [start, end[ sur une ressource non exemptée, triés par date de début
+    public List<BookingSlot> findOverlapping(Long userId, LocalDateTime start, LocalDateTime end, Set<ResourceType> exemptTypes) {
+        ResourceTimeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            return List.of();
+        }
+        List<BookingSlot> slots = timeline.overlapping(start, end);
+        if (exemptTypes.isEmpty()) {
+            return slots;
+        }
+        return slots.stream()
+                .filter(slot -> {
+                    ResourceType type = resourceTypes.get(slot.resourceId());
+                    return type == null || !exemptTypes.contains(type);
+                })
+                .toList();
+    }
+
+    public void registerResource(Resource resource) {
+        if (resource.getType() != null) {
+            resourceTypes.put(resource.getId(), resource.getType());
+        }
+    }
+
+    void clear() {
+        timelines.clear();
+    }
+
+    void add(BookingSlot slot) {
+        timelines.computeIfAbsent(slot.userId(), id -> new ResourceTimeline()).add(slot);
+    }
+
+    void remove(BookingSlot slot) {
+        ResourceTimeline timeline = timelines.get(slot.userId());
+        if (timeline != null) {
+            timeline.remove(slot);
+        }
+    }
+
+    void addSeries(RecurrenceRule rule) {
+        timelines.computeIfAbsent(rule.userId(), id -> new ResourceTimeline()).addSeries(rule);
+    }
+
+    void removeSeries(Long userId, Long seriesId) {
+        ResourceTimeline timeline = timelines.get(userId);
+        if (timeline != null) {
+            timeline.removeSeries(seriesId);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.domain.UserOverlapPolicy;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.UserOverlapRule;
+import fr.axel.corpplanner.booking.repository.UserOverlapPolicyRepository;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Empêche un utilisateur de réserver deux ressources sur le même créneau.
+ * La règle est gardée en mémoire et la vérification se fait sur {@link UserBookingIndex} :
+ * aucune requête supplémentaire à la création d'une réservation. Chaque vérification se fait sous
+ * {@link BookingLocks#withUserLock}, jusqu'à l'ajout de la réservation à l'index : deux réservations
+ * simultanées du même utilisateur sur deux ressources ne peuvent pas passer toutes les deux.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOverlapService {
+
+    public static final String CONFLICT_MESSAGE = "Vous avez déjà une réservation sur ce créneau.";
+
+    private final UserOverlapPolicyRepository policyRepository;
+    private final UserBookingIndex userIndex;
+
+    // Valeurs par défaut tant qu'aucun administrateur n'a enregistré de règle
+    @Value("${application.booking.user-overlap.enabled:false}")
+    private boolean defaultEnabled;
+
+    @Value("${application.booking.user-overlap.exempt-roles:}")
+    private Set<Role> defaultExemptRoles;
+
+    @Value("${application.booking.user-overlap.exempt-resource-types:}")
+    private Set<ResourceType> defaultExemptResourceTypes;
+
+    private volatile UserOverlapRule rule = new UserOverlapRule(false, Set.of(), Set.of());
+
+    @PostConstruct
+    public void load() {
+        rule = policyRepository.findById(UserOverlapPolicy.SINGLETON_ID)
+                .map(policy -> new UserOverlapRule(policy.isEnabled(), policy.getExemptRoles(), policy.getExemptResourceTypes()))
+                .orElseGet(() -> new UserOverlapRule(defaultEnabled, defaultExemptRoles, defaultExemptResourceTypes));
+    }
+
+    public UserOverlapRule getRule() {
+        return rule;
+    }
+
+    public UserOverlapRule update(UserOverlapRule request) {
+        UserOverlapRule updated = new UserOverlapRule(request.enabled(), request.exemptRoles(), request.exemptResourceTypes());
+        policyRepository.save(UserOverlapPolicy.builder()
+                .id(UserOverlapPolicy.SINGLETON_ID)
+                .enabled(updated.enabled())
+                .exemptRoles(new HashSet<>(updated.exemptRoles()))
+                .exemptResourceTypes(new HashSet<>(updated.exemptResourceTypes()))
+                .build());
+        rule = updated;
+        log.info("Règle anti-chevauchement par utilisateur mise à jour : {}", updated);
+        return updated;
+    }
+
+    public void check(User user, ResourceType type, LocalDateTime start, LocalDateTime end) {
+        if (conflicts(user, type, start, end)) {
+            throw new BookingConflictException(CONFLICT_MESSAGE);
+        }
+    }
+
+    public boolean conflicts(User user, ResourceType type, LocalDateTime start, LocalDateTime end) {
+        UserOverlapRule current = rule;
+        return applies(current, user, type)
+                && userIndex.hasConflict(user.getId(), start, end, current.exemptResourceTypes());
+    }
+
+    // Toutes les occurrences sont confrontées aux créneaux de l'utilisateur en un seul balayage
+    public void checkSeries(User user, ResourceType type, RecurrenceRule series) {
+        UserOverlapRule current = rule;
+        if (!applies(current, user, type)) {
+            return;
+        }
+        List<BookingSlot> busy = userIndex.findOverlapping(user.getId(), series.firstStart(), series.lastEnd(),
+                current.exemptResourceTypes());
+        if (IntervalSweep.anyOverlap(series.occurrences().iterator(), busy.iterator())) {
+            throw new BookingConflictException("Cette série chevauche vos réservations existantes.");
+        }
+    }
+
+    // Faux si la règle ne s'applique pas à cet utilisateur pour ce type de ressource
+    public boolean applies(User user, ResourceType type) {
+        return applies(rule, user, type);
+    }
+
+    private static boolean applies(UserOverlapRule current, User user, ResourceType type) {
+        return current.enabled()
+                && (type == null || !current.exemptResourceTypes().contains(type))
+                && (user.getRoles() == null || Collections.disjoint(current.exemptRoles(), user.getRoles()));
+    }
+}
@@ -0,0 +1,62 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.dto.WaitlistSlot;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listes d'attente en mémoire, par ressource. Les demandes sont persistées
+ * et rechargées au démarrage ; la base reste la source de vérité.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class Waitlist {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final Map<Long, ResourceWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, WaitlistSlot> byId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        waitlists.clear();
+        byId.clear();
+        List<WaitlistSlot> entries = waitlistEntryRepository.findAllWaitingSlots();
+        entries.forEach(this::add);
+        log.info("Listes d'attente chargées : {} demandes sur {} ressources", entries.size(), waitlists.size());
+    }
+
+    public void add(WaitlistSlot entry) {
+        byId.put(entry.id(), entry);
+        waitlists.computeIfAbsent(entry.resourceId(), id -> new ResourceWaitlist()).add(entry);
+    }
+
+    public void remove(Long entryId) {
+        WaitlistSlot entry = byId.remove(entryId);
+        if (entry != null) {
+            ResourceWaitlist waitlist = waitlists.get(entry.resourceId());
+            if (waitlist != null) {
+                waitlist.remove(entry);
+            }
+        }
+    }
+
+    public void removeResource(Long resourceId) {
+        waitlists.remove(resourceId);
+        byId.values().removeIf(entry -> entry.resourceId().equals(resourceId));
+    }
+
+    // Demandes qui chevauchent le créneau libéré, de la plus prioritaire à la moins prioritaire
+    public List<WaitlistSlot> candidates(Long resourceId, LocalDateTime start, LocalDateTime end) {
+        ResourceWaitlist waitlist = waitlists.get(resourceId);
+        return waitlist == null ? List.of() : waitlist.overlapping(start, end);
+    }
+}
@@ -0,0 +1,161 @@
+package fr.axel.corpplanner.booking.service;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.WaitlistEntry;
+import fr.axel.corpplanner.booking.domain.WaitlistStatus;
+import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.dto.WaitlistEntryResponse;
+import fr.axel.corpplanner.booking.dto.WaitlistSlot;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Liste d'attente : une demande porte sur un créneau déjà pris et devient une réservation
+ * dès qu'une annulation le libère, dans l'ordre de priorité puis d'ancienneté.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ResourceRepository resourceRepository;
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final ResourceAvailabilityService resourceAvailability;
+    private final Waitlist waitlist;
+    private final BookingLocks bookingLocks;
+    private final EmailService emailService;
+
+    public WaitlistEntryResponse join(BookingRequest request, UserDetails connectedUser) {
+        User user = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+
+        Resource resource = resourceRepository.findById(request.resourceId())
+                .orElseThrow(() -> new RuntimeException("Ressource introuvable"));
+
+        if (!request.startDate().isBefore(request.endDate())) {
+            throw new RuntimeException("La date de début doit être avant la fin");
+        }
+
+        // Les administrateurs passent devant, à ancienneté égale
+        int priority = user.getRoles().contains(Role.ADMIN) ? 1 : 0;
+
+        WaitlistEntry saved = bookingLocks.withResourceLock(resource.getId(), () -> {
+            if (resourceAvailability.isRetired(resource)) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Cette ressource n'est plus disponible.");
+            }
+            if (!resourceAvailability.isFull(resource, user.getId(), request.startDate(), request.endDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ce créneau est libre : réservez-le directement.");
+            }
+            WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                    .startDate(request.startDate())
+                    .endDate(request.endDate())
+                    .priority(priority)
+                    .resource(resource)
+                    .user(user)
+                    .build());
+            waitlist.add(new WaitlistSlot(entry.getId(), resource.getId(), user.getId(), user.getEmail(),
+                    entry.getStartDate(), entry.getEndDate(), entry.getPriority(), entry.getRequestedAt()));
+            return entry;
+        });
+
+        return mapToResponse(saved);
+    }
+
+    public List<WaitlistEntryResponse> getMine(UserDetails connectedUser) {
+        return waitlistEntryRepository.findAllByUser_EmailOrderByRequestedAtDesc(connectedUser.getUsername()).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public void leave(Long entryId, UserDetails connectedUser) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Demande introuvable"));
+
+        User currentUser = userRepository.findByEmail(connectedUser.getUsername())
+                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
+
+        boolean isOwner = entry.getUser().getId().equals(currentUser.getId());
+        boolean isAdmin = currentUser.getRoles().contains(Role.ADMIN);
+
+        if (!isOwner && !isAdmin) {
+            throw new AccessDeniedException("Vous n'avez pas le droit de retirer cette demande.");
+        }
+
+        bookingLocks.withResourceLock(entry.getResource().getId(), () -> {
+            if (waitlistEntryRepository.close(entryId, WaitlistStatus.CANCELLED, null) == 0) {
+                throw new RuntimeException("Cette demande n'est plus en attente.");
+            }
+            waitlist.remove(entryId);
+        });
+    }
+
+    // Appelé sous le verrou de la ressource : seules les demandes qui chevauchent le créneau libéré sont examinées
+    @EventListener
+    public void onSlotReleased(SlotReleasedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WaitlistSlot candidate : waitlist.candidates(event.resourceId(), event.startDate(), event.endDate())) {
+            if (candidate.startDate().isBefore(now)) {
+                close(candidate, WaitlistStatus.EXPIRED, null);
+                continue;
+            }
+            promote(candidate).ifPresent(booking -> {
+                close(candidate, WaitlistStatus.PROMOTED, booking.getId());
+                emailService.send(candidate.userEmail(), "Votre demande en liste d'attente est confirmée",
+                        "Le créneau du " + candidate.startDate() + " au " + candidate.endDate()
+                                + " s'est libéré : votre réservation a été créée.");
+            });
+        }
+    }
+
+    // Rôles chargés : la règle anti-chevauchement est appliquée à la promotion comme à une réservation directe
+    private Optional<Booking> promote(WaitlistSlot candidate) {
+        try {
+            return userRepository.findById(candidate.userId())
+                    .flatMap(user -> resourceRepository.findById(candidate.resourceId())
+                            .flatMap(resource -> bookingService.createIfFree(
+                                    user, resource, candidate.startDate(), candidate.endDate())));
+        } catch (BookingConflictException | ResponseStatusException e) {
+            // Conflit d'utilisateur ou ressource désactivée entre-temps : la demande reste en attente
+            return Optional.empty();
+        }
+    }
+
+    private void close(WaitlistSlot candidate, WaitlistStatus status, Long bookingId) {
+        waitlistEntryRepository.close(candidate.id(), status, bookingId);
+        waitlist.remove(candidate.id());
+        log.info("Demande {} de liste d'attente : {}", candidate.id(), status);
+    }
+
+    private WaitlistEntryResponse mapToResponse(WaitlistEntry entry) {
+        return new WaitlistEntryResponse(
+                entry.getId(),
+                entry.getStartDate(),
+                entry.getEndDate(),
+                entry.getResource().getName(),
+                entry.getPriority(),
+                entry.getStatus().name(),
+                entry.getBookingId(),
+                entry.getRequestedAt()
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package fr.axel.corpplanner.config;
 
+import fr.axel.corpplanner.security.BoundedPasswordEncoder;
 import fr.axel.corpplanner.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +21,15 @@ public class ApplicationConfig {
 
     private final UserRepository userRepository;
 
+    @Value("${application.security.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${application.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${application.security.password-hashing.retry-after-seconds:2}")
+    private long hashingRetryAfterSeconds;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> userRepository.findByEmail(username)
@@ -40,6 +51,7 @@ public class ApplicationConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                hashingThreads, hashingQueueCapacity, hashingRetryAfterSeconds);
     }
 }
\ No newline at end of file
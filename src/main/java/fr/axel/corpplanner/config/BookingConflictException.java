@@ -1,7 +1,19 @@
 package fr.axel.corpplanner.config;
 
+import fr.axel.corpplanner.booking.dto.BookingAlternatives;
+import lombok.Getter;
+
+@Getter
 public class BookingConflictException extends RuntimeException {
+
+    private final BookingAlternatives alternatives;
+
     public BookingConflictException(String message) {
+        this(message, null);
+    }
+
+    public BookingConflictException(String message, BookingAlternatives alternatives) {
         super(message);
+        this.alternatives = alternatives;
     }
-}
\ No newline at end of file
+}
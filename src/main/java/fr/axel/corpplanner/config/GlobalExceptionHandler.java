@@ -2,6 +2,7 @@ package fr.axel.corpplanner.config;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
@@ -28,12 +30,26 @@ public class GlobalExceptionHandler {
     }
     @ExceptionHandler(BookingConflictException.class)
     public ResponseEntity<Object> handleBookingConflict(BookingConflictException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", 409);
+        body.put("error", "Conflit de réservation");
+        body.put("message", e.getMessage());
+        if (e.getAlternatives() != null) {
+            body.put("alternatives", e.getAlternatives());
+        }
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
-                .body(Map.of(
-                        "status", 409,
-                        "error", "Conflit de réservation",
-                        "message", e.getMessage()
-                ));
+                .body(body);
+    }
+
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<Object> handleRetryLater(RetryLaterException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", e.getStatus().value());
+        body.put("message", e.getMessage());
+        return ResponseEntity
+                .status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(body);
     }
 }
\ No newline at end of file
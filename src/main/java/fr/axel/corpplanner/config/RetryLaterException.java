@@ -0,0 +1,21 @@
+package fr.axel.corpplanner.config;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Requête refusée temporairement (surcharge, trop de tentatives) : renvoyée avec
+ * le statut indiqué et un en-tête Retry-After en secondes.
+ */
+@Getter
+public class RetryLaterException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
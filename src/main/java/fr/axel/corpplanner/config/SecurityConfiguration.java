@@ -1,6 +1,8 @@
 package fr.axel.corpplanner.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.idempotency.IdempotencyFilter;
+import fr.axel.corpplanner.ratelimit.RateLimitFilter;
 import fr.axel.corpplanner.security.JwtAuthenticationFilter;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
@@ -28,6 +30,8 @@ import java.util.Map;
 public class SecurityConfiguration {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
     private final ObjectMapper objectMapper;
 
@@ -65,7 +69,11 @@ public class SecurityConfiguration {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Avant l'authentification : une rafale est refusée avant la vérification du jeton
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                // Après l'authentification : une clé d'idempotence est propre à son utilisateur
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,8 @@
+package fr.axel.corpplanner.email;
+
+public record EmailMessage(
+        String to,
+        String subject,
+        String content
+) {
+}
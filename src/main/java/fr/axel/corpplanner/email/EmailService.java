@@ -13,10 +13,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @Slf4j
 public class EmailService {
 
+    // Limite de l'API Mailjet Send v3.1 : 50 messages par appel
+    static final int MAX_MESSAGES_PER_CALL = 50;
+
     private final MailjetClient mailjetClient;
     private final String fromEmail;
 
@@ -38,17 +43,7 @@ public class EmailService {
     public void send(String to, String subject, String content) {
         try {
             MailjetRequest request = new MailjetRequest(Emailv31.resource)
-                    .property(Emailv31.MESSAGES, new JSONArray()
-                            .put(new JSONObject()
-                                            .put(Emailv31.Message.FROM, new JSONObject()
-                                                    .put("Email", fromEmail)
-                                                    .put("Name", "Corp Planner"))
-                                            .put(Emailv31.Message.TO, new JSONArray()
-                                                    .put(new JSONObject()
-                                                            .put("Email", to)))
-                                            .put(Emailv31.Message.SUBJECT, subject)
-                                            .put(Emailv31.Message.HTMLPART, content)
-                            ));
+                    .property(Emailv31.MESSAGES, new JSONArray().put(message(new EmailMessage(to, subject, content))));
 
             MailjetResponse response = mailjetClient.post(request);
 
@@ -63,4 +58,39 @@ public class EmailService {
             throw new RuntimeException("Erreur critique lors de l'envoi via Mailjet");
         }
     }
-}
\ No newline at end of file
+
+    // Envoi groupé : un appel Mailjet par paquet de 50 messages au lieu d'un appel par destinataire
+    @Async
+    public void sendAll(List<EmailMessage> messages) {
+        for (int from = 0; from < messages.size(); from += MAX_MESSAGES_PER_CALL) {
+            List<EmailMessage> chunk = messages.subList(from, Math.min(from + MAX_MESSAGES_PER_CALL, messages.size()));
+            JSONArray payload = new JSONArray();
+            chunk.forEach(message -> payload.put(message(message)));
+            try {
+                MailjetResponse response = mailjetClient.post(new MailjetRequest(Emailv31.resource)
+                        .property(Emailv31.MESSAGES, payload));
+
+                if (response.getStatus() == 200) {
+                    log.info("{} e-mails envoyés avec succès", chunk.size());
+                } else {
+                    log.error("Erreur Mailjet: Statut {} - Données: {}", response.getStatus(), response.getData());
+                }
+            } catch (MailjetException e) {
+                // Un paquet en échec n'empêche pas l'envoi des suivants
+                log.error("Exception lors de l'envoi groupé de {} e-mails", chunk.size(), e);
+            }
+        }
+    }
+
+    private JSONObject message(EmailMessage message) {
+        return new JSONObject()
+                .put(Emailv31.Message.FROM, new JSONObject()
+                        .put("Email", fromEmail)
+                        .put("Name", "Corp Planner"))
+                .put(Emailv31.Message.TO, new JSONArray()
+                        .put(new JSONObject()
+                                .put("Email", message.to())))
+                .put(Emailv31.Message.SUBJECT, message.subject())
+                .put(Emailv31.Message.HTMLPART, message.content());
+    }
+}
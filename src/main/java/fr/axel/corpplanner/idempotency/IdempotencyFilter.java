@@ -0,0 +1,197 @@
+package fr.axel.corpplanner.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.idempotency.IdempotencyStore.StoredResponse;
+import fr.axel.corpplanner.idempotency.domain.IdempotencyRecord;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * En-tête Idempotency-Key sur les écritures des réservations, des ressources et de l'inscription :
+ * une requête rejouée avec la même clé reçoit la réponse d'origine sans réexécuter le service.
+ * Placé après l'authentification pour qu'une clé soit propre à son utilisateur.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    // Le corps est gardé en mémoire pour son empreinte : au-delà, la requête est refusée sans être lue en entier
+    @Value("${application.idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null || !WRITE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.startsWith("/api/v1/bookings")
+                || path.startsWith("/api/v1/resources")
+                || path.equals("/api/v1/auth/register"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "La clé d'idempotence doit contenir entre 1 et " + MAX_KEY_LENGTH + " caractères.");
+            return;
+        }
+
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, tooLarge());
+            return;
+        }
+        // Content-Length absent (envoi par morceaux) : la lecture s'arrête à un octet au-delà de la limite
+        byte[] requestBody = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (requestBody.length > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, tooLarge());
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, requestBody);
+        String id = sha256((principal() + '\n' + request.getMethod() + ' ' + request.getRequestURI() + '\n' + key)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(cachedRequest.body);
+
+        Optional<StoredResponse> existing = store.reserve(id, requestHash);
+        if (existing.isPresent()) {
+            replay(existing.get(), requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            byte[] body = cachedResponse.getContentAsByteArray();
+            // Les erreurs serveur sont transitoires : la même clé pourra être rejouée pour de bon
+            if (cachedResponse.getStatus() < 500 && body.length <= IdempotencyRecord.MAX_BODY_BYTES) {
+                store.complete(id, requestHash, cachedResponse.getStatus(), cachedResponse.getContentType(), body);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(id);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, String requestHash, HttpServletResponse response) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "Cette clé d'idempotence a déjà servi pour une autre requête.");
+            return;
+        }
+        if (stored.isPending()) {
+            writeError(response, HttpStatus.CONFLICT, "Une requête avec cette clé d'idempotence est en cours de traitement.");
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "status", status.value(),
+                "error", status.getReasonPhrase(),
+                "message", message
+        ));
+    }
+
+    private String tooLarge() {
+        return "Le corps d'une requête avec clé d'idempotence est limité à " + maxBodyBytes + " octets.";
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Le corps est lu d'avance pour calculer son empreinte, puis relu normalement par le contrôleur
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return input.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override public void setReadListener(ReadListener listener) { throw new UnsupportedOperationException(); }
+                @Override public int read() { return input.read(); }
+                @Override public int read(@NonNull byte[] b, int off, int len) { return input.read(b, off, len); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package fr.axel.corpplanner.idempotency;
+
+import fr.axel.corpplanner.idempotency.domain.IdempotencyRecord;
+import fr.axel.corpplanner.idempotency.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Réponses mémorisées par clé d'idempotence : un cache LRU borné en mémoire, avec expiration,
+ * devant la table idempotency_record qui garantit l'unicité d'une clé entre les instances.
+ * Un rejeu servi depuis le cache ne fait aucune requête ; sinon, une seule lecture de cette table.
+ * Une clé en cours n'est réservée que pour un bail court, renouvelé tant que l'instance traite la requête :
+ * une requête lente (lot, série) garde sa clé, mais si l'instance tombe avant d'avoir répondu,
+ * la clé redevient libre à l'expiration du bail au lieu de rester bloquée jusqu'au TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository recordRepository;
+
+    @Value("${application.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${application.idempotency.pending-lease-seconds:60}")
+    private long pendingLeaseSeconds;
+
+    @Value("${application.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    private Map<String, StoredResponse> cache;
+
+    // Clés réservées par cette instance et dont la requête est encore en cours
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Réserve la clé pour une nouvelle requête. Renvoie vide si elle était libre,
+     * sinon la réponse (éventuellement encore en cours) déjà associée à la clé.
+     */
+    public Optional<StoredResponse> reserve(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<StoredResponse> existing = find(id, now);
+        if (existing.isPresent()) {
+            return existing;
+        }
+        LocalDateTime expiresAt = now.plusSeconds(pendingLeaseSeconds);
+        try {
+            recordRepository.insertPending(id, requestHash, expiresAt);
+        } catch (DataIntegrityViolationException e) {
+            // Prise entre-temps par une autre requête ou une autre instance
+            return find(id, now).or(() -> Optional.of(StoredResponse.pending(requestHash, expiresAt)));
+        }
+        cache.put(id, StoredResponse.pending(requestHash, expiresAt));
+        inFlight.add(id);
+        return Optional.empty();
+    }
+
+    // La réponse est conservée pour toute la durée du TTL, à compter de sa mémorisation
+    public void complete(String id, String requestHash, int status, String contentType, byte[] body) {
+        inFlight.remove(id);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        if (recordRepository.complete(id, status, contentType, body, expiresAt) == 0) {
+            cache.remove(id);
+            return;
+        }
+        cache.put(id, new StoredResponse(requestHash, status, contentType, body, expiresAt));
+    }
+
+    // Réponse non mémorisable (erreur serveur) : la clé est libérée pour permettre une nouvelle tentative
+    public void release(String id) {
+        inFlight.remove(id);
+        cache.remove(id);
+        recordRepository.deleteById(id);
+    }
+
+    // Trois renouvellements par bail : un renouvellement manqué ne suffit pas à libérer la clé
+    @Scheduled(fixedDelayString = "#{${application.idempotency.pending-lease-seconds:60} * 1000 / 3}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(inFlight);
+        int renewed = recordRepository.renewPending(ids, LocalDateTime.now().plusSeconds(pendingLeaseSeconds));
+        log.debug("Bail prolongé pour {} clés d'idempotence en cours sur {}", renewed, ids.size());
+    }
+
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-millis:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(response -> response.isExpired(now));
+        }
+        int deleted = recordRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("{} clés d'idempotence expirées supprimées", deleted);
+        }
+    }
+
+    private Optional<StoredResponse> find(String id, LocalDateTime now) {
+        StoredResponse cached = cache.get(id);
+        if (cached != null && !cached.isExpired(now) && !cached.isPending()) {
+            return Optional.of(cached);
+        }
+        // Une entrée en cours peut avoir été terminée par une autre instance : la table fait foi
+        Optional<IdempotencyRecord> record = recordRepository.findById(id);
+        if (record.isPresent() && !record.get().getExpiresAt().isAfter(now)) {
+            // Expirée mais pas encore purgée : la clé redevient libre. Si une autre requête vient de la reprendre,
+            // rien n'est supprimé et l'insertion qui suit échoue sur la clé
+            recordRepository.deleteIfExpired(id, now);
+            return Optional.empty();
+        }
+        Optional<StoredResponse> stored = record.map(StoredResponse::of);
+        stored.filter(response -> !response.isPending()).ifPresent(response -> cache.put(id, response));
+        return stored;
+    }
+
+    public record StoredResponse(
+            String requestHash,
+            Integer status,
+            String contentType,
+            byte[] body,
+            LocalDateTime expiresAt
+    ) {
+        static StoredResponse pending(String requestHash, LocalDateTime expiresAt) {
+            return new StoredResponse(requestHash, null, null, null, expiresAt);
+        }
+
+        static StoredResponse of(IdempotencyRecord record) {
+            return new StoredResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+                    record.getBody(), record.getExpiresAt());
+        }
+
+        boolean isPending() {
+            return status == null;
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package fr.axel.corpplanner.idempotency.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Réponse mémorisée pour une clé Idempotency-Key, partagée entre les instances de l'API.
+ * Une ligne sans statut correspond à une requête encore en cours de traitement.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expiresAt")
+})
+public class IdempotencyRecord {
+
+    // Au-delà, la réponse n'est pas mémorisée (les écritures concernées renvoient de petits objets)
+    public static final int MAX_BODY_BYTES = 1_048_576;
+
+    // Empreinte SHA-256 de (utilisateur, méthode, chemin, clé)
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // Empreinte SHA-256 du corps de la requête : une même clé ne peut pas servir pour une autre requête
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Integer status;
+
+    private String contentType;
+
+    @Column(length = IdempotencyRecord.MAX_BODY_BYTES)
+    private byte[] body;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
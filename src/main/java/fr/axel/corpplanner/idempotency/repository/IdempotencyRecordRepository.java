@@ -0,0 +1,60 @@
+package fr.axel.corpplanner.idempotency.repository;
+
+import fr.axel.corpplanner.idempotency.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Insertion explicite : une clé déjà prise par une autre requête (ou une autre instance) lève une violation de clé
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_record (id, request_hash, expires_at)
+        VALUES (:id, :requestHash, :expiresAt)
+    """, nativeQuery = true)
+    void insertPending(
+            @Param("id") String id,
+            @Param("requestHash") String requestHash,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    // Sans effet si le bail a expiré et que la clé a été reprise puis terminée par une autre requête
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.status = :status, r.contentType = :contentType, r.body = :body, r.expiresAt = :expiresAt
+        WHERE r.id = :id AND r.status IS NULL
+    """)
+    int complete(
+            @Param("id") String id,
+            @Param("status") Integer status,
+            @Param("contentType") String contentType,
+            @Param("body") byte[] body,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    // Prolonge le bail des clés encore en cours ; celles déjà terminées ne sont pas touchées
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt WHERE r.id IN :ids AND r.status IS NULL")
+    int renewPending(@Param("ids") Collection<String> ids, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Sans effet si une autre requête a repris la clé entre la lecture et la suppression
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt <= :now")
+    int deleteIfExpired(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,30 @@
+package fr.axel.corpplanner.ratelimit;
+
+import fr.axel.corpplanner.ratelimit.dto.RateLimitStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/rate-limits")
+@RequiredArgsConstructor
+@Tag(name = "Rate limit")
+public class RateLimitController {
+
+    private final RateLimitFilter rateLimitFilter;
+
+    @GetMapping
+    @Operation(summary = "Compteurs de la limite de débit",
+            description = "Requêtes acceptées, refusées (429) et non suivies depuis le démarrage, par route.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RateLimitStats>> getStats() {
+        return ResponseEntity.ok(rateLimitFilter.stats());
+    }
+}
@@ -0,0 +1,145 @@
+package fr.axel.corpplanner.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.ratelimit.dto.RateLimitStats;
+import fr.axel.corpplanner.security.JwtAuthenticationFilter;
+import fr.axel.corpplanner.security.JwtService;
+import fr.axel.corpplanner.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de débit par route, placée avant JwtAuthenticationFilter : une rafale est refusée (429)
+ * avant toute vérification coûteuse ou tout envoi d'e-mail.
+ * Les réservations sont comptées par utilisateur (IP à défaut de jeton valide), le mot de passe
+ * oublié par IP ; table des clés saturée, cette dernière route refuse les nouvelles IP au lieu de les laisser passer.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${application.rate-limit.bookings.max-requests:120}")
+    private int bookingsMaxRequests;
+
+    @Value("${application.rate-limit.bookings.window-seconds:60}")
+    private long bookingsWindowSeconds;
+
+    @Value("${application.rate-limit.forgot-password.max-requests:5}")
+    private int forgotPasswordMaxRequests;
+
+    @Value("${application.rate-limit.forgot-password.window-seconds:900}")
+    private long forgotPasswordWindowSeconds;
+
+    private List<Route> routes;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private record Route(String pathPrefix, boolean perUser, SlidingWindowLimiter limiter) {
+    }
+
+    @PostConstruct
+    void init() {
+        routes = List.of(
+                new Route("/api/v1/bookings", true,
+                        new SlidingWindowLimiter("bookings", bookingsMaxRequests, bookingsWindowSeconds, maxKeys, false)),
+                new Route("/api/v1/auth/forgot-password", false,
+                        new SlidingWindowLimiter("forgot-password", forgotPasswordMaxRequests, forgotPasswordWindowSeconds, maxKeys, true))
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || findRoute(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Route route = findRoute(request);
+        String key = route.perUser() ? userKey(request) : request.getRemoteAddr();
+
+        long retryAfterMillis = route.limiter().tryAcquire(key, clock.getAsLong());
+        if (retryAfterMillis > 0) {
+            reject(response, retryAfterMillis);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    public List<RateLimitStats> stats() {
+        return routes.stream().map(route -> route.limiter().stats()).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${application.rate-limit.evict-millis:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        routes.forEach(route -> route.limiter().evictIdle(now));
+    }
+
+    // Comparaison sans sous-chaîne : pas d'allocation pour trouver la route
+    private Route findRoute(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        for (Route route : routes) {
+            if (uri.startsWith(route.pathPrefix(), offset)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Le jeton vérifié est transmis à JwtAuthenticationFilter, qui ne le revérifie pas
+    private String userKey(HttpServletRequest request) {
+        String jwt = JwtAuthenticationFilter.extractToken(request);
+        if (jwt != null) {
+            try {
+                VerifiedToken token = jwtService.verify(jwt);
+                if (token.subject() != null) {
+                    request.setAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, token);
+                    return token.subject();
+                }
+            } catch (Exception e) {
+                // Jeton invalide : compté par IP, JwtAuthenticationFilter le rejettera
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "message", "Trop de requêtes. Veuillez réessayer plus tard."
+        ));
+    }
+}
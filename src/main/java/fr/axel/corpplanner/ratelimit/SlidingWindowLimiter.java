@@ -0,0 +1,122 @@
+package fr.axel.corpplanner.ratelimit;
+
+import fr.axel.corpplanner.ratelimit.dto.RateLimitStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite à fenêtre glissante (approximée par la fenêtre courante et la précédente pondérée)
+ * pour une route, par clé (utilisateur ou IP).
+ * L'état d'une clé tient dans un seul AtomicLong mis à jour par compare-and-set : numéro de
+ * fenêtre sur 32 bits, puis compteurs de la fenêtre précédente et courante sur 16 bits chacun.
+ * Aucun verrou, et aucune allocation une fois la clé connue.
+ * Quand la table des clés est pleine, les clés inactives sont évincées ; si elle le reste, une nouvelle clé
+ * passe sans être suivie, ou est refusée sur une route sensible (shedWhenFull) pour ne pas ouvrir la limite
+ * à qui fait tourner ses adresses.
+ */
+final class SlidingWindowLimiter {
+
+    static final int MAX_REQUESTS_LIMIT = 0xFFFF;
+
+    private static final long COUNT_MASK = 0xFFFFL;
+
+    private final String name;
+    private final int maxRequests;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final boolean shedWhenFull;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    // Dernière éviction faite à l'insertion : au plus une par seconde, une rafale de nouvelles clés ne rescanne pas la table
+    private final AtomicLong lastEviction = new AtomicLong();
+
+    SlidingWindowLimiter(String name, int maxRequests, long windowSeconds, int maxKeys, boolean shedWhenFull) {
+        if (maxRequests < 1 || maxRequests > MAX_REQUESTS_LIMIT || windowSeconds < 1) {
+            throw new IllegalArgumentException("Limite invalide pour la route " + name);
+        }
+        this.name = name;
+        this.maxRequests = maxRequests;
+        this.windowMillis = windowSeconds * 1000;
+        this.maxKeys = maxKeys;
+        this.shedWhenFull = shedWhenFull;
+    }
+
+    /**
+     * Compte une requête pour la clé. Renvoie 0 si elle est acceptée, sinon le délai
+     * en millisecondes avant la fin de la fenêtre courante.
+     */
+    long tryAcquire(String key, long nowMillis) {
+        AtomicLong counter = counters.get(key);
+        long window = nowMillis / windowMillis;
+        long elapsed = nowMillis - window * windowMillis;
+        if (counter == null) {
+            if (counters.size() >= maxKeys && !makeRoom(nowMillis)) {
+                untracked.increment();
+                if (shedWhenFull) {
+                    rejected.increment();
+                    return windowMillis - elapsed;
+                }
+                // Route non sensible : la requête passe sans être suivie plutôt que de bloquer tout le monde
+                allowed.increment();
+                return 0;
+            }
+            counter = counters.computeIfAbsent(key, k -> new AtomicLong());
+        }
+
+        while (true) {
+            long state = counter.get();
+            long stateWindow = state >>> 32;
+            long previous;
+            long current;
+            if (stateWindow == window) {
+                previous = (state >>> 16) & COUNT_MASK;
+                current = state & COUNT_MASK;
+            } else if (stateWindow == window - 1) {
+                previous = state & COUNT_MASK;
+                current = 0;
+            } else {
+                previous = 0;
+                current = 0;
+            }
+
+            // previous * (1 - elapsed / window) + current >= max, sans virgule flottante
+            if (previous * (windowMillis - elapsed) + current * windowMillis >= maxRequests * windowMillis) {
+                rejected.increment();
+                return windowMillis - elapsed;
+            }
+            long next = (window << 32) | (previous << 16) | (current + 1);
+            if (counter.compareAndSet(state, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    // Table pleine : évince les clés inactives, au plus une fois par seconde. Vrai s'il y a de nouveau de la place
+    private boolean makeRoom(long nowMillis) {
+        long last = lastEviction.get();
+        if (nowMillis - last >= 1000 && lastEviction.compareAndSet(last, nowMillis)) {
+            evictIdle(nowMillis);
+        }
+        return counters.size() < maxKeys;
+    }
+
+    // Supprime les clés sans requête depuis plus d'une fenêtre : elles ne pèsent plus sur l'estimation
+    int evictIdle(long nowMillis) {
+        long window = nowMillis / windowMillis;
+        int before = counters.size();
+        counters.values().removeIf(counter -> (counter.get() >>> 32) < window - 1);
+        return before - counters.size();
+    }
+
+    RateLimitStats stats() {
+        return new RateLimitStats(name, maxRequests, windowMillis / 1000,
+                allowed.sum(), rejected.sum(), untracked.sum(), counters.size());
+    }
+}
@@ -0,0 +1,12 @@
+package fr.axel.corpplanner.ratelimit.dto;
+
+public record RateLimitStats(
+        String route,
+        int maxRequests,
+        long windowSeconds,
+        long allowed,
+        long rejected,
+        long untracked,
+        int trackedKeys
+) {
+}
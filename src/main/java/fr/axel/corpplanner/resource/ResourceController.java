@@ -1,5 +1,9 @@
 package fr.axel.corpplanner.resource;
 
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.ResourceAvailability;
+import fr.axel.corpplanner.booking.service.FreeSlotService;
+import fr.axel.corpplanner.booking.service.ResourceAvailabilityService;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.domain.ResourceType;
 import fr.axel.corpplanner.resource.dto.ResourceRequest;
@@ -13,11 +17,14 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,6 +34,8 @@ import java.util.List;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final FreeSlotService freeSlotService;
+    private final ResourceAvailabilityService resourceAvailabilityService;
 
     @GetMapping
     @Operation(summary = "Lister les ressources", description = "Récupère les ressources actives avec pagination.")
@@ -38,6 +47,22 @@ public class ResourceController {
         return ResponseEntity.ok(resourceService.findAll(type, pageable));
     }
 
+    @GetMapping("/free-slots")
+    @Operation(summary = "Trouver des créneaux libres", description = "Renvoie les premières fenêtres libres d'au moins la durée demandée (ISO-8601, ex. PT1H) parmi les ressources correspondantes.")
+    @ApiResponse(responseCode = "200", description = "Succès")
+    @ApiResponse(responseCode = "400", description = "Paramètres invalides")
+    public ResponseEntity<List<FreeSlot>> findFreeSlots(
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String location,
+            @RequestParam Duration duration,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(freeSlotService.findFreeSlots(type, minCapacity, location, duration, from, to, limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Détail d'une ressource", description = "Récupère les details d'une ressources actives.")
     @ApiResponse(responseCode = "200", description = "Succès")
@@ -45,6 +70,18 @@ public class ResourceController {
         return ResponseEntity.ok(resourceService.findById(id));
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Disponibilité d'une ressource", description = "Nombre d'unités encore libres sur la fenêtre (ex. 3 sur 20 pour un pool).")
+    @ApiResponse(responseCode = "200", description = "Succès")
+    @ApiResponse(responseCode = "400", description = "Paramètres invalides")
+    public ResponseEntity<ResourceAvailability> getAvailability(
+            @PathVariable long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(resourceAvailabilityService.getAvailability(id, from, to));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Créer une ressource", description = "Nécessite le rôle ADMIN.")
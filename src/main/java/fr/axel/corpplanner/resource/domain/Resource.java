@@ -24,4 +24,12 @@ public class Resource {
     private Boolean active = true;
 
     private String location;
+
+    // Pool (ex. 20 ordinateurs portables) : jusqu'à capacity réservations simultanées au lieu d'une seule
+    @Builder.Default
+    private Boolean pooled = false;
+
+    public int concurrentLimit() {
+        return Boolean.TRUE.equals(pooled) && capacity != null && capacity > 1 ? capacity : 1;
+    }
 }
\ No newline at end of file
@@ -15,5 +15,8 @@ public record ResourceRequest(
         @Min(value = 1, message = "La capacité minimum est 1")
         Integer capacity,
 
-        String location
+        String location,
+
+        // Si true, la ressource accepte jusqu'à capacity réservations simultanées
+        Boolean pooled
 ) {}
\ No newline at end of file
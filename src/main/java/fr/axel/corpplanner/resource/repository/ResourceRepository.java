@@ -5,10 +5,27 @@ import fr.axel.corpplanner.resource.domain.ResourceType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     Page<Resource> findAllByTypeAndActiveTrue(ResourceType type, Pageable pageable);
 
     Page<Resource> findAllByActiveTrue(Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Resource r
+        WHERE r.active = true
+        AND (:type IS NULL OR r.type = :type)
+        AND (:minCapacity IS NULL OR r.capacity >= :minCapacity)
+        AND (:location IS NULL OR LOWER(r.location) = LOWER(:location))
+        ORDER BY r.capacity, r.id
+    """)
+    List<Resource> findMatching(
+            @Param("type") ResourceType type,
+            @Param("minCapacity") Integer minCapacity,
+            @Param("location") String location
+    );
 }
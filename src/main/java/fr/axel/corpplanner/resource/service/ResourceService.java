@@ -1,5 +1,8 @@
 package fr.axel.corpplanner.resource.service;
 
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.ResourceDeactivationService;
+import fr.axel.corpplanner.booking.service.UserBookingIndex;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.domain.ResourceType;
 import fr.axel.corpplanner.resource.dto.ResourceRequest;
@@ -15,6 +18,9 @@ import org.springframework.stereotype.Service;
 public class ResourceService {
 
     private final ResourceRepository resourceRepository;
+    private final UserBookingIndex userBookingIndex;
+    private final ResourceDeactivationService resourceDeactivation;
+    private final OccupancyGrid occupancyGrid;
 
     public Page<Resource> findAll(ResourceType type, Pageable pageable) {
         if (type != null) {
@@ -34,9 +40,13 @@ public class ResourceService {
                 .type(request.type())
                 .capacity(request.capacity())
                 .location(request.location())
+                .pooled(Boolean.TRUE.equals(request.pooled()))
                 .active(true)
                 .build();
-        return resourceRepository.save(resource);
+        Resource saved = resourceRepository.save(resource);
+        userBookingIndex.registerResource(saved);
+        occupancyGrid.registerResource(saved);
+        return saved;
     }
 
     public Resource update(Long id, ResourceRequest request) {
@@ -46,13 +56,19 @@ public class ResourceService {
         existing.setType(request.type());
         existing.setCapacity(request.capacity());
         existing.setLocation(request.location());
+        existing.setPooled(Boolean.TRUE.equals(request.pooled()));
 
-        return resourceRepository.save(existing);
+        Resource saved = resourceRepository.save(existing);
+        userBookingIndex.registerResource(saved);
+        occupancyGrid.registerResource(saved);
+        return saved;
     }
 
     public void delete(Long id) {
         Resource resource = findById(id);
         resource.setActive(false);
         resourceRepository.save(resource);
+        // Les réservations à venir n'ont plus d'objet : annulées et signalées à leurs auteurs
+        resourceDeactivation.cancelFutureBookings(resource);
     }
 }
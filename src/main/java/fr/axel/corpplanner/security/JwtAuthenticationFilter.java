@@ -16,13 +16,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String TOKEN_COOKIE = "accessToken";
+    // Jeton déjà vérifié plus tôt dans la chaîne (RateLimitFilter) : pas de seconde vérification
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = VerifiedToken.class.getName();
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(
@@ -31,17 +38,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String jwt = null;
-        final String userEmail;
-
-        if (request.getCookies() != null) {
-            for (Cookie cookie : request.getCookies()) {
-                if ("accessToken".equals(cookie.getName())) {
-                    jwt = cookie.getValue();
-                    break;
-                }
-            }
-        }
+        String jwt = extractToken(request);
 
         if (jwt == null) {
             filterChain.doFilter(request, response);
@@ -49,21 +46,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Signature et expiration vérifiées une seule fois (ou servies par le cache de JwtService)
+            VerifiedToken token = request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE) instanceof VerifiedToken verified
+                    ? verified
+                    : jwtService.verify(jwt);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Jeton révoqué (déconnexion, famille de refresh tokens compromise) : requête anonyme
+            if (revocationList.isRevoked(token.tokenId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolvePrincipal(token);
+                if (!userDetails.isEnabled()) {
+                    filterChain.doFilter(request, response);
+                    return;
                 }
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             logger.warn("JWT Authentication failed: " + e.getMessage());
@@ -71,4 +79,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    public static String extractToken(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (TOKEN_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    // Sans cache, le principal vient des claims : aucune requête SQL ; les anciens jetons sans claims relisent l'utilisateur
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (principalCache.isEnabled()) {
+            return principalCache.get(token.subject(), userDetailsService::loadUserByUsername);
+        }
+        Optional<TokenPrincipal> principal = TokenPrincipal.from(token);
+        return principal.isPresent() ? principal.get() : userDetailsService.loadUserByUsername(token.subject());
+    }
 }
\ No newline at end of file
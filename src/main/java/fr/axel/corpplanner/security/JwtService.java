@@ -1,14 +1,25 @@
 package fr.axel.corpplanner.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +28,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
+    // Identifiant unique du jeton (claim standard jti), utilisé par la liste de révocation
+    public static final String TOKEN_ID_CLAIM = Claims.ID;
+
     // On injecte ici la valeur définie dans application.properties
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
@@ -24,8 +38,64 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // Nombre de jetons déjà vérifiés gardés en mémoire (LRU), chacun jusqu'à son expiration
+    @Value("${application.security.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize = 10000;
+
+    // Construits une fois au démarrage : la clé n'est plus décodée ni le parseur recréé à chaque requête
+    private Key signInKey;
+    private JwtParser parser;
+    private Map<String, VerifiedToken> verified;
+
+    @PostConstruct
+    public void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        verified = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Vérifie signature et expiration en un seul passage. Un jeton déjà vérifié est servi depuis le cache
+     * (clé : empreinte SHA-256 du jeton) jusqu'à son expiration.
+     *
+     * @throws JwtException si le jeton est invalide ou expiré
+     */
+    public VerifiedToken verify(String token) {
+        String hash = sha256(token);
+        Instant now = Instant.now();
+        VerifiedToken cached = verified.get(hash);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verified.remove(hash);
+        }
+        VerifiedToken parsed = parse(token);
+        verified.put(hash, parsed);
+        return parsed;
+    }
+
+    // Vérification complète sans cache (une seule validation HMAC)
+    VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Jeton sans date d'expiration");
+        }
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant(),
+                claims
+        );
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -41,45 +111,44 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    public long getExpiration() {
+        return jwtExpiration;
+    }
+
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration
     ) {
+        Object tokenId = extraClaims.get(TOKEN_ID_CLAIM);
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(tokenId != null ? tokenId.toString() : UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        try {
+            return verify(token).subject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.config.RetryLaterException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs d'échecs de connexion par compte et par adresse IP, sur une fenêtre fixe.
+ * Une tentative sur un compte ou une IP ayant dépassé son seuil est refusée (429) avant
+ * tout calcul de hachage. Chaque compteur tient dans un seul AtomicLong (début de fenêtre
+ * en secondes sur les 32 bits de poids fort, nombre d'échecs sur les 32 bits de poids faible),
+ * mis à jour par compare-and-set : aucun verrou sur le chemin de connexion.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final String ACCOUNT_PREFIX = "account:";
+    private static final String IP_PREFIX = "ip:";
+
+    @Value("${application.security.login-throttle.max-account-failures:5}")
+    private int maxAccountFailures;
+
+    @Value("${application.security.login-throttle.max-ip-failures:20}")
+    private int maxIpFailures;
+
+    @Value("${application.security.login-throttle.window-seconds:300}")
+    private long windowSeconds;
+
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    public void checkAllowed(String email, String clientIp) {
+        long now = nowSeconds();
+        long retryAfter = Math.max(
+                retryAfter(accountKey(email), maxAccountFailures, now),
+                retryAfter(ipKey(clientIp), maxIpFailures, now));
+        if (retryAfter > 0) {
+            throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Trop de tentatives de connexion. Veuillez réessayer plus tard.", retryAfter);
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = nowSeconds();
+        increment(accountKey(email), now);
+        increment(ipKey(clientIp), now);
+    }
+
+    // Une connexion réussie efface les échecs du compte ; ceux de l'IP expirent avec leur fenêtre
+    public void recordSuccess(String email) {
+        String key = accountKey(email);
+        if (key != null) {
+            failures.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.login-throttle.purge-millis:60000}")
+    public void purgeExpired() {
+        long now = nowSeconds();
+        failures.entrySet().removeIf(entry -> isExpired(entry.getValue().get(), now));
+    }
+
+    private long retryAfter(String key, int maxFailures, long now) {
+        if (key == null) {
+            return 0;
+        }
+        AtomicLong counter = failures.get(key);
+        if (counter == null) {
+            return 0;
+        }
+        long state = counter.get();
+        if (isExpired(state, now) || count(state) < maxFailures) {
+            return 0;
+        }
+        return Math.max(1, windowStart(state) + windowSeconds - now);
+    }
+
+    private void increment(String key, long now) {
+        if (key == null) {
+            return;
+        }
+        AtomicLong counter = failures.computeIfAbsent(key, k -> new AtomicLong(pack(now, 0)));
+        long state;
+        long next;
+        do {
+            state = counter.get();
+            next = isExpired(state, now) ? pack(now, 1) : state + 1;
+        } while (!counter.compareAndSet(state, next));
+    }
+
+    private boolean isExpired(long state, long now) {
+        return now - windowStart(state) >= windowSeconds;
+    }
+
+    private static long pack(long windowStart, int count) {
+        return (windowStart << 32) | count;
+    }
+
+    private static long windowStart(long state) {
+        return state >>> 32;
+    }
+
+    private static int count(long state) {
+        return (int) state;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static String accountKey(String email) {
+        return email == null ? null : ACCOUNT_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp == null ? null : IP_PREFIX + clientIp;
+    }
+}
@@ -0,0 +1,64 @@
+package fr.axel.corpplanner.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache optionnel des utilisateurs connectés, pour les déploiements qui doivent refuser immédiatement
+ * un compte désactivé ou dont les rôles ont changé. Borné (LRU) et à durée de vie courte ;
+ * {@link fr.axel.corpplanner.user.UserService} invalide l'entrée d'un utilisateur modifié.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${application.security.principal-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.security.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${application.security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private Map<String, Entry> entries;
+
+    @PostConstruct
+    void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        Instant now = Instant.now();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt().isAfter(now)) {
+            return entry.principal();
+        }
+        UserDetails principal = loader.apply(email);
+        entries.put(email, new Entry(principal, now.plusSeconds(ttlSeconds)));
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        entries.remove(email);
+    }
+
+    private record Entry(UserDetails principal, Instant expiresAt) {
+    }
+}
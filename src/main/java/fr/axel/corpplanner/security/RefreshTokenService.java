@@ -0,0 +1,149 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.security.domain.RefreshToken;
+import fr.axel.corpplanner.security.repository.RefreshTokenRepository;
+import fr.axel.corpplanner.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opaques à rotation : chaque utilisation en émet un nouveau dans la même famille.
+ * Un jeton déjà utilisé ou révoqué qui revient est traité comme volé : la famille entière est révoquée,
+ * ainsi que les jetons d'accès qu'elle a émis.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${application.security.jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    public long getExpiration() {
+        return refreshExpiration;
+    }
+
+    /**
+     * Crée un refresh token. familyId vaut null à la connexion (nouvelle famille),
+     * ou la famille du jeton remplacé lors d'une rotation.
+     *
+     * @return le jeton à remettre au client (seule son empreinte est stockée)
+     */
+    @Transactional
+    public String create(User user, String familyId, String accessTokenId, LocalDateTime accessExpiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(sha256(token))
+                .familyId(familyId != null ? familyId : UUID.randomUUID().toString())
+                .user(user)
+                .accessTokenId(accessTokenId)
+                .accessExpiresAt(accessExpiresAt)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consomme un refresh token et renvoie la ligne correspondante (utilisateur et rôles chargés).
+     * Le passage à « utilisé » est une mise à jour conditionnelle : de deux requêtes concurrentes
+     * avec le même jeton, une seule l'emporte et l'autre est traitée comme une réutilisation.
+     * La révocation d'une famille sur réutilisation est validée malgré l'exception levée.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public RefreshToken consume(String token) {
+        if (token == null || token.isBlank()) {
+            throw invalid();
+        }
+        RefreshToken refreshToken = refreshTokenRepository.findWithUserById(sha256(token))
+                .orElseThrow(RefreshTokenService::invalid);
+
+        if (refreshToken.isUsed() || refreshToken.isRevoked()) {
+            throw reused(refreshToken);
+        }
+        if (refreshToken.isExpired() || !refreshToken.getUser().isEnabled()) {
+            throw invalid();
+        }
+        if (refreshTokenRepository.markUsed(refreshToken.getId()) == 0) {
+            throw reused(refreshToken);
+        }
+        refreshToken.setUsed(true);
+        return refreshToken;
+    }
+
+    // Déconnexion : le jeton présenté et toute sa famille deviennent inutilisables
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findById(sha256(token))
+                .ifPresent(refreshToken -> revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    // Mot de passe réinitialisé : toutes les sessions de l'utilisateur, et leurs jetons d'accès, sont fermées
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.findActiveFamilyIds(user.getId()).forEach(this::revokeFamily);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.purge-millis:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("{} refresh token(s) expiré(s) supprimé(s)", deleted);
+        }
+    }
+
+    // Seule la requête qui révoque effectivement la famille inscrit ses jetons d'accès dans la liste de révocation
+    private void revokeFamily(String familyId) {
+        if (refreshTokenRepository.revokeFamily(familyId) == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.findByFamilyId(familyId).stream()
+                .filter(refreshToken -> refreshToken.getAccessExpiresAt() != null && refreshToken.getAccessExpiresAt().isAfter(now))
+                .forEach(refreshToken -> revocationList.revoke(refreshToken.getAccessTokenId(), refreshToken.getAccessExpiresAt()));
+    }
+
+    private ResponseStatusException reused(RefreshToken refreshToken) {
+        log.warn("Réutilisation d'un refresh token : révocation de la famille {}", refreshToken.getFamilyId());
+        revokeFamily(refreshToken.getFamilyId());
+        return invalid();
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Session expirée. Veuillez vous reconnecter.");
+    }
+
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
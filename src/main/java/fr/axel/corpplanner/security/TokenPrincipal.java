@@ -0,0 +1,53 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.user.domain.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utilisateur connecté reconstruit à partir des claims du jeton (id, e-mail, rôles), sans lecture en base.
+ * Mêmes autorités que {@link fr.axel.corpplanner.user.domain.User} : ROLE_ suivi du nom du rôle.
+ */
+public record TokenPrincipal(
+        Long id,
+        String email,
+        Set<Role> roles
+) implements UserDetails {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
+    public TokenPrincipal {
+        roles = Set.copyOf(roles);
+    }
+
+    // Vide pour un jeton émis sans ces claims (avant leur introduction) : il faut alors relire l'utilisateur
+    public static Optional<TokenPrincipal> from(VerifiedToken token) {
+        if (!(token.claims().get(USER_ID_CLAIM) instanceof Number id)
+                || !(token.claims().get(ROLES_CLAIM) instanceof List<?> roles)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenPrincipal(
+                id.longValue(),
+                token.subject(),
+                roles.stream().map(role -> Role.valueOf(role.toString())).collect(Collectors.toSet())
+        ));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+    }
+
+    @Override public String getPassword() { return null; }
+    @Override public String getUsername() { return email; }
+}
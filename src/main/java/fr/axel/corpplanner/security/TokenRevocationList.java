@@ -0,0 +1,106 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.security.domain.RevokedToken;
+import fr.axel.corpplanner.security.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jetons d'accès révoqués, consultés à chaque requête authentifiée sans requête SQL :
+ * un filtre de Bloom écarte la quasi-totalité des jetons valides, et seul un résultat positif
+ * est confirmé dans l'ensemble exact gardé en mémoire. Les révocations des autres instances
+ * sont lues de façon incrémentale dans la table revoked_token.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Recouvrement entre deux synchronisations : une révocation validée tardivement n'est pas manquée
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${application.security.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private LocalDateTime lastSync;
+
+    @PostConstruct
+    void init() {
+        bloomFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        sync();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    // Inscrit en mémoire seulement une fois la transaction appelante validée : une révocation annulée
+    // ne laisse pas cette instance refuser un jeton que les autres acceptent
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (tokenId == null || revoked.containsKey(tokenId) || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.insertIfAbsent(tokenId, expiresAt, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(tokenId, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(tokenId, expiresAt);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.sync-millis:5000}",
+            initialDelayString = "${application.security.revocation.sync-millis:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // Premier passage : toute la table ; ensuite, seulement les lignes récentes
+        List<RevokedToken> tokens = lastSync == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findActiveCreatedSince(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), now);
+        tokens.forEach(token -> add(token.getTokenId(), token.getExpiresAt()));
+        lastSync = now;
+    }
+
+    // Les jetons expirés sortent de l'ensemble et de la table ; le filtre, qui ne permet pas
+    // de suppression, est reconstruit à partir des jetons restants
+    @Scheduled(fixedDelayString = "${application.security.revocation.purge-millis:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        synchronized (this) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+        if (deleted > 0) {
+            log.info("{} jeton(s) révoqué(s) expiré(s) supprimé(s)", deleted);
+        }
+    }
+
+    // L'ensemble exact avant le filtre : un jeton présent dans le filtre est toujours confirmé
+    private synchronized void add(String tokenId, LocalDateTime expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+}
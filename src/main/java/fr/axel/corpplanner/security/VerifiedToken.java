@@ -0,0 +1,28 @@
+package fr.axel.corpplanner.security;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Jeton dont la signature et l'expiration ont été vérifiées une fois : les claims se lisent ensuite sans reparser.
+ */
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims
+) {
+    public VerifiedToken {
+        claims = Map.copyOf(claims);
+    }
+
+    // Absent des jetons émis avant l'ajout de la révocation
+    public String tokenId() {
+        Object id = claims.get(JwtService.TOKEN_ID_CLAIM);
+        return id == null ? null : id.toString();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
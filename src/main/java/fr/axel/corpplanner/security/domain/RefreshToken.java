@@ -0,0 +1,53 @@
+package fr.axel.corpplanner.security.domain;
+
+import fr.axel.corpplanner.user.domain.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token à usage unique. Chaque rotation crée un nouveau jeton dans la même famille :
+ * présenter un jeton déjà utilisé signale un vol, et toute la famille est révoquée.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken {
+
+    // Empreinte SHA-256 du jeton remis au client : le jeton lui-même n'est jamais stocké
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Jeton d'accès émis avec ce refresh token, révoqué avec la famille
+    @Column(length = 36)
+    private String accessTokenId;
+
+    private LocalDateTime accessExpiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private boolean used;
+
+    private boolean revoked;
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
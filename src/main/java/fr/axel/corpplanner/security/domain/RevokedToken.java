@@ -0,0 +1,35 @@
+package fr.axel.corpplanner.security.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jeton d'accès révoqué avant son expiration (déconnexion, vol de refresh token détecté).
+ * La ligne peut être supprimée une fois le jeton expiré : il serait de toute façon refusé.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "idx_revoked_token_created_at", columnList = "createdAt"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt")
+})
+public class RevokedToken {
+
+    // Claim jti du jeton d'accès
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Sert à la synchronisation incrémentale des autres instances
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package fr.axel.corpplanner.security.repository;
+
+import fr.axel.corpplanner.security.domain.RefreshToken;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // L'utilisateur et ses rôles servent à émettre le nouveau jeton d'accès
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    Optional<RefreshToken> findWithUserById(String id);
+
+    List<RefreshToken> findByFamilyId(String familyId);
+
+    @Query("SELECT DISTINCT r.familyId FROM RefreshToken r WHERE r.user.id = :userId AND r.revoked = false")
+    List<String> findActiveFamilyIds(@Param("userId") Long userId);
+
+    // Consommation atomique : 0 ligne si le jeton a déjà été utilisé ou révoqué, y compris par une requête concurrente
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.used = true WHERE r.id = :id AND r.used = false AND r.revoked = false")
+    int markUsed(@Param("id") String id);
+
+    // 0 ligne si la famille a déjà été révoquée, y compris par une requête concurrente
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,39 @@
+package fr.axel.corpplanner.security.repository;
+
+import fr.axel.corpplanner.security.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Sans effet si le jeton est déjà inscrit (autre requête, autre instance) : aucune violation de clé
+    // ne vient annuler la transaction appelante
+    @Transactional
+    @Modifying
+    @Query("""
+        INSERT INTO RevokedToken (tokenId, expiresAt, createdAt)
+        VALUES (:tokenId, :expiresAt, :createdAt)
+        ON CONFLICT DO NOTHING
+    """)
+    int insertIfAbsent(
+            @Param("tokenId") String tokenId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    @Query("SELECT r FROM RevokedToken r WHERE r.createdAt >= :since AND r.expiresAt > :now")
+    List<RevokedToken> findActiveCreatedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
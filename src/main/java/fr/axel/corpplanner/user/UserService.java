@@ -1,5 +1,6 @@
 package fr.axel.corpplanner.user;
 
+import fr.axel.corpplanner.security.PrincipalCache;
 import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.dto.UserResponse;
@@ -16,10 +17,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     public UserResponse updateUser(Long id, UserUpdateRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        String previousEmail = user.getEmail();
 
         if (request.getEmail() != null) {
             user.setEmail(request.getEmail());
@@ -48,6 +51,9 @@ public class UserService {
         }
 
         User userSaved = userRepository.save(user);
+        // L'utilisateur connecté en cache porte l'ancien e-mail ou les anciens rôles
+        principalCache.invalidate(previousEmail);
+        principalCache.invalidate(userSaved.getEmail());
         return mapToResponse(userSaved);
     }
 
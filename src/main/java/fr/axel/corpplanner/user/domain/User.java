@@ -38,7 +38,8 @@ public class User implements UserDetails {
 
     private boolean enabled = true;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Chargés à la demande : les requêtes qui en ont besoin les joignent (voir UserRepository)
+    @ElementCollection(fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role")
@@ -1,9 +1,19 @@
 package fr.axel.corpplanner.user.repository;
 
 import fr.axel.corpplanner.user.domain.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findById(Long id);
+
+    long countByIdIn(Collection<Long> ids);
+}
@@ -1,12 +1,15 @@
 package fr.axel.corpplanner.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.config.RetryLaterException;
 import fr.axel.corpplanner.email.EmailService;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -36,9 +39,9 @@ class AuthenticationControllerTest {
     @DisplayName("Login : Doit retourner un cookie accessToken")
     void loginShouldReturnCookie() throws Exception {
         AuthenticationRequest request = new AuthenticationRequest("test@test.com", "password");
-        AuthenticationResponse response = new AuthenticationResponse("fake-jwt-token");
+        AuthenticationResponse response = new AuthenticationResponse("fake-jwt-token", "fake-refresh-token");
 
-        when(authService.authenticate(any())).thenReturn(response);
+        when(authService.authenticate(any(), any())).thenReturn(response);
 
         mockMvc.perform(post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -46,15 +49,48 @@ class AuthenticationControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(cookie().exists("accessToken"))
                 .andExpect(cookie().httpOnly("accessToken", true))
+                .andExpect(cookie().value("refreshToken", "fake-refresh-token"))
+                .andExpect(cookie().path("refreshToken", "/api/v1/auth"))
                 .andExpect(jsonPath("$.message").value("Connexion réussie"));
     }
 
+    @Test
+    @DisplayName("Refresh : Doit renouveler les deux cookies à partir du refresh token")
+    void refreshShouldRotateCookies() throws Exception {
+        when(authService.refresh("old-refresh"))
+                .thenReturn(new AuthenticationResponse("new-jwt", "new-refresh"));
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .cookie(new Cookie("refreshToken", "old-refresh")))
+                .andExpect(status().isOk())
+                .andExpect(cookie().value("accessToken", "new-jwt"))
+                .andExpect(cookie().value("refreshToken", "new-refresh"));
+    }
+
+    @Test
+    @DisplayName("Login : Doit renvoyer 503 et Retry-After si le hachage est saturé")
+    void loginShouldReturnRetryAfterWhenOverloaded() throws Exception {
+        AuthenticationRequest request = new AuthenticationRequest("test@test.com", "password");
+        when(authService.authenticate(any(), any()))
+                .thenThrow(new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE, "Serveur saturé", 2));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(cookie().doesNotExist("accessToken"));
+    }
+
     @Test
     @DisplayName("Logout : Doit supprimer le cookie")
     void logoutShouldClearCookie() throws Exception {
-        mockMvc.perform(post("/api/v1/auth/logout"))
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .cookie(new Cookie("accessToken", "jwt"), new Cookie("refreshToken", "refresh")))
                 .andExpect(status().isOk())
-                .andExpect(cookie().maxAge("accessToken", 0));
+                .andExpect(cookie().maxAge("accessToken", 0))
+                .andExpect(cookie().maxAge("refreshToken", 0));
+        verify(authService).logout("jwt", "refresh");
     }
 
     @Test
@@ -2,8 +2,13 @@ package fr.axel.corpplanner.auth;
 
 import fr.axel.corpplanner.email.EmailService;
 import fr.axel.corpplanner.security.JwtService;
+import fr.axel.corpplanner.security.LoginAttemptLimiter;
+import fr.axel.corpplanner.security.RefreshTokenService;
+import fr.axel.corpplanner.security.TokenRevocationList;
 import fr.axel.corpplanner.security.VerificationService;
+import fr.axel.corpplanner.security.domain.RefreshToken;
 import fr.axel.corpplanner.security.domain.TokenType;
+import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +18,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -32,6 +40,9 @@ class AuthenticationServiceTest {
     @Mock private AuthenticationManager authenticationManager;
     @Mock private VerificationService verificationService;
     @Mock private EmailService emailService;
+    @Mock private LoginAttemptLimiter loginAttemptLimiter;
+    @Mock private RefreshTokenService refreshTokenService;
+    @Mock private TokenRevocationList revocationList;
 
     @InjectMocks private AuthenticationService authService;
 
@@ -106,18 +117,62 @@ class AuthenticationServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Reset Password : les sessions ouvertes sont toutes révoquées")
+    void resetPassword_ShouldRevokeSessions() {
+        User user = User.builder().id(1L).email("vrai@test.com").build();
+        when(verificationService.validateToken("123", TokenType.PASSWORD_RESET)).thenReturn(user);
+        when(passwordEncoder.encode("newPass")).thenReturn("encoded");
+
+        authService.resetPassword("vrai@test.com", "123", "newPass");
+
+        assertThat(user.getPassword()).isEqualTo("encoded");
+        verify(refreshTokenService).revokeAll(user);
+    }
+
     @Test
     @DisplayName("Authentification : Succès")
     void authenticateSuccess() {
         AuthenticationRequest request = new AuthenticationRequest("test@test.com", "password");
-        User user = User.builder().email("test@test.com").build();
+        User user = User.builder().id(1L).email("test@test.com").roles(Set.of(Role.EMPLOYEE)).build();
 
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
-        when(jwtService.generateToken(user)).thenReturn("fake-jwt");
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("fake-jwt");
+        when(refreshTokenService.create(eq(user), isNull(), anyString(), any())).thenReturn("fake-refresh");
 
-        AuthenticationResponse response = authService.authenticate(request);
+        AuthenticationResponse response = authService.authenticate(request, "10.0.0.1");
 
         assertThat(response.getToken()).isEqualTo("fake-jwt");
-        verify(authenticationManager).authenticate(any());
+        assertThat(response.getRefreshToken()).isEqualTo("fake-refresh");
+        verify(loginAttemptLimiter).recordSuccess("test@test.com");
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Refresh : Nouvelle paire émise dans la famille du jeton consommé")
+    void refreshShouldKeepFamily() {
+        User user = User.builder().id(1L).email("test@test.com").roles(Set.of(Role.EMPLOYEE)).build();
+        RefreshToken consumed = RefreshToken.builder().familyId("family-1").user(user).build();
+        when(refreshTokenService.consume("old-refresh")).thenReturn(consumed);
+        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("new-jwt");
+        when(refreshTokenService.create(eq(user), eq("family-1"), anyString(), any())).thenReturn("new-refresh");
+
+        AuthenticationResponse response = authService.refresh("old-refresh");
+
+        assertThat(response.getToken()).isEqualTo("new-jwt");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh");
+    }
+
+    @Test
+    @DisplayName("Authentification : Un échec est compté puis relancé")
+    void authenticateFailureIsRecorded() {
+        AuthenticationRequest request = new AuthenticationRequest("test@test.com", "wrong");
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        assertThrows(BadCredentialsException.class, () -> authService.authenticate(request, "10.0.0.1"));
+
+        verify(loginAttemptLimiter).recordFailure("test@test.com", "10.0.0.1");
+        verify(jwtService, never()).generateToken(anyMap(), any());
     }
 }
\ No newline at end of file
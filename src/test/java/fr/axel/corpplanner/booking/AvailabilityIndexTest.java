@@ -0,0 +1,107 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.UserBookingIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 15, 0, 0);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+    @Mock private UserBookingIndex userBookingIndex;
+    @InjectMocks private AvailabilityIndex availabilityIndex;
+
+    @Test
+    @DisplayName("Devrait charger les créneaux actifs au démarrage")
+    void shouldLoadActiveSlots() {
+        when(bookingRepository.findAllActiveSlots()).thenReturn(List.of(
+                new BookingSlot(1L, 10L, 1L, DAY.withHour(9), DAY.withHour(10))
+        ));
+
+        availabilityIndex.load();
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.withHour(9).withMinute(30), DAY.withHour(11))).isTrue();
+        assertThat(availabilityIndex.hasConflict(11L, DAY.withHour(9), DAY.withHour(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Des créneaux qui se touchent ne sont pas en conflit")
+    void adjacentSlotsShouldNotConflict() {
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, DAY.withHour(9), DAY.withHour(10)));
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.withHour(10), DAY.withHour(11))).isFalse();
+        assertThat(availabilityIndex.hasConflict(10L, DAY.withHour(8), DAY.withHour(9))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Un long créneau commencé bien avant doit être détecté")
+    void shouldDetectLongSlotStartingEarlier() {
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, DAY.minusDays(3), DAY.plusDays(3)));
+        availabilityIndex.add(new BookingSlot(2L, 10L, 1L, DAY.plusDays(4), DAY.plusDays(4).plusHours(1)));
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.withHour(14), DAY.withHour(15))).isTrue();
+        assertThat(availabilityIndex.findOverlapping(10L, DAY, DAY.plusDays(5)))
+                .extracting(BookingSlot::id)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Un créneau retiré de l'index libère la ressource")
+    void removedSlotShouldFreeResource() {
+        BookingSlot slot = new BookingSlot(1L, 10L, 1L, DAY.withHour(9), DAY.withHour(10));
+        availabilityIndex.add(slot);
+
+        availabilityIndex.remove(slot);
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.withHour(9), DAY.withHour(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Les occurrences d'une série occupent la ressource sans être stockées")
+    void seriesOccurrencesShouldConflict() {
+        BookingSeries series = BookingSeries.builder()
+                .id(7L)
+                .startDate(DAY.withHour(9))
+                .endDate(DAY.withHour(10))
+                .frequency(Recurrence.DAILY)
+                .repeatEvery(1)
+                .occurrenceCount(5)
+                .resource(Resource.builder().id(10L).build())
+                .user(User.builder().id(1L).build())
+                .build();
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, DAY.plusDays(1).withHour(11), DAY.plusDays(1).withHour(12)));
+
+        availabilityIndex.addSeries(series);
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.plusDays(4).withHour(9).withMinute(30), DAY.plusDays(4).withHour(11))).isTrue();
+        assertThat(availabilityIndex.hasConflict(10L, DAY.plusDays(5).withHour(9), DAY.plusDays(5).withHour(10))).isFalse();
+        assertThat(availabilityIndex.findOverlapping(10L, DAY.plusDays(1), DAY.plusDays(2)))
+                .extracting(BookingSlot::seriesId)
+                .containsExactly(7L, null);
+
+        availabilityIndex.removeSeries(series);
+
+        assertThat(availabilityIndex.hasConflict(10L, DAY.plusDays(4).withHour(9), DAY.plusDays(4).withHour(10))).isFalse();
+    }
+}
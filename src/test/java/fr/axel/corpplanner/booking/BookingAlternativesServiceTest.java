@@ -0,0 +1,132 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.dto.BookingAlternatives;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.dto.TimeWindow;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.BookingAlternativesService;
+import fr.axel.corpplanner.booking.service.ResourceAvailabilityService;
+import fr.axel.corpplanner.booking.service.SlotHolds;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAlternativesServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 10, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    @Mock private AvailabilityIndex availabilityIndex;
+    @Mock private SlotHolds slotHolds;
+    @Mock private ResourceAvailabilityService resourceAvailability;
+    @Mock private ResourceRepository resourceRepository;
+
+    @InjectMocks private BookingAlternativesService alternativesService;
+
+    private Resource roomA;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(alternativesService, "count", 2);
+        ReflectionTestUtils.setField(alternativesService, "horizonHours", 4L);
+        roomA = Resource.builder().id(1L).name("Salle A").type(ResourceType.ROOM).capacity(8).location("Paris").build();
+    }
+
+    @Test
+    @DisplayName("Propose les créneaux libres les plus proches avant et après le créneau pris")
+    void shouldSuggestNearestWindowsOnSameResource() {
+        when(availabilityIndex.findOverlapping(1L, START.minusHours(4), END.plusHours(4))).thenReturn(List.of(
+                new BookingSlot(10L, 1L, 5L, START.minusHours(1), START.plusHours(2))
+        ));
+
+        BookingAlternatives alternatives = alternativesService.suggest(roomA, START, END, 7L);
+
+        assertThat(alternatives.sameResource()).containsExactly(
+                new TimeWindow(START.minusHours(2), START.minusHours(1)),
+                new TimeWindow(START.plusHours(2), START.plusHours(3))
+        );
+    }
+
+    @Test
+    @DisplayName("Les options des autres utilisateurs sont aussi évitées")
+    void shouldAvoidOtherUsersHolds() {
+        when(availabilityIndex.findOverlapping(1L, START.minusHours(4), END.plusHours(4))).thenReturn(List.of(
+                new BookingSlot(10L, 1L, 5L, START, END)
+        ));
+        when(slotHolds.findOverlapping(1L, START.minusHours(4), END.plusHours(4), 7L)).thenReturn(List.of(
+                new BookingSlot(1L, 1L, 6L, END, END.plusHours(1))
+        ));
+
+        BookingAlternatives alternatives = alternativesService.suggest(roomA, START, END, 7L);
+
+        assertThat(alternatives.sameResource()).containsExactly(
+                new TimeWindow(START.minusHours(1), START),
+                new TimeWindow(END.plusHours(1), END.plusHours(2))
+        );
+    }
+
+    @Test
+    @DisplayName("Sur un pool, un créneau reste proposé tant qu'une unité est libre")
+    void shouldSuggestPoolWindowsWhileAUnitIsFree() {
+        Resource screens = Resource.builder().id(1L).name("Écrans").type(ResourceType.HARDWARE).capacity(2).pooled(true).build();
+        when(availabilityIndex.findOverlapping(1L, START.minusHours(4), END.plusHours(4))).thenReturn(List.of(
+                new BookingSlot(10L, 1L, 5L, START.minusHours(1), START.plusHours(2)),
+                new BookingSlot(11L, 1L, 6L, START.plusMinutes(30), END.plusHours(1))
+        ));
+
+        BookingAlternatives alternatives = alternativesService.suggest(screens, START, END, 7L);
+
+        // Les deux unités ne sont prises ensemble que de START + 30 min à START + 2 h
+        assertThat(alternatives.sameResource()).containsExactly(
+                new TimeWindow(START.minusMinutes(30), START.plusMinutes(30)),
+                new TimeWindow(START.plusHours(2), START.plusHours(3))
+        );
+    }
+
+    @Test
+    @DisplayName("Propose les ressources équivalentes libres, hors ressource demandée")
+    void shouldSuggestFreeEquivalentResources() {
+        Resource roomB = Resource.builder().id(2L).name("Salle B").type(ResourceType.ROOM).capacity(10).location("Paris").build();
+        Resource roomC = Resource.builder().id(3L).name("Salle C").type(ResourceType.ROOM).capacity(12).location("Paris").build();
+        when(resourceRepository.findMatching(ResourceType.ROOM, 8, "Paris")).thenReturn(List.of(roomA, roomB, roomC));
+        when(resourceAvailability.isFull(any(), eq(7L), eq(START), eq(END)))
+                .thenAnswer(inv -> inv.<Resource>getArgument(0).getId().equals(2L));
+        when(availabilityIndex.findOverlapping(eq(1L), any(), any())).thenReturn(List.of());
+
+        BookingAlternatives alternatives = alternativesService.suggest(roomA, START, END, 7L);
+
+        assertThat(alternatives.equivalentResources()).containsExactly(new FreeSlot(3L, "Salle C", START, END));
+    }
+
+    @Test
+    @DisplayName("Ressource sans site : aucune ressource équivalente n'est proposée")
+    void shouldNotSuggestEquivalentResourcesWithoutLocation() {
+        Resource nowhere = Resource.builder().id(1L).name("Salle A").type(ResourceType.ROOM).capacity(8).build();
+        when(availabilityIndex.findOverlapping(eq(1L), any(), any())).thenReturn(List.of());
+
+        BookingAlternatives alternatives = alternativesService.suggest(nowhere, START, END, 7L);
+
+        assertThat(alternatives.equivalentResources()).isEmpty();
+        verify(resourceRepository, never()).findMatching(any(), any(), any());
+    }
+}
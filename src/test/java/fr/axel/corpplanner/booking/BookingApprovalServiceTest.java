@@ -0,0 +1,137 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.ApprovalQueuePage;
+import fr.axel.corpplanner.booking.dto.ApprovalResponse;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.PendingBookingResponse;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.BookingApprovalService;
+import fr.axel.corpplanner.booking.service.BookingLocks;
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingApprovalServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 4, 1, 9, 0);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private AvailabilityIndex availabilityIndex;
+    @Mock private OccupancyGrid occupancyGrid;
+    @Spy private BookingLocks bookingLocks = new BookingLocks();
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookingApprovalService bookingApprovalService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingApprovalService, "maxBatchSize", 500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(new SimpleTransactionStatus()));
+    }
+
+    @Test
+    @DisplayName("Un refus groupé verrouille, passe par un seul UPDATE et libère seulement les créneaux annulés")
+    void rejectShouldUpdateOnceAndReleaseSlots() {
+        runTransactionsInline();
+        BookingSlot first = new BookingSlot(1L, 10L, 5L, DAY, DAY.plusHours(1));
+        BookingSlot second = new BookingSlot(2L, 11L, 5L, DAY, DAY.plusHours(2));
+        when(bookingRepository.lockWaitingSlots(Set.of(1L, 2L, 3L))).thenReturn(List.of(first, second));
+        when(bookingRepository.updateWaitingStatus(List.of(1L, 2L), Status.CANCELLED)).thenReturn(2);
+
+        ApprovalResponse response = bookingApprovalService.reject(List.of(1L, 2L, 3L));
+
+        assertThat(response.updated()).isEqualTo(2);
+        assertThat(response.skipped()).containsExactly(3L);
+        verify(bookingRepository, times(1)).updateWaitingStatus(any(), any());
+        verify(bookingRepository, never()).save(any());
+        verify(availabilityIndex).remove(first);
+        verify(availabilityIndex).remove(second);
+        verifyNoMoreInteractions(availabilityIndex);
+        verify(occupancyGrid).refresh(10L, DAY, DAY.plusHours(1));
+        verify(occupancyGrid).refresh(11L, DAY, DAY.plusHours(2));
+    }
+
+    @Test
+    @DisplayName("Une validation groupée ne touche pas à l'index de disponibilité")
+    void confirmShouldKeepSlotsOccupied() {
+        runTransactionsInline();
+        BookingSlot slot = new BookingSlot(1L, 10L, 5L, DAY, DAY.plusHours(1));
+        when(bookingRepository.lockWaitingSlots(Set.of(1L))).thenReturn(List.of(slot));
+        when(bookingRepository.updateWaitingStatus(List.of(1L), Status.CONFIRMED)).thenReturn(1);
+
+        ApprovalResponse response = bookingApprovalService.confirm(List.of(1L));
+
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(response.skipped()).isEmpty();
+        verifyNoInteractions(availabilityIndex, occupancyGrid);
+    }
+
+    @Test
+    @DisplayName("Un refus sans ligne encore en attente ne met rien à jour et ne touche pas à l'index")
+    void rejectShouldSkipUpdateWhenNothingWaiting() {
+        runTransactionsInline();
+        when(bookingRepository.lockWaitingSlots(Set.of(1L))).thenReturn(List.of());
+
+        ApprovalResponse response = bookingApprovalService.reject(List.of(1L));
+
+        assertThat(response.updated()).isZero();
+        assertThat(response.skipped()).containsExactly(1L);
+        verify(bookingRepository, never()).updateWaitingStatus(any(), any());
+        verifyNoInteractions(availabilityIndex, occupancyGrid, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("La file renvoie un curseur quand il reste des réservations en attente")
+    void queueShouldReturnCursorWhenMoreRows() {
+        List<PendingBookingResponse> rows = List.of(
+                new PendingBookingResponse(1L, DAY, DAY.plusHours(1), 10L, "Salle A", "a@corp.com", DAY.minusDays(2)),
+                new PendingBookingResponse(2L, DAY, DAY.plusHours(1), 11L, "Salle B", "b@corp.com", DAY.minusDays(1)),
+                new PendingBookingResponse(3L, DAY, DAY.plusHours(1), 12L, "Salle C", "c@corp.com", DAY)
+        );
+        when(bookingRepository.findWaitingPage(null, null, null, PageRequest.of(0, 3))).thenReturn(rows);
+
+        ApprovalQueuePage page = bookingApprovalService.getQueue(null, null, 2);
+
+        assertThat(page.items()).extracting(PendingBookingResponse::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Un lot vide est refusé")
+    void shouldRejectEmptyBatch() {
+        assertThrows(ResponseStatusException.class, () -> bookingApprovalService.confirm(List.of()));
+        verifyNoInteractions(bookingRepository);
+    }
+}
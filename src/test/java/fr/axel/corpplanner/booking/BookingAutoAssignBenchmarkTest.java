@@ -0,0 +1,152 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.AutoBookingRequest;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.service.BookingService;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Attribution automatique concurrente sur un parc de 500 salles : débit et absence de chevauchement.
+ * Lancé uniquement avec le profil Maven benchmark (mvn test -Pbenchmark).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingAutoAssignBenchmarkTest {
+
+    private static final int ROOMS = 500;
+    private static final int REQUESTS = 20_000;
+    private static final int THREADS = 16;
+    private static final String LOCATION = "Siège benchmark";
+    private static final LocalDateTime DAY = LocalDateTime.of(2041, 6, 3, 8, 0);
+
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockitoBean private EmailService emailService;
+
+    private User user;
+    private final List<Resource> rooms = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("bench-auto@corp.com")
+                .password("pass")
+                .roles(new HashSet<>(Set.of(Role.EMPLOYEE)))
+                .enabled(true)
+                .build());
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(resourceRepository.save(Resource.builder()
+                    .name("Salle bench " + i)
+                    .type(ResourceType.ROOM)
+                    .capacity(2 + i % 19)
+                    .location(LOCATION)
+                    .active(true)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        Set<Long> ids = rooms.stream().map(Resource::getId).collect(Collectors.toSet());
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(b -> ids.contains(b.getResource().getId()))
+                .toList());
+        resourceRepository.deleteAll(rooms);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("500 salles : débit d'attribution best-fit sous concurrence")
+    void autoAssignThroughput() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        // 40 créneaux d'une heure sur une journée, capacités demandées de 2 à 12
+        for (int i = 0; i < REQUESTS; i++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(40));
+                AutoBookingRequest request = new AutoBookingRequest(start, start.plusHours(1),
+                        ResourceType.ROOM, 2 + random.nextInt(11), LOCATION);
+                try {
+                    bookingService.createBookingAnyResource(request, user);
+                    created.incrementAndGet();
+                } catch (BookingConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long begin = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("Attribution automatique : %d requêtes sur %d salles en %.2fs (%.0f req/s), %d créées, %d sans salle libre%n",
+                REQUESTS, ROOMS, seconds, REQUESTS / seconds, created.get(), conflicts.get());
+
+        Set<Long> ids = rooms.stream().map(Resource::getId).collect(Collectors.toSet());
+        Map<Long, List<Booking>> byRoom = bookingRepository.findAll().stream()
+                .filter(b -> ids.contains(b.getResource().getId()))
+                .filter(b -> b.getStatus() != Status.CANCELLED)
+                .collect(Collectors.groupingBy(b -> b.getResource().getId()));
+
+        int persisted = 0;
+        for (List<Booking> bookings : byRoom.values()) {
+            bookings.sort(Comparator.comparing(Booking::getStartDate));
+            persisted += bookings.size();
+            for (int i = 1; i < bookings.size(); i++) {
+                assertThat(bookings.get(i).getStartDate()).isAfterOrEqualTo(bookings.get(i - 1).getEndDate());
+            }
+        }
+        assertThat(persisted).isEqualTo(created.get());
+        assertThat(created.get() + conflicts.get()).isEqualTo(REQUESTS);
+    }
+}
@@ -0,0 +1,106 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.dto.BookingBatchItemResult;
+import fr.axel.corpplanner.booking.dto.BookingBatchResponse;
+import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.mapper.BookingMapper;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSchemaInitializer;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.BookingBatchService;
+import fr.axel.corpplanner.booking.service.BookingLocks;
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.SlotHolds;
+import fr.axel.corpplanner.booking.service.UserOverlapService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingBatchServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 4, 1, 9, 0);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private BookingMapper bookingMapper;
+    @Mock private AvailabilityIndex availabilityIndex;
+    @Mock private OccupancyGrid occupancyGrid;
+    @Mock private SlotHolds slotHolds;
+    @Spy private BookingLocks bookingLocks = new BookingLocks();
+    @Mock private UserOverlapService userOverlap;
+    @Mock private BookingSchemaInitializer bookingSchema;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private Validator validator;
+
+    @InjectMocks
+    private BookingBatchService bookingBatchService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingBatchService, "maxBatchSize", 500);
+        user = User.builder().id(5L).email("employee@corp.com").roles(Set.of(Role.EMPLOYEE)).build();
+    }
+
+    @Test
+    @DisplayName("Lot : l'échec d'une ressource n'efface pas les réservations déjà enregistrées des autres")
+    @SuppressWarnings("unchecked")
+    void shouldReportCommittedItemsWhenAnotherResourceFails() {
+        Resource room = Resource.builder().id(10L).name("Salle A").type(ResourceType.ROOM).build();
+        Resource car = Resource.builder().id(11L).name("Voiture 1").type(ResourceType.VEHICLE).build();
+        when(userRepository.findByEmail("employee@corp.com")).thenReturn(Optional.of(user));
+        when(resourceRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(room, car));
+        when(validator.validate(any(BookingRequest.class))).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(new SimpleTransactionStatus());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(bookingRepository.saveAll(anyCollection()))
+                .thenReturn(List.of())
+                .thenThrow(new DataAccessResourceFailureException("connexion perdue"));
+
+        BookingBatchResponse response = bookingBatchService.createBookings(List.of(
+                new BookingRequest(DAY, DAY.plusHours(1), 10L),
+                new BookingRequest(DAY, DAY.plusHours(1), 11L)
+        ), user);
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.results()).extracting(BookingBatchItemResult::status)
+                .containsExactly(BookingBatchItemResult.CREATED, BookingBatchItemResult.FAILED);
+        verify(availabilityIndex, times(1)).add(any(Booking.class));
+    }
+}
@@ -0,0 +1,149 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.service.BookingService;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de charge, exclu du build courant (mvn test -Pbenchmark -Dtest=BookingConcurrencyStressTest).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyStressTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 16;
+    private static final int RESOURCES = 4;
+    private static final LocalDateTime DAY = LocalDateTime.of(2031, 3, 10, 0, 0);
+
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockitoBean private EmailService emailService;
+
+    private User user;
+    private final List<Resource> resources = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("stress@corp.com")
+                .password("pass")
+                .roles(new HashSet<>(Set.of(Role.EMPLOYEE)))
+                .enabled(true)
+                .build());
+        for (int i = 0; i < RESOURCES; i++) {
+            resources.add(resourceRepository.save(Resource.builder()
+                    .name("Salle stress " + i)
+                    .type(ResourceType.ROOM)
+                    .capacity(4)
+                    .active(true)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        resources.forEach(resource -> bookingRepository.deleteAll(bookingsOf(resource)));
+        resourceRepository.deleteAll(resources);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Des milliers de réservations concurrentes ne doivent jamais se chevaucher")
+    void concurrentBookingsShouldNeverOverlap() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Resource resource = resources.get(random.nextInt(RESOURCES));
+                LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(64));
+                BookingRequest request = new BookingRequest(start, start.plusMinutes(15L * (1 + random.nextInt(8))), resource.getId());
+                try {
+                    bookingService.createBooking(request, user);
+                    created.incrementAndGet();
+                } catch (BookingConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long begin = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("Stress réservation : %d requêtes en %.2fs (%.0f req/s), %d créées, %d conflits%n",
+                REQUESTS, seconds, REQUESTS / seconds, created.get(), conflicts.get());
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(REQUESTS);
+        assertThat(created.get()).isPositive();
+
+        int persisted = 0;
+        for (Resource resource : resources) {
+            List<Booking> bookings = bookingsOf(resource);
+            persisted += bookings.size();
+            for (int i = 1; i < bookings.size(); i++) {
+                assertThat(bookings.get(i).getStartDate())
+                        .as("Chevauchement sur %s", resource.getName())
+                        .isAfterOrEqualTo(bookings.get(i - 1).getEndDate());
+            }
+        }
+        assertThat(persisted).isEqualTo(created.get());
+    }
+
+    private List<Booking> bookingsOf(Resource resource) {
+        return bookingRepository.findAll().stream()
+                .filter(b -> b.getResource().getId().equals(resource.getId()))
+                .filter(b -> b.getStatus() != Status.CANCELLED)
+                .sorted(Comparator.comparing(Booking::getStartDate))
+                .toList();
+    }
+}
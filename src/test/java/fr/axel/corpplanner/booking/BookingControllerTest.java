@@ -1,10 +1,15 @@
 package fr.axel.corpplanner.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.Recurrence;
 import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.AutoBookingRequest;
 import fr.axel.corpplanner.booking.dto.BookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingSeriesRequest;
 import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
 import fr.axel.corpplanner.email.EmailService;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.domain.ResourceType;
@@ -22,12 +27,22 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -39,6 +54,7 @@ class BookingControllerTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private BookingRepository bookingRepository;
+    @Autowired private AvailabilityIndex availabilityIndex;
     @Autowired private ResourceRepository resourceRepository;
     @Autowired private UserRepository userRepository;
 
@@ -99,7 +115,7 @@ class BookingControllerTest {
     @DisplayName("Devrait refuser une réservation en conflit de date (409)")
     @WithMockUser(username = "employee@corp.com")
     void shouldRejectConflictingBooking() throws Exception {
-        bookingRepository.save(Booking.builder()
+        saveIndexed(Booking.builder()
                 .startDate(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0))
                 .endDate(LocalDateTime.now().plusDays(1).withHour(12).withMinute(0))
                 .resource(meetingRoom)
@@ -120,6 +136,160 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.error").value("Conflit de réservation"));
     }
 
+    @Test
+    @DisplayName("Lot : crée les éléments libres et signale les conflits internes et existants")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldCreateBookingsInBatch() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(5).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        saveIndexed(Booking.builder()
+                .startDate(day.withHour(8))
+                .endDate(day.withHour(9))
+                .resource(meetingRoom)
+                .user(user)
+                .status(Status.CONFIRMED)
+                .build());
+
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(day.withHour(10), day.withHour(11), meetingRoom.getId()),
+                new BookingRequest(day.withHour(10).withMinute(30), day.withHour(12), meetingRoom.getId()),
+                new BookingRequest(day.withHour(8).withMinute(30), day.withHour(9).withMinute(30), meetingRoom.getId()),
+                new BookingRequest(day.withHour(11), day.withHour(12), meetingRoom.getId()),
+                new BookingRequest(day.withHour(14), day.withHour(15), 999_999L)
+        );
+
+        mockMvc.perform(post("/api/v1/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].booking.resourceName").value("Salle A"))
+                .andExpect(jsonPath("$.results[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[2].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[3].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[4].status").value("INVALID"));
+
+        assertThat(bookingRepository.findActiveSlotsInRange(meetingRoom.getId(), day, day.plusDays(1))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Lot : un lot vide est refusé (400)")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Série : création puis fusion des occurrences dans mes réservations")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldCreateSeriesAndListOccurrences() throws Exception {
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(2).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        bookingRepository.save(Booking.builder()
+                .startDate(monday.plusDays(1))
+                .endDate(monday.plusDays(1).plusHours(1))
+                .resource(meetingRoom)
+                .user(user)
+                .status(Status.CONFIRMED)
+                .build());
+
+        BookingSeriesRequest request = new BookingSeriesRequest(
+                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.WEEKLY, 1, null, 3);
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.frequency").value("WEEKLY"))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+
+        mockMvc.perform(get("/api/v1/bookings/mine"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].seriesId").isNotEmpty())
+                .andExpect(jsonPath("$[1].id").isNotEmpty())
+                .andExpect(jsonPath("$[2].seriesId").isNotEmpty())
+                .andExpect(jsonPath("$[3].seriesId").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Série : refusée si une occurrence chevauche une réservation existante (409)")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldRejectConflictingSeries() throws Exception {
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(2).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        saveIndexed(Booking.builder()
+                .startDate(monday.plusWeeks(2).plusMinutes(30))
+                .endDate(monday.plusWeeks(2).plusHours(2))
+                .resource(meetingRoom)
+                .user(user)
+                .status(Status.CONFIRMED)
+                .build());
+
+        BookingSeriesRequest request = new BookingSeriesRequest(
+                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.WEEKLY, 1, monday.toLocalDate().plusWeeks(5), null);
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Série : trop d'occurrences, un intervalle démesuré ou un horizon de plus de deux ans sont refusés (400)")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldRejectUnboundedSeries() throws Exception {
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(2).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingSeriesRequest(
+                                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.DAILY, 1, null, 1_000_000))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingSeriesRequest(
+                                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.WEEKLY, 1, monday.toLocalDate().plusYears(3), null))))
+                .andExpect(status().isBadRequest());
+
+        // Intervalle démesuré : refusé avant tout calcul de date (plus de 500)
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingSeriesRequest(
+                                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.WEEKLY, Integer.MAX_VALUE, null, 2))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingSeriesRequest(
+                                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.WEEKLY, 730, null, 2))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Série : une réservation ponctuelle sur une occurrence est refusée (409)")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldRejectBookingOverlappingSeries() throws Exception {
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(3).withHour(14).withMinute(0).withSecond(0).withNano(0);
+        BookingSeriesRequest series = new BookingSeriesRequest(
+                monday, monday.plusHours(1), meetingRoom.getId(), Recurrence.DAILY, 1, null, 30);
+
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(series)))
+                .andExpect(status().isCreated());
+
+        BookingRequest request = new BookingRequest(monday.plusDays(12).plusMinutes(30), monday.plusDays(12).plusHours(2), meetingRoom.getId());
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Devrait permettre au propriétaire d'annuler sa réservation")
     @WithMockUser(username = "employee@corp.com")
@@ -190,6 +360,600 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("La liste ADMIN est paginée par curseur, réservations et occurrences fusionnées")
+    @WithMockUser(username = "admin@corp.com", roles = {"ADMIN"})
+    void shouldPaginateAllBookingsWithCursor() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(5).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int hour : new int[]{9, 10}) {
+            bookingRepository.save(Booking.builder()
+                    .startDate(day.withHour(hour))
+                    .endDate(day.withHour(hour).plusMinutes(30))
+                    .resource(meetingRoom)
+                    .user(user)
+                    .status(Status.CONFIRMED)
+                    .build());
+        }
+        BookingSeriesRequest series = new BookingSeriesRequest(
+                day.plusDays(1).withHour(8), day.plusDays(1).withHour(9), meetingRoom.getId(), Recurrence.DAILY, 1, null, 2);
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(series)))
+                .andExpect(status().isCreated());
+
+        String firstPage = mockMvc.perform(get("/api/v1/bookings")
+                        .param("resourceId", meetingRoom.getId().toString())
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].id").isNotEmpty())
+                .andExpect(jsonPath("$.items[2].seriesId").isNotEmpty())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/bookings")
+                        .param("resourceId", meetingRoom.getId().toString())
+                        .param("size", "3")
+                        .param("cursor", objectMapper.readTree(firstPage).get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].startDate").value(day.plusDays(2).withHour(8).toString() + ":00"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Pagination : séries en cours et séries à venir se suivent dans l'ordre, page après page")
+    @WithMockUser(username = "admin@corp.com", roles = {"ADMIN"})
+    void shouldPaginateSeriesStartingAcrossPages() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(40).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        List<BookingSeriesRequest> seriesList = List.of(
+                new BookingSeriesRequest(day, day.plusHours(1), meetingRoom.getId(), Recurrence.DAILY, 1, null, 4),
+                new BookingSeriesRequest(day.plusDays(1).withHour(10), day.plusDays(1).withHour(11), meetingRoom.getId(), Recurrence.WEEKLY, 1, null, 2),
+                new BookingSeriesRequest(day.plusDays(2).withHour(10), day.plusDays(2).withHour(11), meetingRoom.getId(), Recurrence.WEEKLY, 1, null, 2),
+                new BookingSeriesRequest(day.plusDays(3).withHour(10), day.plusDays(3).withHour(11), meetingRoom.getId(), Recurrence.WEEKLY, 1, null, 2));
+        for (BookingSeriesRequest series : seriesList) {
+            mockMvc.perform(post("/api/v1/bookings/series")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(series)))
+                    .andExpect(status().isCreated());
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder page = get("/api/v1/bookings")
+                    .param("resourceId", meetingRoom.getId().toString())
+                    .param("size", "2");
+            if (cursor != null) {
+                page.param("cursor", cursor);
+            }
+            JsonNode body = objectMapper.readTree(mockMvc.perform(page)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("items").forEach(item -> starts.add(LocalDateTime.parse(item.get("startDate").asText())));
+            cursor = body.hasNonNull("nextCursor") ? body.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(starts).hasSize(10).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("La liste ADMIN filtre par statut et refuse un curseur invalide")
+    @WithMockUser(username = "admin@corp.com", roles = {"ADMIN"})
+    void shouldFilterAllBookingsByStatus() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(6).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (Status status : new Status[]{Status.CONFIRMED, Status.CANCELLED}) {
+            bookingRepository.save(Booking.builder()
+                    .startDate(day)
+                    .endDate(day.plusHours(1))
+                    .resource(meetingRoom)
+                    .user(user)
+                    .status(status)
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/v1/bookings")
+                        .param("resourceId", meetingRoom.getId().toString())
+                        .param("status", "CANCELLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CANCELLED"));
+
+        mockMvc.perform(get("/api/v1/bookings").param("cursor", "pas-un-curseur"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Un ADMIN peut exporter les réservations en flux CSV")
+    @WithMockUser(username = "admin@corp.com", roles = {"ADMIN"})
+    void shouldStreamExportAsAdmin() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/bookings/export")
+                        .param("format", "CSV")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string(startsWith("id,seriesId,startDate")));
+    }
+
+    @Test
+    @DisplayName("L'export est réservé aux ADMIN (403)")
+    @WithMockUser(username = "employee@corp.com", roles = {"EMPLOYEE"})
+    void shouldRestrictExport() throws Exception {
+        mockMvc.perform(get("/api/v1/bookings/export")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Un ADMIN valide et refuse des réservations en attente ; un refus libère le créneau")
+    @WithMockUser(username = "employee@corp.com")
+    void adminShouldApproveAndRejectWaitingBookings() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(8).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        long first = createBooking(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()));
+        long second = createBooking(new BookingRequest(day.plusHours(2), day.plusHours(3), meetingRoom.getId()));
+
+        mockMvc.perform(get("/api/v1/bookings/approvals")
+                        .param("resourceId", meetingRoom.getId().toString())
+                        .with(user("admin@corp.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(first))
+                .andExpect(jsonPath("$.items[0].userEmail").value("employee@corp.com"));
+
+        mockMvc.perform(post("/api/v1/bookings/approvals/confirm")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + first + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mockMvc.perform(post("/api/v1/bookings/approvals/reject")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + first + ", " + second + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.skipped[0]").value(first));
+
+        assertThat(bookingRepository.findById(first).orElseThrow().getStatus()).isEqualTo(Status.CONFIRMED);
+        assertThat(bookingRepository.findById(second).orElseThrow().getStatus()).isEqualTo(Status.CANCELLED);
+
+        createBooking(new BookingRequest(day.plusHours(2), day.plusHours(3), meetingRoom.getId()));
+    }
+
+    @Test
+    @DisplayName("La file d'approbation est réservée aux ADMIN (403)")
+    @WithMockUser(username = "employee@corp.com", roles = {"EMPLOYEE"})
+    void employeeShouldNotSeeApprovalQueue() throws Exception {
+        mockMvc.perform(get("/api/v1/bookings/approvals"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Une annulation promeut automatiquement la première demande en liste d'attente")
+    @WithMockUser(username = "employee@corp.com")
+    void cancellationShouldPromoteWaitlistEntry() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(9).withHour(14).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest request = new BookingRequest(day, day.plusHours(1), meetingRoom.getId());
+
+        mockMvc.perform(post("/api/v1/bookings/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        long bookingId = createBooking(request);
+
+        mockMvc.perform(post("/api/v1/bookings/waitlist")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.priority").value(1));
+
+        mockMvc.perform(delete("/api/v1/bookings/" + bookingId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/bookings/waitlist/mine")
+                        .with(user("admin@corp.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("PROMOTED"))
+                .andExpect(jsonPath("$[0].bookingId").isNumber());
+
+        verify(emailService).send(eq("admin@corp.com"), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Une option bloque le créneau pour les autres puis se transforme en réservation")
+    @WithMockUser(username = "employee@corp.com")
+    void holdShouldBlockOthersUntilConfirmed() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(10).withHour(11).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest request = new BookingRequest(day, day.plusHours(1), meetingRoom.getId());
+
+        String held = mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.expiresAt").exists())
+                .andReturn().getResponse().getContentAsString();
+        long holdId = objectMapper.readTree(held).get("id").asLong();
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.alternatives.sameResource[0].startDate").exists())
+                .andExpect(jsonPath("$.alternatives.equivalentResources").isArray());
+
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm")
+                        .with(user("admin@corp.com").roles("ADMIN")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resourceName").value("Salle A"));
+
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Réserver directement un créneau lève ses propres options dessus")
+    @WithMockUser(username = "employee@corp.com")
+    void directBookingShouldReleaseOwnHolds() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(11).withHour(11).withMinute(0).withSecond(0).withNano(0);
+
+        String held = mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(day, day.plusHours(2), meetingRoom.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long holdId = objectMapper.readTree(held).get("id").asLong();
+
+        createBooking(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()));
+
+        // L'option couvrait aussi l'heure suivante : elle ne la bloque plus pour les autres
+        mockMvc.perform(post("/api/v1/bookings")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(day.plusHours(1), day.plusHours(2), meetingRoom.getId()))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Un utilisateur ne peut pas poser plus d'options que le plafond (429)")
+    @WithMockUser(username = "employee@corp.com")
+    void holdsShouldBeCappedPerUser() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(12).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/v1/bookings/holds")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BookingRequest(day.plusHours(i), day.plusHours(i + 1), meetingRoom.getId()))))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(day.plusHours(6), day.plusHours(7), meetingRoom.getId()))))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Série sur un pool : refusée seulement quand une occurrence trouve toutes les unités prises")
+    @WithMockUser(username = "employee@corp.com")
+    void pooledSeriesShouldCountUnits() throws Exception {
+        Resource screens = resourceRepository.save(Resource.builder()
+                .name("Écrans")
+                .type(ResourceType.HARDWARE)
+                .capacity(2)
+                .pooled(true)
+                .active(true)
+                .build());
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(4).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest thirdWeek = new BookingRequest(monday.plusWeeks(2), monday.plusWeeks(2).plusHours(1), screens.getId());
+        BookingSeriesRequest series = new BookingSeriesRequest(
+                monday, monday.plusHours(1), screens.getId(), Recurrence.WEEKLY, 1, null, 4);
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(thirdWeek)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(series)))
+                .andExpect(status().isCreated());
+
+        // Deux unités déjà prises la troisième semaine : une seconde série est refusée
+        mockMvc.perform(post("/api/v1/bookings/series")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(series)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Une option dont la conversion échoue reste active")
+    @WithMockUser(username = "employee@corp.com")
+    void failedConfirmShouldKeepHold() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(10).withHour(15).withMinute(0).withSecond(0).withNano(0);
+        String held = mockMvc.perform(post("/api/v1/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long holdId = objectMapper.readTree(held).get("id").asLong();
+
+        // Créneau pris entre-temps par une autre instance
+        saveIndexed(Booking.builder()
+                .startDate(day)
+                .endDate(day.plusHours(1))
+                .resource(meetingRoom)
+                .user(admin)
+                .status(Status.CONFIRMED)
+                .build());
+
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/v1/bookings/holds/" + holdId + "/confirm"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Un pool accepte autant de réservations simultanées que sa capacité")
+    @WithMockUser(username = "employee@corp.com")
+    void pooledResourceShouldAcceptUpToCapacity() throws Exception {
+        Resource laptops = resourceRepository.save(Resource.builder()
+                .name("Ordinateurs portables")
+                .type(ResourceType.HARDWARE)
+                .capacity(2)
+                .pooled(true)
+                .active(true)
+                .build());
+        LocalDateTime day = LocalDateTime.now().plusDays(12).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest request = new BookingRequest(day, day.plusHours(2), laptops.getId());
+
+        createBooking(request);
+        mockMvc.perform(post("/api/v1/bookings")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/resources/" + laptops.getId() + "/availability")
+                        .param("from", day.plusHours(1).toString())
+                        .param("to", day.plusHours(3).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(2))
+                .andExpect(jsonPath("$.available").value(0));
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(day.plusHours(1), day.plusHours(3), laptops.getId()))))
+                .andExpect(status().isConflict());
+
+        // Hors du chevauchement, une unité reste libre
+        createBooking(new BookingRequest(day.plusHours(2), day.plusHours(3), laptops.getId()));
+    }
+
+    @Test
+    @DisplayName("L'attribution automatique remplit toutes les unités d'un pool avant de refuser")
+    @WithMockUser(username = "employee@corp.com")
+    void autoAssignShouldFillPool() throws Exception {
+        resourceRepository.save(Resource.builder()
+                .name("Vidéoprojecteurs")
+                .type(ResourceType.HARDWARE)
+                .capacity(2)
+                .location("Réserve")
+                .pooled(true)
+                .active(true)
+                .build());
+        LocalDateTime day = LocalDateTime.now().plusDays(13).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        AutoBookingRequest request = new AutoBookingRequest(day, day.plusHours(2), ResourceType.HARDWARE, null, "Réserve");
+
+        mockMvc.perform(post("/api/v1/bookings/auto")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resourceName").value("Vidéoprojecteurs"));
+        mockMvc.perform(post("/api/v1/bookings/auto")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/bookings/auto")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("La règle anti-chevauchement s'applique aussi aux options, aux séries et aux lots")
+    @WithMockUser(username = "employee@corp.com")
+    void userOverlapPolicyShouldCoverEveryWritePath() throws Exception {
+        Resource otherRoom = resourceRepository.save(Resource.builder()
+                .name("Salle C")
+                .type(ResourceType.ROOM)
+                .capacity(6)
+                .active(true)
+                .build());
+        Resource laptops = resourceRepository.save(Resource.builder()
+                .name("Portables")
+                .type(ResourceType.HARDWARE)
+                .capacity(2)
+                .pooled(true)
+                .active(true)
+                .build());
+        LocalDateTime day = LocalDateTime.now().plusDays(15).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        mockMvc.perform(put("/api/v1/bookings/user-overlap-policy")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":true}"))
+                .andExpect(status().isOk());
+
+        try {
+            createBooking(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()));
+            BookingRequest overlapping = new BookingRequest(day.plusMinutes(30), day.plusMinutes(90), otherRoom.getId());
+
+            String held = mockMvc.perform(post("/api/v1/bookings/holds")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(overlapping)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            mockMvc.perform(post("/api/v1/bookings/holds/" + objectMapper.readTree(held).get("id").asLong() + "/confirm"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Vous avez déjà une réservation sur ce créneau."));
+
+            mockMvc.perform(post("/api/v1/bookings/series")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BookingSeriesRequest(
+                                    day.minusWeeks(1).plusMinutes(30), day.minusWeeks(1).plusMinutes(90),
+                                    laptops.getId(), Recurrence.WEEKLY, 1, null, 2))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Cette série chevauche vos réservations existantes."));
+
+            // Le pool a deux unités, mais un même utilisateur ne peut pas en occuper deux à la fois
+            mockMvc.perform(post("/api/v1/bookings/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(
+                                    new BookingRequest(day.plusDays(1), day.plusDays(1).plusHours(1), laptops.getId()),
+                                    new BookingRequest(day.plusDays(1).plusMinutes(30), day.plusDays(1).plusHours(2), laptops.getId()),
+                                    overlapping))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.results[1].status").value("CONFLICT"))
+                    .andExpect(jsonPath("$.results[1].message").value("Vous avez déjà une réservation sur ce créneau."))
+                    .andExpect(jsonPath("$.results[2].status").value("CONFLICT"));
+        } finally {
+            mockMvc.perform(put("/api/v1/bookings/user-overlap-policy")
+                    .with(user("admin@corp.com").roles("ADMIN"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"enabled\":false}"));
+        }
+    }
+
+    @Test
+    @DisplayName("Avec la règle anti-chevauchement, un employé ne peut pas réserver deux salles sur la même heure")
+    @WithMockUser(username = "employee@corp.com")
+    void userOverlapPolicyShouldBlockSecondResource() throws Exception {
+        Resource otherRoom = resourceRepository.save(Resource.builder()
+                .name("Salle B")
+                .type(ResourceType.ROOM)
+                .capacity(6)
+                .active(true)
+                .build());
+        LocalDateTime day = LocalDateTime.now().plusDays(14).withHour(14).withMinute(0).withSecond(0).withNano(0);
+
+        mockMvc.perform(put("/api/v1/bookings/user-overlap-policy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":true,\"exemptResourceTypes\":[\"HARDWARE\"]}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/api/v1/bookings/user-overlap-policy")
+                        .with(user("admin@corp.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":true,\"exemptResourceTypes\":[\"HARDWARE\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.exemptResourceTypes[0]").value("HARDWARE"));
+
+        try {
+            createBooking(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()));
+
+            mockMvc.perform(post("/api/v1/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new BookingRequest(day.plusMinutes(30), day.plusHours(2), otherRoom.getId()))))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Vous avez déjà une réservation sur ce créneau."));
+
+            createBooking(new BookingRequest(day.plusHours(1), day.plusHours(2), otherRoom.getId()));
+        } finally {
+            // La règle est gardée en mémoire par le contexte Spring partagé entre les tests
+            mockMvc.perform(put("/api/v1/bookings/user-overlap-policy")
+                    .with(user("admin@corp.com").roles("ADMIN"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"enabled\":false}"));
+        }
+    }
+
+    @Test
+    @DisplayName("Une requête rejouée avec la même clé d'idempotence renvoie la réponse d'origine")
+    @WithMockUser(username = "employee@corp.com")
+    void idempotencyKeyShouldReplayOriginalResponse() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(16).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        String body = objectMapper.writeValueAsString(new BookingRequest(day, day.plusHours(1), meetingRoom.getId()));
+
+        String first = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "retry-16")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "retry-16")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(first));
+
+        assertThat(bookingRepository.findAll().stream()
+                .filter(b -> b.getStartDate().equals(day)))
+                .hasSize(1);
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "retry-16")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(day.plusHours(2), day.plusHours(3), meetingRoom.getId()))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key : un corps trop volumineux est refusé (413) sans être mémorisé")
+    @WithMockUser(username = "employee@corp.com")
+    void idempotentRequestShouldRejectOversizedBody() throws Exception {
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Idempotency-Key", "too-large")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"" + "x".repeat(1_048_576) + "\""))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.status").value(413));
+    }
+
+    // Insertion directe en base : l'index en mémoire doit être alimenté comme le ferait BookingService
+    private Booking saveIndexed(Booking booking) {
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.add(saved);
+        return saved;
+    }
+
+    private long createBooking(BookingRequest request) throws Exception {
+        String created = mockMvc.perform(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
     @Test
     @DisplayName("Un simple USER ne devrait pas pouvoir accéder à la liste globale")
     @WithMockUser(username = "employee@corp.com", roles = {"EMPLOYEE"})
@@ -197,4 +961,39 @@ class BookingControllerTest {
         mockMvc.perform(get("/api/v1/bookings"))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("La grille d'occupation reflète une réservation créée puis annulée")
+    @WithMockUser(username = "employee@corp.com")
+    void shouldExposeOccupancyGrid() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(3).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest request = new BookingRequest(day.withHour(9), day.withHour(10).withMinute(30), meetingRoom.getId());
+
+        String created = mockMvc.perform(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long bookingId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/bookings/grid")
+                        .param("resourceIds", meetingRoom.getId().toString())
+                        .param("from", day.toLocalDate().toString())
+                        .param("to", day.toLocalDate().toString())
+                        .param("format", "RUNS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotsPerDay").value(96))
+                .andExpect(jsonPath("$.resources[0].days[0].runs.length()").value(1))
+                .andExpect(jsonPath("$.resources[0].days[0].runs[0].endDate").value(day.toLocalDate() + "T10:30:00"));
+
+        mockMvc.perform(delete("/api/v1/bookings/" + bookingId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/bookings/grid")
+                        .param("resourceIds", meetingRoom.getId().toString())
+                        .param("from", day.toLocalDate().toString())
+                        .param("to", day.toLocalDate().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resources[0].days[0].bitmap").value(""));
+    }
 }
@@ -0,0 +1,146 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.dto.ExportFormat;
+import fr.axel.corpplanner.booking.service.BookingExportService;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export d'un million de lignes : mesure le débit et le pic de heap pendant l'écriture.
+ * Lancé uniquement avec le profil Maven benchmark (mvn test -Pbenchmark).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long FIRST_ID = 50_000_000L;
+    private static final LocalDateTime FROM = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    @Autowired private BookingExportService bookingExportService;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean private EmailService emailService;
+
+    private User user;
+    private Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("bench-export@corp.com")
+                .password("pass")
+                .firstName("Bench")
+                .lastName("Export")
+                .roles(Set.of(Role.EMPLOYEE))
+                .enabled(true)
+                .build());
+        resource = resourceRepository.save(Resource.builder()
+                .name("Salle benchmark")
+                .type(ResourceType.ROOM)
+                .capacity(10)
+                .active(true)
+                .build());
+
+        // Insertion ensembliste côté H2 : une ligne toutes les 30 minutes
+        jdbcTemplate.update("""
+                INSERT INTO booking (id, start_date, end_date, status, created_at, user_id, resource_id)
+                SELECT ? + X,
+                       DATEADD('MINUTE', X * 30, CAST(? AS TIMESTAMP)),
+                       DATEADD('MINUTE', X * 30 + 30, CAST(? AS TIMESTAMP)),
+                       'CONFIRMED', CURRENT_TIMESTAMP, ?, ?
+                FROM SYSTEM_RANGE(0, ? - 1)
+                """, FIRST_ID, FROM, FROM, user.getId(), resource.getId(), ROWS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM booking WHERE resource_id = ?", resource.getId());
+        resourceRepository.delete(resource);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Export d'un million de lignes : débit et heap constants")
+    void exportMillionRows() throws Exception {
+        for (ExportFormat format : ExportFormat.values()) {
+            System.gc();
+            long baseline = liveHeap();
+            AtomicLong peak = new AtomicLong(baseline);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> peak.accumulateAndGet(liveHeap(), Math::max), 0, 10, TimeUnit.MILLISECONDS);
+
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            bookingExportService.export(format, FROM, FROM.plusMinutes(30L * ROWS), out);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.shutdownNow();
+
+            System.out.printf("Export %s : %d lignes, %.1f Mo en %.2f s (%.0f lignes/s), heap vivant max +%d Mo%n",
+                    format, out.lines, out.bytes / 1e6, seconds, ROWS / seconds,
+                    (peak.get() - baseline) / (1024 * 1024));
+            assertThat(out.lines).isEqualTo(format == ExportFormat.CSV ? ROWS + 1 : ROWS);
+        }
+    }
+
+    // Heap occupé après le dernier GC de chaque pool : approximation des objets réellement retenus
+    private static long liveHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .mapToLong(pool -> pool.getCollectionUsage().getUsed())
+                .sum();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
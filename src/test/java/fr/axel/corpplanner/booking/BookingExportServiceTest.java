@@ -0,0 +1,126 @@
+package fr.axel.corpplanner.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.ExportFormat;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.BookingExportService;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingExportServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2032, 6, 1, 0, 0);
+
+    @Autowired private BookingExportService bookingExportService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private BookingSeriesRepository bookingSeriesRepository;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockitoBean private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("export@corp.com")
+                .password("pass")
+                .firstName("Ex")
+                .lastName("Port")
+                .roles(Set.of(Role.EMPLOYEE))
+                .enabled(true)
+                .build());
+        Resource room = resourceRepository.save(Resource.builder()
+                .name("Salle \"Export\", 1er")
+                .type(ResourceType.ROOM)
+                .capacity(6)
+                .active(true)
+                .build());
+
+        bookingRepository.save(Booking.builder()
+                .startDate(DAY.withHour(9))
+                .endDate(DAY.withHour(10))
+                .resource(room)
+                .user(user)
+                .status(Status.CONFIRMED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .startDate(DAY.plusDays(2).withHour(9))
+                .endDate(DAY.plusDays(2).withHour(10))
+                .resource(room)
+                .user(user)
+                .status(Status.CANCELLED)
+                .build());
+        BookingSeries series = BookingSeries.builder()
+                .startDate(DAY.withHour(14))
+                .endDate(DAY.withHour(15))
+                .frequency(Recurrence.DAILY)
+                .repeatEvery(1)
+                .occurrenceCount(5)
+                .status(Status.WAITING)
+                .resource(room)
+                .user(user)
+                .build();
+        series.setLastEndDate(series.toRule().lastEnd());
+        bookingSeriesRepository.save(series);
+    }
+
+    @Test
+    @DisplayName("L'export CSV trie réservations et occurrences et échappe les champs")
+    void shouldExportCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.export(ExportFormat.CSV, DAY, DAY.plusDays(2), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("id,seriesId,startDate");
+        assertThat(lines[1]).contains(DAY.withHour(9).toString(), "CONFIRMED", "\"Salle \"\"Export\"\", 1er\"", "export@corp.com");
+        assertThat(lines[2]).startsWith(",").contains(DAY.withHour(14).toString(), "WAITING");
+        assertThat(lines[3]).contains(DAY.plusDays(1).withHour(14).toString());
+    }
+
+    @Test
+    @DisplayName("L'export NDJSON produit un objet JSON par ligne")
+    void shouldExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.export(ExportFormat.NDJSON, DAY, DAY.plusDays(3), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(5);
+        JsonNode cancelled = objectMapper.readTree(lines[3]);
+        assertThat(cancelled.get("status").asText()).isEqualTo("CANCELLED");
+        assertThat(cancelled.get("startDate").asText()).isEqualTo(DAY.plusDays(2).withHour(9) + ":00");
+        assertThat(objectMapper.readTree(lines[4]).get("seriesId").isNull()).isFalse();
+    }
+}
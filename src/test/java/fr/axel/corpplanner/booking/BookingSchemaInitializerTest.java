@@ -0,0 +1,107 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.repository.BookingSchemaInitializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSchemaInitializerTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @InjectMocks private BookingSchemaInitializer initializer;
+
+    @Test
+    @DisplayName("Désactivé par défaut : aucune contrainte créée")
+    void shouldNotCreateConstraintWhenDisabled() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        initializer.init();
+
+        assertThat(initializer.isExclusionConstraintActive()).isFalse();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Sur PostgreSQL, la séquence est recalée au-delà des identifiants existants")
+    void shouldAlignSequenceOnPostgres() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        initializer.init();
+
+        verify(jdbcTemplate).queryForObject(contains("setval('booking_seq'"), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Sur H2, le mode reste inactif (repli sur la requête de conflit)")
+    void shouldFallbackOnH2() {
+        ReflectionTestUtils.setField(initializer, "exclusionConstraintEnabled", true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        initializer.init();
+
+        assertThat(initializer.isExclusionConstraintActive()).isFalse();
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Sur PostgreSQL, la contrainte d'exclusion est créée si absente")
+    void shouldCreateConstraintOnPostgres() {
+        ReflectionTestUtils.setField(initializer, "exclusionConstraintEnabled", true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("setval"), eq(Long.class))).thenReturn(50L);
+        when(jdbcTemplate.queryForList(contains("pg_constraint"), eq(String.class), any())).thenReturn(List.of());
+
+        initializer.init();
+
+        assertThat(initializer.isExclusionConstraintActive()).isTrue();
+        verify(jdbcTemplate).execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+        verify(jdbcTemplate).execute(contains("EXCLUDE USING gist"));
+    }
+
+    @Test
+    @DisplayName("Sur PostgreSQL, une contrainte existante n'est pas recréée")
+    void shouldNotRecreateExistingConstraint() {
+        ReflectionTestUtils.setField(initializer, "exclusionConstraintEnabled", true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("setval"), eq(Long.class))).thenReturn(50L);
+        when(jdbcTemplate.queryForList(contains("pg_constraint"), eq(String.class), any())).thenReturn(List.of(
+                "EXCLUDE USING gist (resource_id WITH =, tsrange(start_date, end_date) WITH &&) "
+                        + "WHERE (((status)::text <> 'CANCELLED'::text) AND (pooled IS NOT TRUE))"));
+
+        initializer.init();
+
+        assertThat(initializer.isExclusionConstraintActive()).isTrue();
+        verify(jdbcTemplate, never()).execute(contains("EXCLUDE USING gist"));
+    }
+
+    @Test
+    @DisplayName("Sur PostgreSQL, une contrainte antérieure aux pools est recréée pour les exclure")
+    void shouldRecreateConstraintWithoutPooledPredicate() {
+        ReflectionTestUtils.setField(initializer, "exclusionConstraintEnabled", true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("setval"), eq(Long.class))).thenReturn(50L);
+        when(jdbcTemplate.queryForList(contains("pg_constraint"), eq(String.class), any())).thenReturn(List.of(
+                "EXCLUDE USING gist (resource_id WITH =, tsrange(start_date, end_date) WITH &&) "
+                        + "WHERE (((status)::text <> 'CANCELLED'::text))"));
+
+        initializer.init();
+
+        assertThat(initializer.isExclusionConstraintActive()).isTrue();
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE booking DROP CONSTRAINT"));
+        verify(jdbcTemplate).execute(contains("pooled IS NOT TRUE"));
+    }
+}
@@ -1,50 +1,95 @@
 package fr.axel.corpplanner.booking;
 
 import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
 import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.AutoBookingRequest;
+import fr.axel.corpplanner.booking.dto.BookingAlternatives;
 import fr.axel.corpplanner.booking.dto.BookingRequest;
 import fr.axel.corpplanner.booking.dto.BookingResponse;
+import fr.axel.corpplanner.booking.dto.BookingRow;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
 import fr.axel.corpplanner.booking.mapper.BookingMapper;
 import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSchemaInitializer;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.BookingAlternativesService;
+import fr.axel.corpplanner.booking.service.BookingLocks;
 import fr.axel.corpplanner.booking.service.BookingService;
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.ResourceAvailabilityService;
+import fr.axel.corpplanner.booking.service.SlotHolds;
+import fr.axel.corpplanner.booking.service.SlotReleasedEvent;
+import fr.axel.corpplanner.booking.service.UserOverlapService;
 import fr.axel.corpplanner.config.BookingConflictException;
 import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
 import fr.axel.corpplanner.resource.repository.ResourceRepository;
 import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTest {
 
     @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
     @Mock private ResourceRepository resourceRepository;
     @Mock private UserRepository userRepository;
     @Mock private BookingMapper bookingMapper;
+    @Mock private AvailabilityIndex availabilityIndex;
+    @Mock private OccupancyGrid occupancyGrid;
+    @Mock private SlotHolds slotHolds;
+    @Mock private BookingAlternativesService bookingAlternatives;
+    @Mock private ResourceAvailabilityService resourceAvailability;
+    @Mock private UserOverlapService userOverlap;
+    @Spy private BookingLocks bookingLocks = new BookingLocks();
+    @Mock private BookingSchemaInitializer bookingSchema;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookingService bookingService;
 
     @Mock private UserDetails userDetails;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingService, "verifyOnWrite", true);
+    }
 
     @Test
     @DisplayName("Devrait créer une réservation quand tout est OK")
@@ -82,6 +127,102 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).save(any(Booking.class));
     }
 
+    @Test
+    @DisplayName("La règle anti-chevauchement est vérifiée sous le verrou de l'utilisateur, même sur deux ressources")
+    void shouldSerializeOverlapCheckPerUser() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusHours(1);
+        User user = User.builder().id(1L).email("test@test.com").build();
+        Resource roomA = Resource.builder().id(1L).name("Salle A").type(ResourceType.ROOM).build();
+        Resource roomB = Resource.builder().id(2L).name("Salle B").type(ResourceType.ROOM).build();
+
+        // De la vérification à l'insertion, une seule réservation de l'utilisateur à la fois
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        doAnswer(i -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            return null;
+        }).when(userOverlap).check(eq(user), eq(ResourceType.ROOM), eq(start), eq(end));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+            inside.decrementAndGet();
+            return i.getArgument(0);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<Optional<Booking>>> results = List.of(roomA, roomB).stream()
+                    .map(room -> executor.submit(() -> {
+                        ready.await();
+                        return bookingService.createIfFree(user, room, start, end);
+                    }))
+                    .toList();
+            ready.countDown();
+            for (Future<Optional<Booking>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInside.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Attribue la plus petite ressource libre et bascule sur la suivante si elle vient d'être prise")
+    void shouldAssignBestFitResourceAndFailOver() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusHours(1);
+        AutoBookingRequest request = new AutoBookingRequest(start, end, ResourceType.ROOM, 6, "Siège");
+
+        User user = User.builder().id(1L).email("test@test.com").build();
+        Resource small = Resource.builder().id(1L).name("Salle 6").capacity(6).build();
+        Resource medium = Resource.builder().id(2L).name("Salle 8").capacity(8).build();
+        Resource large = Resource.builder().id(3L).name("Salle 12").capacity(12).build();
+
+        when(userDetails.getUsername()).thenReturn("test@test.com");
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(resourceRepository.findMatching(ResourceType.ROOM, 6, "Siège")).thenReturn(List.of(small, medium, large));
+        when(resourceAvailability.isFull(any(), eq(1L), eq(start), eq(end))).thenAnswer(i -> i.<Resource>getArgument(0).getId().equals(2L));
+        // La petite salle vient d'être prise par une autre instance
+        when(bookingRepository.hasConflictingBooking(any(), eq(start), eq(end))).thenAnswer(i -> i.getArgument(0).equals(1L));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+        when(bookingMapper.mapToResponse(any(Booking.class))).thenAnswer(i -> new BookingResponse(
+                1L, start, end, "WAITING", i.<Booking>getArgument(0).getResource().getName()));
+
+        BookingResponse result = bookingService.createBookingAnyResource(request, userDetails);
+
+        assertThat(result.resourceName()).isEqualTo("Salle 12");
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Un pool refuse la réservation quand toutes ses unités sont prises sur le créneau")
+    void shouldRejectPooledBookingWhenAllUnitsAreUsed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusHours(1);
+        BookingRequest request = new BookingRequest(start, end, 1L);
+
+        User user = User.builder().id(1L).email("test@test.com").build();
+        Resource pool = Resource.builder().id(1L).name("Écrans").capacity(3).pooled(true).build();
+
+        when(userDetails.getUsername()).thenReturn("test@test.com");
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(pool));
+        when(resourceAvailability.usedUnits(1L, 1L, start, end)).thenReturn(2, 3);
+        when(resourceAvailability.usedUnitsInDatabase(1L, start, end)).thenReturn(2);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+        when(bookingMapper.mapToResponse(any(Booking.class))).thenReturn(
+                new BookingResponse(1L, start, end, "WAITING", "Écrans"));
+
+        bookingService.createBooking(request, userDetails);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(request, userDetails));
+        verify(bookingRepository, times(1)).save(argThat(b -> Boolean.TRUE.equals(b.getPooled())));
+        verify(availabilityIndex, never()).hasConflict(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Devrait lancer une erreur si les dates sont incohérentes")
     void shouldThrowIfDatesInvalid() {
@@ -92,8 +233,8 @@ class BookingServiceTest {
         );
 
         when(userDetails.getUsername()).thenReturn("a@a.com");
-        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(new User()));
-        when(resourceRepository.findById(1L)).thenReturn(Optional.of(new Resource()));
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(Resource.builder().id(1L).build()));
 
         assertThrows(RuntimeException.class, () -> bookingService.createBooking(request, userDetails));
 
@@ -106,8 +247,8 @@ class BookingServiceTest {
         BookingRequest request = new BookingRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
 
         when(userDetails.getUsername()).thenReturn("a@a.com");
-        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(new User()));
-        when(resourceRepository.findById(1L)).thenReturn(Optional.of(new Resource()));
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(Resource.builder().id(1L).build()));
 
         when(bookingRepository.hasConflictingBooking(any(), any(), any())).thenReturn(true);
 
@@ -115,21 +256,161 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Devrait refuser un créneau déjà pris dans l'index sans interroger la base")
+    void shouldThrowIfConflictInIndex() {
+        BookingRequest request = new BookingRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
+
+        when(userDetails.getUsername()).thenReturn("a@a.com");
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(Resource.builder().id(1L).build()));
+        when(availabilityIndex.hasConflict(any(), any(), any())).thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(request, userDetails));
+        verify(bookingRepository, never()).hasConflictingBooking(any(), any(), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Sans vérification en base, seul l'index est consulté")
+    void shouldSkipDatabaseCheckWhenVerifyDisabled() {
+        ReflectionTestUtils.setField(bookingService, "verifyOnWrite", false);
+        BookingRequest request = new BookingRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
+
+        when(userDetails.getUsername()).thenReturn("a@a.com");
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(Resource.builder().id(1L).build()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+        bookingService.createBooking(request, userDetails);
+
+        verify(bookingRepository, never()).hasConflictingBooking(any(), any(), any());
+        verify(availabilityIndex).add(any(Booking.class));
+    }
+
+
+    @Test
+    @DisplayName("Avec la contrainte d'exclusion, l'insertion se fait sans vérifier les réservations en base")
+    void shouldInsertDirectlyWithExclusionConstraint() {
+        BookingRequest request = new BookingRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
+
+        when(userDetails.getUsername()).thenReturn("a@a.com");
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(Resource.builder().id(1L).build()));
+        when(bookingSchema.isExclusionConstraintActive()).thenReturn(true);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+        bookingService.createBooking(request, userDetails);
+
+        verify(bookingRepository, never()).hasConflictingBooking(any(), any(), any());
+        verify(bookingSeriesRepository).findActiveInRange(eq(1L), any(), any());
+        verify(bookingRepository).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Avec la contrainte d'exclusion, une occurrence de série en base bloque toujours le créneau")
+    void exclusionConstraintShouldNotSkipSeriesCheck() {
+        LocalDateTime start = LocalDateTime.now().plusDays(7).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest request = new BookingRequest(start, start.plusHours(1), 1L);
+        Resource resource = Resource.builder().id(1L).build();
+        User owner = User.builder().id(2L).build();
+        BookingSeries series = BookingSeries.builder().id(5L)
+                .startDate(start.minusDays(7)).endDate(start.minusDays(7).plusHours(1))
+                .frequency(Recurrence.WEEKLY).repeatEvery(1).occurrenceCount(4)
+                .resource(resource).user(owner).build();
+
+        when(userDetails.getUsername()).thenReturn("a@a.com");
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(bookingSchema.isExclusionConstraintActive()).thenReturn(true);
+        when(bookingSeriesRepository.findActiveInRange(1L, request.startDate(), request.endDate())).thenReturn(List.of(series));
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(request, userDetails));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Une violation de la contrainte d'exclusion devient une BookingConflictException avec alternatives")
+    void shouldTranslateExclusionViolation() {
+        BookingRequest request = new BookingRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
+        Resource resource = Resource.builder().id(1L).build();
+        BookingAlternatives alternatives = new BookingAlternatives(List.of(), List.of());
+
+        when(userDetails.getUsername()).thenReturn("a@a.com");
+        when(userRepository.findByEmail("a@a.com")).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(bookingSchema.isExclusionConstraintActive()).thenReturn(true);
+        SQLException sqlException = new SQLException("conflicting key value violates exclusion constraint", "23P01");
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException("overlap",
+                new ConstraintViolationException("overlap", sqlException, BookingSchemaInitializer.CONSTRAINT_NAME)));
+        when(bookingAlternatives.suggest(resource, request.startDate(), request.endDate(), 1L)).thenReturn(alternatives);
+
+        BookingConflictException conflict = assertThrows(BookingConflictException.class,
+                () -> bookingService.createBooking(request, userDetails));
+        assertThat(conflict.getAlternatives()).isSameAs(alternatives);
+        verify(availabilityIndex, never()).add(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Attribution automatique : le 409 final propose des alternatives sur la ressource la mieux ajustée")
+    void shouldSuggestAlternativesWhenNoResourceIsFree() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusHours(1);
+        AutoBookingRequest request = new AutoBookingRequest(start, end, ResourceType.ROOM, 4, null);
+        User user = User.builder().id(1L).email("test@test.com").build();
+        Resource best = Resource.builder().id(1L).name("Petite salle").type(ResourceType.ROOM).capacity(4).build();
+        BookingAlternatives alternatives = new BookingAlternatives(List.of(), List.of());
+
+        when(userDetails.getUsername()).thenReturn("test@test.com");
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        Resource other = Resource.builder().id(2L).name("Grande salle").type(ResourceType.ROOM).capacity(10).build();
+        when(resourceRepository.findMatching(ResourceType.ROOM, 4, null)).thenReturn(List.of(best, other));
+        when(resourceAvailability.isFull(any(), eq(1L), eq(start), eq(end))).thenReturn(true);
+        when(bookingAlternatives.suggest(best, start, end, 1L)).thenReturn(alternatives);
+
+        BookingConflictException conflict = assertThrows(BookingConflictException.class,
+                () -> bookingService.createBookingAnyResource(request, userDetails));
+        assertThat(conflict.getAlternatives()).isSameAs(alternatives);
+        verify(bookingRepository, never()).save(any());
+    }
 
     @Test
     @DisplayName("Le propriétaire doit pouvoir annuler sa réservation")
     void ownerShouldCancelBooking() {
         User owner = User.builder().id(10L).email("owner@test.com").roles(Set.of(Role.EMPLOYEE)).build();
-        Booking booking = Booking.builder().id(55L).user(owner).status(Status.CONFIRMED).build();
+        Resource resource = Resource.builder().id(1L).name("Salle Test").build();
+        Booking booking = Booking.builder().id(55L).user(owner).resource(resource).status(Status.CONFIRMED).build();
 
         when(bookingRepository.findById(55L)).thenReturn(Optional.of(booking));
         when(userDetails.getUsername()).thenReturn("owner@test.com");
         when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(owner));
+        when(bookingRepository.cancel(55L)).thenReturn(1);
 
         bookingService.cancelBooking(55L, userDetails);
 
         assertThat(booking.getStatus()).isEqualTo(Status.CANCELLED);
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository).cancel(55L);
+        verify(availabilityIndex).remove(booking);
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, null, null));
+    }
+
+    @Test
+    @DisplayName("Annulée entre-temps par une requête concurrente : le créneau n'est pas libéré une seconde fois")
+    void concurrentCancelShouldReleaseSlotOnce() {
+        User owner = User.builder().id(10L).email("owner@test.com").roles(Set.of(Role.EMPLOYEE)).build();
+        Resource resource = Resource.builder().id(1L).name("Salle Test").build();
+        Booking booking = Booking.builder().id(55L).user(owner).resource(resource).status(Status.CONFIRMED).build();
+
+        when(bookingRepository.findById(55L)).thenReturn(Optional.of(booking));
+        when(userDetails.getUsername()).thenReturn("owner@test.com");
+        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(owner));
+        when(bookingRepository.cancel(55L)).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(55L, userDetails));
+
+        assertThat(exception.getMessage()).isEqualTo("Cette réservation est déjà annulée.");
+        verify(availabilityIndex, never()).remove(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -164,7 +445,7 @@ class BookingServiceTest {
     @DisplayName("Devrait lancer une erreur si la ressource n'existe pas")
     void shouldThrowWhenResourceNotFound() {
         when(userDetails.getUsername()).thenReturn("test@test.com");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(new User()));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(User.builder().id(1L).build()));
         when(resourceRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () ->
@@ -191,15 +472,40 @@ class BookingServiceTest {
     @Test
     @DisplayName("Devrait récupérer les réservations de l'utilisateur connecté")
     void shouldGetMyBookings() {
-        User user = User.builder().id(1L).email("test@test.com").build();
+        BookingRow row = new BookingRow(1L, LocalDateTime.now(), LocalDateTime.now().plusHours(1), Status.WAITING, "Salle");
         when(userDetails.getUsername()).thenReturn("test@test.com");
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByUser_Id(1L)).thenReturn(List.of(new Booking()));
-        when(bookingMapper.mapToResponse(any())).thenReturn(new BookingResponse(1L, null, null, "WAITING", "Salle"));
+        when(bookingRepository.findRowsByUserEmail("test@test.com")).thenReturn(List.of(row));
+        when(bookingMapper.mapRow(row)).thenReturn(new BookingResponse(1L, row.startDate(), row.endDate(), "WAITING", "Salle"));
 
         List<BookingResponse> results = bookingService.getBookings(userDetails);
 
         assertThat(results).hasSize(1);
-        verify(bookingRepository).findAllByUser_Id(1L);
+        verify(bookingRepository).findRowsByUserEmail("test@test.com");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Mes réservations : une longue série n'est développée que dans la fenêtre autour d'aujourd'hui")
+    void shouldExpandSeriesOnlyAroundToday() {
+        ReflectionTestUtils.setField(bookingService, "seriesListingWindowDays", 30);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = now.minusYears(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        BookingSeries series = BookingSeries.builder()
+                .id(7L).startDate(start).endDate(start.plusHours(1))
+                .frequency(Recurrence.DAILY).repeatEvery(1).occurrenceCount(730)
+                .resource(Resource.builder().id(1L).build()).user(User.builder().id(1L).build())
+                .status(Status.CONFIRMED).build();
+        when(userDetails.getUsername()).thenReturn("test@test.com");
+        when(bookingRepository.findRowsByUserEmail("test@test.com")).thenReturn(List.of());
+        when(bookingSeriesRepository.findAllByUser_Email("test@test.com")).thenReturn(List.of(series));
+        when(bookingMapper.mapOccurrence(eq(series), any())).thenAnswer(invocation -> {
+            BookingSlot occurrence = invocation.getArgument(1);
+            return new BookingResponse(null, occurrence.startDate(), occurrence.endDate(), "CONFIRMED", "Salle", 7L);
+        });
+
+        List<BookingResponse> results = bookingService.getBookings(userDetails);
+
+        assertThat(results).hasSizeBetween(60, 61);
+        assertThat(results).allMatch(r -> r.endDate().isAfter(now.minusDays(30)) && r.startDate().isBefore(now.plusDays(30)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.FreeSlotService;
+import fr.axel.corpplanner.booking.service.SlotHolds;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FreeSlotServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 7, 8, 0);
+    private static final LocalDateTime TO = FROM.plusHours(10);
+
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+    @Mock private SlotHolds slotHolds;
+
+    @InjectMocks private FreeSlotService freeSlotService;
+
+    private Resource roomA;
+    private Resource roomB;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(freeSlotService, "maxResults", 100);
+        roomA = Resource.builder().id(1L).name("Salle A").type(ResourceType.ROOM).capacity(8).build();
+        roomB = Resource.builder().id(2L).name("Salle B").type(ResourceType.ROOM).capacity(12).build();
+    }
+
+    @Test
+    @DisplayName("Devrait renvoyer les fenêtres libres les plus tôt, toutes ressources confondues")
+    void shouldReturnEarliestWindowsAcrossResources() {
+        when(resourceRepository.findMatching(ResourceType.ROOM, 8, null)).thenReturn(List.of(roomA, roomB));
+        when(bookingRepository.findActiveSlotsForResourcesInRange(List.of(1L, 2L), FROM, TO)).thenReturn(List.of(
+                new BookingSlot(10L, 1L, 5L, FROM, FROM.plusHours(2)),
+                new BookingSlot(11L, 1L, 5L, FROM.plusHours(3), FROM.plusHours(4)),
+                new BookingSlot(12L, 2L, 5L, FROM.minusHours(1), FROM.plusMinutes(30))
+        ));
+        when(bookingSeriesRepository.findActiveForResourcesInRange(List.of(1L, 2L), FROM, TO)).thenReturn(List.of());
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(ResourceType.ROOM, 8, null, Duration.ofHours(1), FROM, TO, 2);
+
+        assertThat(slots).containsExactly(
+                new FreeSlot(2L, "Salle B", FROM.plusMinutes(30), TO),
+                new FreeSlot(1L, "Salle A", FROM.plusHours(2), FROM.plusHours(3))
+        );
+    }
+
+    @Test
+    @DisplayName("Les trous trop courts et les occurrences de séries sont exclus")
+    void shouldSkipShortGapsAndSeriesOccurrences() {
+        BookingSeries series = BookingSeries.builder()
+                .id(3L)
+                .resource(roomA)
+                .user(User.builder().id(5L).build())
+                .startDate(FROM.plusHours(5))
+                .endDate(FROM.plusHours(6))
+                .frequency(Recurrence.DAILY)
+                .repeatEvery(1)
+                .occurrenceCount(3)
+                .status(Status.CONFIRMED)
+                .build();
+        when(resourceRepository.findMatching(null, null, null)).thenReturn(List.of(roomA));
+        when(bookingRepository.findActiveSlotsForResourcesInRange(List.of(1L), FROM, TO)).thenReturn(List.of(
+                new BookingSlot(10L, 1L, 5L, FROM.plusMinutes(30), FROM.plusHours(5))
+        ));
+        when(bookingSeriesRepository.findActiveForResourcesInRange(List.of(1L), FROM, TO)).thenReturn(List.of(series));
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(null, null, null, Duration.ofHours(1), FROM, TO, 10);
+
+        assertThat(slots).containsExactly(new FreeSlot(1L, "Salle A", FROM.plusHours(6), TO));
+    }
+
+    @Test
+    @DisplayName("Un créneau sous option n'est pas proposé")
+    void shouldSkipHeldSlots() {
+        when(resourceRepository.findMatching(null, null, null)).thenReturn(List.of(roomA));
+        when(bookingRepository.findActiveSlotsForResourcesInRange(List.of(1L), FROM, TO)).thenReturn(List.of());
+        when(bookingSeriesRepository.findActiveForResourcesInRange(List.of(1L), FROM, TO)).thenReturn(List.of());
+        when(slotHolds.findOverlapping(1L, FROM, TO, null)).thenReturn(List.of(
+                new BookingSlot(1L, 1L, 7L, FROM, FROM.plusHours(9))
+        ));
+
+        List<FreeSlot> slots = freeSlotService.findFreeSlots(null, null, null, Duration.ofHours(1), FROM, TO, 10);
+
+        assertThat(slots).containsExactly(new FreeSlot(1L, "Salle A", FROM.plusHours(9), TO));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une fenêtre de recherche inversée")
+    void shouldRejectInvertedWindow() {
+        assertThrows(ResponseStatusException.class,
+                () -> freeSlotService.findFreeSlots(null, null, null, Duration.ofHours(1), TO, FROM, 10));
+
+        verifyNoInteractions(resourceRepository, bookingRepository, bookingSeriesRepository);
+    }
+}
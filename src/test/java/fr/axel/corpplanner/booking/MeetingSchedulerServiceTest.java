@@ -0,0 +1,160 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.FreeSlot;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.MeetingSchedulerService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingSchedulerServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Mock private UserRepository userRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+
+    @InjectMocks private MeetingSchedulerService meetingSchedulerService;
+
+    private Resource smallRoom;
+    private Resource largeRoom;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(meetingSchedulerService, "maxResults", 100);
+        smallRoom = Resource.builder().id(1L).name("Petite salle").type(ResourceType.ROOM).capacity(4).build();
+        largeRoom = Resource.builder().id(2L).name("Grande salle").type(ResourceType.ROOM).capacity(10).build();
+    }
+
+    @Test
+    @DisplayName("Propose les créneaux où tous les participants et une salle sont libres, la plus petite salle d'abord")
+    void shouldIntersectAttendeesAndRooms() {
+        LocalDateTime to = FROM.plusHours(4);
+        when(userRepository.countByIdIn(Set.of(10L, 11L))).thenReturn(2L);
+        when(resourceRepository.findMatching(ResourceType.ROOM, 2, null)).thenReturn(List.of(smallRoom, largeRoom));
+        when(bookingRepository.findActiveSlotsForUsersOrResourcesInRange(Set.of(10L, 11L), List.of(1L, 2L), FROM, to))
+                .thenReturn(List.of(
+                        new BookingSlot(100L, 2L, 10L, FROM, FROM.plusHours(1)),
+                        new BookingSlot(102L, 1L, 99L, FROM.plusHours(2), FROM.plusHours(3))
+                ));
+        BookingSeries daily = BookingSeries.builder()
+                .id(7L)
+                .startDate(FROM.minusDays(1).plusHours(1))
+                .endDate(FROM.minusDays(1).plusHours(2))
+                .frequency(Recurrence.DAILY)
+                .repeatEvery(1)
+                .occurrenceCount(5)
+                .resource(largeRoom)
+                .user(User.builder().id(11L).build())
+                .build();
+        when(bookingSeriesRepository.findActiveForUsersOrResourcesInRange(Set.of(10L, 11L), List.of(1L, 2L), FROM, to))
+                .thenReturn(List.of(daily));
+
+        List<FreeSlot> slots = meetingSchedulerService.findMeetingSlots(
+                List.of(10L, 11L), Duration.ofHours(1), FROM, to, null, 10);
+
+        assertThat(slots).containsExactly(
+                new FreeSlot(2L, "Grande salle", FROM.plusHours(2), FROM.plusHours(3)),
+                new FreeSlot(1L, "Petite salle", FROM.plusHours(3), FROM.plusHours(4))
+        );
+    }
+
+    @Test
+    @DisplayName("50 participants sur deux semaines : le premier créneau proposé est le plus tôt possible")
+    void shouldFindEarliestSlotForFiftyAttendees() {
+        Random random = new Random(42);
+        LocalDateTime to = FROM.plusDays(14);
+        List<Long> attendees = LongStream.rangeClosed(1, 50).boxed().toList();
+        List<Resource> rooms = List.of(
+                Resource.builder().id(1L).name("Salle 1").type(ResourceType.ROOM).capacity(50).build(),
+                Resource.builder().id(2L).name("Salle 2").type(ResourceType.ROOM).capacity(60).build());
+
+        List<BookingSlot> slots = new ArrayList<>();
+        long id = 0;
+        for (int day = 0; day < 14; day++) {
+            for (long user : attendees) {
+                for (int k = 0; k < 3; k++) {
+                    LocalDateTime start = FROM.plusDays(day).plusMinutes(15L * random.nextInt(40));
+                    slots.add(new BookingSlot(++id, 100L + user, user, start, start.plusMinutes(30L + 15L * random.nextInt(4))));
+                }
+            }
+            for (long room = 1; room <= 2; room++) {
+                LocalDateTime start = FROM.plusDays(day).plusMinutes(15L * random.nextInt(40));
+                slots.add(new BookingSlot(++id, room, 999L, start, start.plusHours(2)));
+            }
+        }
+        slots.sort(Comparator.comparing(BookingSlot::startDate).thenComparing(BookingSlot::id));
+
+        when(userRepository.countByIdIn(anyCollection())).thenReturn(50L);
+        when(resourceRepository.findMatching(ResourceType.ROOM, 50, null)).thenReturn(rooms);
+        when(bookingRepository.findActiveSlotsForUsersOrResourcesInRange(anyCollection(), anyCollection(), any(), any()))
+                .thenReturn(slots);
+        when(bookingSeriesRepository.findActiveForUsersOrResourcesInRange(anyCollection(), anyCollection(), any(), any()))
+                .thenReturn(List.of());
+
+        Duration duration = Duration.ofMinutes(45);
+        List<FreeSlot> result = meetingSchedulerService.findMeetingSlots(attendees, duration, FROM, to, null, 5);
+
+        // Le plus tôt possible commence à FROM ou à la fin d'un créneau occupé
+        TreeSet<LocalDateTime> starts = new TreeSet<>();
+        starts.add(FROM);
+        slots.forEach(slot -> starts.add(slot.endDate()));
+        LocalDateTime expected = starts.stream()
+                .filter(start -> !start.plus(duration).isAfter(to))
+                .filter(start -> slots.stream()
+                        .filter(slot -> slot.userId() != 999L)
+                        .noneMatch(slot -> slot.overlaps(start, start.plus(duration))))
+                .filter(start -> rooms.stream().anyMatch(room -> slots.stream()
+                        .filter(slot -> slot.resourceId().equals(room.getId()))
+                        .noneMatch(slot -> slot.overlaps(start, start.plus(duration)))))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(result).isNotEmpty();
+        assertThat(result.get(0).startDate()).isEqualTo(expected);
+        assertThat(result).allSatisfy(slot -> assertThat(slots).noneMatch(busy ->
+                (busy.userId() != 999L || busy.resourceId().equals(slot.resourceId()))
+                        && busy.overlaps(slot.startDate(), slot.endDate())));
+    }
+
+    @Test
+    @DisplayName("Devrait refuser une période trop longue")
+    void shouldRejectTooLongRange() {
+        assertThrows(ResponseStatusException.class, () -> meetingSchedulerService.findMeetingSlots(
+                List.of(1L), Duration.ofHours(1), FROM, FROM.plusDays(40), null, 10));
+    }
+}
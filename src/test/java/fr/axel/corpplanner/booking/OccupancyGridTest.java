@@ -0,0 +1,119 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.GridFormat;
+import fr.axel.corpplanner.booking.dto.OccupiedRun;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.UserBookingIndex;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyGridTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+    private static final LocalDateTime MIDNIGHT = DAY.atStartOfDay();
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+    @Mock private ResourceRepository resourceRepository;
+
+    private AvailabilityIndex availabilityIndex;
+    private OccupancyGrid occupancyGrid;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex(bookingRepository, bookingSeriesRepository,
+                new UserBookingIndex(resourceRepository));
+        occupancyGrid = new OccupancyGrid(availabilityIndex, resourceRepository);
+        ReflectionTestUtils.setField(occupancyGrid, "slotMinutes", 15);
+        ReflectionTestUtils.setField(occupancyGrid, "maxDays", 2);
+        occupancyGrid.init();
+    }
+
+    @Test
+    @DisplayName("Une réservation occupe toutes les cases qu'elle touche")
+    void shouldMarkTouchedSlots() {
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, MIDNIGHT.plusHours(9).plusMinutes(10), MIDNIGHT.plusHours(10)));
+
+        BitSet bits = BitSet.valueOf(occupancyGrid.day(10L, DAY));
+
+        assertThat(bits.stream().boxed().toList()).containsExactly(36, 37, 38, 39);
+    }
+
+    @Test
+    @DisplayName("Un pool n'occupe une case que lorsque toutes ses unités sont prises")
+    void shouldMarkPoolOnlyWhenFull() {
+        occupancyGrid.registerResource(Resource.builder().id(10L).name("Écrans").capacity(2).pooled(true).build());
+        occupancyGrid.day(10L, DAY);
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, MIDNIGHT.plusHours(9), MIDNIGHT.plusHours(11)));
+        occupancyGrid.add(10L, MIDNIGHT.plusHours(9), MIDNIGHT.plusHours(11));
+
+        assertThat(BitSet.valueOf(occupancyGrid.day(10L, DAY)).isEmpty()).isTrue();
+
+        availabilityIndex.add(new BookingSlot(2L, 10L, 2L, MIDNIGHT.plusHours(10), MIDNIGHT.plusHours(12)));
+        occupancyGrid.add(10L, MIDNIGHT.plusHours(10), MIDNIGHT.plusHours(12));
+
+        assertThat(BitSet.valueOf(occupancyGrid.day(10L, DAY)).stream().boxed().toList()).containsExactly(40, 41, 42, 43);
+    }
+
+    @Test
+    @DisplayName("Une réservation sur deux jours est découpée jour par jour")
+    void shouldSplitAcrossDays() {
+        occupancyGrid.day(10L, DAY);
+        occupancyGrid.day(10L, DAY.plusDays(1));
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, MIDNIGHT.plusHours(23), MIDNIGHT.plusHours(25)));
+        occupancyGrid.add(10L, MIDNIGHT.plusHours(23), MIDNIGHT.plusHours(25));
+
+        assertThat(BitSet.valueOf(occupancyGrid.day(10L, DAY)).stream().boxed().toList()).containsExactly(92, 93, 94, 95);
+        assertThat(BitSet.valueOf(occupancyGrid.day(10L, DAY.plusDays(1))).stream().boxed().toList()).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Une annulation libère les cases sans effacer un créneau voisin dans la même case")
+    void shouldRefreshAfterRemoval() {
+        BookingSlot first = new BookingSlot(1L, 10L, 1L, MIDNIGHT.plusHours(9), MIDNIGHT.plusHours(9).plusMinutes(20));
+        BookingSlot second = new BookingSlot(2L, 10L, 1L, MIDNIGHT.plusHours(9).plusMinutes(20), MIDNIGHT.plusHours(9).plusMinutes(30));
+        availabilityIndex.add(first);
+        availabilityIndex.add(second);
+        occupancyGrid.day(10L, DAY);
+
+        availabilityIndex.remove(first);
+        occupancyGrid.refresh(10L, first.startDate(), first.endDate());
+
+        assertThat(BitSet.valueOf(occupancyGrid.day(10L, DAY)).stream().boxed().toList()).containsExactly(37);
+    }
+
+    @Test
+    @DisplayName("Le format RUNS regroupe les cases occupées consécutives")
+    void shouldRenderRuns() {
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, MIDNIGHT.plusHours(9), MIDNIGHT.plusHours(10)));
+        availabilityIndex.add(new BookingSlot(2L, 10L, 1L, MIDNIGHT.plusHours(10), MIDNIGHT.plusHours(11)));
+        availabilityIndex.add(new BookingSlot(3L, 10L, 1L, MIDNIGHT.plusHours(14), MIDNIGHT.plusHours(15)));
+
+        List<OccupiedRun> runs = occupancyGrid.getGrid(List.of(10L), DAY, DAY, GridFormat.RUNS)
+                .resources().get(0).days().get(0).runs();
+
+        assertThat(runs).containsExactly(
+                new OccupiedRun(MIDNIGHT.plusHours(9), MIDNIGHT.plusHours(11)),
+                new OccupiedRun(MIDNIGHT.plusHours(14), MIDNIGHT.plusHours(15))
+        );
+    }
+}
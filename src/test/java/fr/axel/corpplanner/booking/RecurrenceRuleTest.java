@@ -0,0 +1,61 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private RecurrenceRule weekly(int every, LocalDate until, Integer count) {
+        return new RecurrenceRule(1L, 10L, 1L, MONDAY, MONDAY.plusHours(1), Recurrence.WEEKLY, every, until, count);
+    }
+
+    @Test
+    @DisplayName("Une série limitée en nombre produit exactement ce nombre d'occurrences")
+    void shouldExpandByCount() {
+        RecurrenceRule rule = weekly(1, null, 4);
+
+        assertThat(rule.occurrences().map(BookingSlot::startDate))
+                .containsExactly(MONDAY, MONDAY.plusWeeks(1), MONDAY.plusWeeks(2), MONDAY.plusWeeks(3));
+        assertThat(rule.lastEnd()).isEqualTo(MONDAY.plusWeeks(3).plusHours(1));
+    }
+
+    @Test
+    @DisplayName("Une série limitée par date inclut le dernier jour")
+    void shouldExpandUntilDate() {
+        RecurrenceRule rule = weekly(2, MONDAY.toLocalDate().plusWeeks(4), null);
+
+        assertThat(rule.occurrences().map(BookingSlot::startDate))
+                .containsExactly(MONDAY, MONDAY.plusWeeks(2), MONDAY.plusWeeks(4));
+    }
+
+    @Test
+    @DisplayName("Seules les occurrences de la fenêtre sont développées")
+    void shouldExpandOnlyInsideWindow() {
+        RecurrenceRule rule = new RecurrenceRule(1L, 10L, 1L, MONDAY, MONDAY.plusHours(1),
+                Recurrence.DAILY, 1, null, 10_000);
+
+        assertThat(rule.occurrences(MONDAY.plusDays(5000).withHour(10).withMinute(30), MONDAY.plusDays(5002)))
+                .extracting(BookingSlot::startDate)
+                .containsExactly(MONDAY.plusDays(5000), MONDAY.plusDays(5001));
+    }
+
+    @Test
+    @DisplayName("Une occurrence qui touche la fenêtre sans la chevaucher est exclue")
+    void shouldExcludeAdjacentOccurrences() {
+        RecurrenceRule rule = weekly(1, null, 3);
+
+        assertThat(rule.overlaps(MONDAY.plusHours(1), MONDAY.plusWeeks(1))).isFalse();
+        assertThat(rule.overlaps(MONDAY.plusWeeks(1).plusMinutes(59), MONDAY.plusWeeks(1).plusHours(2))).isTrue();
+        assertThat(rule.overlaps(MONDAY.plusWeeks(3), MONDAY.plusWeeks(3).plusHours(1))).isFalse();
+    }
+}
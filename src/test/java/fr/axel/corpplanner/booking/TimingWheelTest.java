@@ -0,0 +1,69 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.service.TimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long ORIGIN = 1_000_000L;
+
+    @Test
+    @DisplayName("Une échéance expire au premier tick qui la dépasse, pas avant")
+    void shouldExpireAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, ORIGIN);
+        wheel.schedule("a", ORIGIN + 250);
+
+        assertThat(wheel.advance(ORIGIN + 200)).isEmpty();
+        assertThat(wheel.advance(ORIGIN + 300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Une échéance au-delà d'un tour de roue attend le bon tour")
+    void shouldKeepDeadlinesBeyondOneRotation() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, ORIGIN);
+        wheel.schedule("near", ORIGIN + 300);
+        wheel.schedule("far", ORIGIN + 1100);
+
+        assertThat(wheel.advance(ORIGIN + 1000)).containsExactly("near");
+        assertThat(wheel.advance(ORIGIN + 1100)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Après une longue pause, toutes les échéances dépassées sont rendues")
+    void shouldCatchUpAfterLongPause() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(100, 8, ORIGIN);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, ORIGIN + i * 100L);
+        }
+
+        assertThat(wheel.advance(ORIGIN + 5_000)).hasSize(20);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Une échéance annulée n'expire pas")
+    void cancelledTimeoutShouldNotExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, ORIGIN);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", ORIGIN + 200);
+        wheel.schedule("b", ORIGIN + 200);
+
+        assertThat(wheel.cancel(timeout)).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.advance(ORIGIN + 300)).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("Une échéance déjà passée expire au tick suivant")
+    void pastDeadlineShouldExpireOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, ORIGIN);
+        wheel.advance(ORIGIN + 500);
+        wheel.schedule("late", ORIGIN + 100);
+
+        assertThat(wheel.advance(ORIGIN + 550)).isEmpty();
+        assertThat(wheel.advance(ORIGIN + 600)).containsExactly("late");
+    }
+}
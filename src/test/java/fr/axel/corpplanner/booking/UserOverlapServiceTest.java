@@ -0,0 +1,128 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.domain.UserOverlapPolicy;
+import fr.axel.corpplanner.booking.dto.BookingSlot;
+import fr.axel.corpplanner.booking.dto.UserOverlapRule;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.repository.UserOverlapPolicyRepository;
+import fr.axel.corpplanner.booking.service.AvailabilityIndex;
+import fr.axel.corpplanner.booking.service.UserBookingIndex;
+import fr.axel.corpplanner.booking.service.UserOverlapService;
+import fr.axel.corpplanner.config.BookingConflictException;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserOverlapServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 15, 0, 0);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private BookingSeriesRepository bookingSeriesRepository;
+    @Mock private ResourceRepository resourceRepository;
+    @Mock private UserOverlapPolicyRepository policyRepository;
+
+    private AvailabilityIndex availabilityIndex;
+    private UserOverlapService userOverlap;
+
+    private final User employee = User.builder().id(1L).roles(Set.of(Role.EMPLOYEE)).build();
+    private final User admin = User.builder().id(2L).roles(Set.of(Role.ADMIN)).build();
+
+    @BeforeEach
+    void setUp() {
+        when(resourceRepository.findAll()).thenReturn(List.of(
+                Resource.builder().id(10L).type(ResourceType.ROOM).build(),
+                Resource.builder().id(20L).type(ResourceType.HARDWARE).build()
+        ));
+        UserBookingIndex userIndex = new UserBookingIndex(resourceRepository);
+        userIndex.loadResourceTypes();
+        availabilityIndex = new AvailabilityIndex(bookingRepository, bookingSeriesRepository, userIndex);
+        userOverlap = new UserOverlapService(policyRepository, userIndex);
+    }
+
+    @Test
+    @DisplayName("Une fois la règle active, un utilisateur ne peut pas occuper deux ressources en même temps")
+    void shouldRejectOverlapOnceEnabled() {
+        availabilityIndex.add(new BookingSlot(1L, 10L, 1L, DAY.withHour(9), DAY.withHour(10)));
+
+        assertThatCode(() -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(9), DAY.withHour(10)))
+                .doesNotThrowAnyException();
+
+        userOverlap.update(new UserOverlapRule(true, null, null));
+
+        assertThrows(BookingConflictException.class,
+                () -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(9).withMinute(30), DAY.withHour(11)));
+        assertThatCode(() -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(10), DAY.withHour(11)))
+                .doesNotThrowAnyException();
+        verify(policyRepository).save(any(UserOverlapPolicy.class));
+    }
+
+    @Test
+    @DisplayName("Un créneau annulé ne compte plus pour la règle")
+    void cancelledSlotShouldNotCount() {
+        BookingSlot slot = new BookingSlot(1L, 10L, 1L, DAY.withHour(9), DAY.withHour(10));
+        availabilityIndex.add(slot);
+        userOverlap.update(new UserOverlapRule(true, null, null));
+
+        availabilityIndex.remove(slot);
+
+        assertThatCode(() -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(9), DAY.withHour(10)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Les rôles et types de ressource exemptés échappent à la règle")
+    void exemptionsShouldApply() {
+        availabilityIndex.add(new BookingSlot(1L, 20L, 1L, DAY.withHour(9), DAY.withHour(10)));
+        availabilityIndex.add(new BookingSlot(2L, 10L, 2L, DAY.withHour(9), DAY.withHour(10)));
+        userOverlap.update(new UserOverlapRule(true, Set.of(Role.ADMIN), Set.of(ResourceType.HARDWARE)));
+
+        // Le matériel déjà emprunté n'empêche pas de réserver une salle, ni l'inverse
+        assertThatCode(() -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(9), DAY.withHour(10)))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> userOverlap.check(admin, ResourceType.ROOM, DAY.withHour(9), DAY.withHour(10)))
+                .doesNotThrowAnyException();
+
+        availabilityIndex.add(new BookingSlot(3L, 10L, 1L, DAY.withHour(9), DAY.withHour(10)));
+        assertThrows(BookingConflictException.class,
+                () -> userOverlap.check(employee, ResourceType.ROOM, DAY.withHour(9), DAY.withHour(10)));
+        assertThatCode(() -> userOverlap.check(employee, ResourceType.HARDWARE, DAY.withHour(9), DAY.withHour(10)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Une série est refusée dès qu'une occurrence chevauche une réservation non exemptée de l'utilisateur")
+    void seriesShouldBeCheckedOccurrenceByOccurrence() {
+        availabilityIndex.add(new BookingSlot(1L, 20L, 1L, DAY.plusWeeks(1).withHour(9), DAY.plusWeeks(1).withHour(10)));
+        userOverlap.update(new UserOverlapRule(true, null, Set.of(ResourceType.HARDWARE)));
+        RecurrenceRule weekly = new RecurrenceRule(null, 30L, 1L, DAY.withHour(9), DAY.withHour(10),
+                Recurrence.WEEKLY, 1, null, 3);
+
+        assertThatCode(() -> userOverlap.checkSeries(employee, ResourceType.ROOM, weekly)).doesNotThrowAnyException();
+
+        availabilityIndex.add(new BookingSlot(2L, 10L, 1L, DAY.plusWeeks(2).withHour(9).withMinute(30), DAY.plusWeeks(2).withHour(11)));
+
+        assertThrows(BookingConflictException.class, () -> userOverlap.checkSeries(employee, ResourceType.ROOM, weekly));
+    }
+}
@@ -0,0 +1,70 @@
+package fr.axel.corpplanner.booking;
+
+import fr.axel.corpplanner.booking.dto.WaitlistSlot;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import fr.axel.corpplanner.booking.service.Waitlist;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 15, 0, 0);
+
+    @Mock private WaitlistEntryRepository waitlistEntryRepository;
+    @InjectMocks private Waitlist waitlist;
+
+    @Test
+    @DisplayName("Les candidats sont triés par priorité puis par ancienneté")
+    void shouldOrderCandidatesByPriorityThenAge() {
+        when(waitlistEntryRepository.findAllWaitingSlots()).thenReturn(List.of(
+                slot(1L, DAY.withHour(9), DAY.withHour(10), 0, DAY.minusDays(3)),
+                slot(2L, DAY.withHour(9), DAY.withHour(10), 1, DAY.minusDays(1)),
+                slot(3L, DAY.withHour(9), DAY.withHour(10), 0, DAY.minusDays(5))
+        ));
+
+        waitlist.load();
+
+        assertThat(waitlist.candidates(10L, DAY.withHour(9), DAY.withHour(10)))
+                .extracting(WaitlistSlot::id)
+                .containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Seules les demandes qui chevauchent le créneau libéré sont candidates")
+    void shouldOnlyReturnOverlappingEntries() {
+        waitlist.add(slot(1L, DAY.minusDays(2), DAY.plusDays(2), 0, DAY.minusDays(9)));
+        waitlist.add(slot(2L, DAY.withHour(10), DAY.withHour(11), 0, DAY.minusDays(8)));
+        waitlist.add(slot(3L, DAY.withHour(14), DAY.withHour(15), 0, DAY.minusDays(7)));
+
+        assertThat(waitlist.candidates(10L, DAY.withHour(9), DAY.withHour(10).withMinute(30)))
+                .extracting(WaitlistSlot::id)
+                .containsExactly(1L, 2L);
+        assertThat(waitlist.candidates(11L, DAY.withHour(9), DAY.withHour(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Une demande retirée n'est plus candidate")
+    void removedEntryShouldNotBeCandidate() {
+        waitlist.add(slot(1L, DAY.withHour(9), DAY.withHour(10), 0, DAY.minusDays(1)));
+
+        waitlist.remove(1L);
+        waitlist.remove(1L);
+
+        assertThat(waitlist.candidates(10L, DAY.withHour(9), DAY.withHour(10))).isEmpty();
+    }
+
+    private WaitlistSlot slot(Long id, LocalDateTime start, LocalDateTime end, int priority, LocalDateTime requestedAt) {
+        return new WaitlistSlot(id, 10L, 100L + id, "user" + id + "@corp.com", start, end, priority, requestedAt);
+    }
+}
@@ -0,0 +1,164 @@
+package fr.axel.corpplanner.config;
+
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.domain.WaitlistEntry;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.resource.domain.Resource;
+import fr.axel.corpplanner.resource.domain.ResourceType;
+import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budget de requêtes SQL par endpoint GET : un dépassement signale un N+1 ou un chargement EAGER.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SqlStatementBudgetTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2033, 3, 7, 0, 0);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManager entityManager;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ResourceRepository resourceRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private BookingSeriesRepository bookingSeriesRepository;
+    @Autowired private WaitlistEntryRepository waitlistEntryRepository;
+
+    @MockitoBean private EmailService emailService;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Resource> resources = new ArrayList<>();
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                Arguments.of("/api/v1/bookings/mine", "EMPLOYEE", 2),
+                Arguments.of("/api/v1/bookings?size=50", "ADMIN", 2),
+                Arguments.of("/api/v1/bookings/grid?resourceIds={r}&from=2033-03-07&to=2033-03-13", "EMPLOYEE", 0),
+                Arguments.of("/api/v1/users/me", "EMPLOYEE", 1),
+                Arguments.of("/api/v1/resources", "EMPLOYEE", 2),
+                Arguments.of("/api/v1/resources/{r}", "EMPLOYEE", 1),
+                Arguments.of("/api/v1/resources/free-slots?duration=PT1H&from=2033-03-07T08:00:00&to=2033-03-07T18:00:00", "EMPLOYEE", 3),
+                Arguments.of("/api/v1/bookings/meetings/slots?userIds={u}&duration=PT1H&from=2033-03-07T08:00:00&to=2033-03-21T18:00:00", "EMPLOYEE", 4),
+                Arguments.of("/api/v1/bookings/approvals", "ADMIN", 1),
+                Arguments.of("/api/v1/bookings/waitlist/mine", "EMPLOYEE", 1),
+                Arguments.of("/api/v1/resources/{r}/availability?from=2033-03-07T08:00:00&to=2033-03-07T18:00:00", "EMPLOYEE", 1),
+                Arguments.of("/api/v1/bookings/user-overlap-policy", "ADMIN", 0),
+                Arguments.of("/api/v1/rate-limits", "ADMIN", 0),
+                Arguments.of("/api/v1/bookings/export?from=2033-03-07T00:00:00&to=2033-03-14T00:00:00", "ADMIN", 2)
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < 3; u++) {
+            users.add(userRepository.save(User.builder()
+                    .email(u == 0 ? "budget@corp.com" : "budget" + u + "@corp.com")
+                    .password("pass")
+                    .firstName("Budget")
+                    .lastName("User" + u)
+                    .roles(Set.of(Role.EMPLOYEE))
+                    .enabled(true)
+                    .build()));
+        }
+        for (int r = 0; r < 5; r++) {
+            resources.add(resourceRepository.save(Resource.builder()
+                    .name("Salle budget " + r)
+                    .type(ResourceType.ROOM)
+                    .capacity(4 + r)
+                    .active(true)
+                    .build()));
+        }
+        for (int i = 0; i < 30; i++) {
+            bookingRepository.save(Booking.builder()
+                    .startDate(DAY.plusHours(8 + i % 10))
+                    .endDate(DAY.plusHours(9 + i % 10))
+                    .resource(resources.get(i % resources.size()))
+                    .user(users.get(i % users.size()))
+                    .status(i % 2 == 0 ? Status.CONFIRMED : Status.WAITING)
+                    .build());
+        }
+        for (int s = 0; s < 3; s++) {
+            BookingSeries series = BookingSeries.builder()
+                    .startDate(DAY.plusDays(1).plusHours(8 + s))
+                    .endDate(DAY.plusDays(1).plusHours(9 + s))
+                    .frequency(Recurrence.DAILY)
+                    .repeatEvery(1)
+                    .occurrenceCount(5)
+                    .status(Status.CONFIRMED)
+                    .resource(resources.get(s))
+                    .user(users.get(s))
+                    .build();
+            series.setLastEndDate(series.toRule().lastEnd());
+            bookingSeriesRepository.save(series);
+        }
+        for (int w = 0; w < 4; w++) {
+            waitlistEntryRepository.save(WaitlistEntry.builder()
+                    .startDate(DAY.plusHours(8 + w))
+                    .endDate(DAY.plusHours(9 + w))
+                    .resource(resources.get(w % resources.size()))
+                    .user(users.get(0))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest(name = "{0} : au plus {2} requêtes")
+    @MethodSource("endpoints")
+    @DisplayName("Chaque endpoint GET reste dans son budget de requêtes SQL")
+    void getEndpointsShouldStayWithinStatementBudget(String path, String role, int budget) throws Exception {
+        String url = path.replace("{r}", resources.get(0).getId().toString())
+                .replace("{u}", users.get(0).getId() + "," + users.get(1).getId() + "," + users.get(2).getId());
+
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(get(url).with(user("budget@corp.com").roles(role)))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Réponse en flux (export) : les requêtes partent pendant l'écriture du corps
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(SqlStatementCounter.count())
+                .as("Requêtes SQL pour GET %s", url)
+                .isLessThanOrEqualTo(budget);
+    }
+}
@@ -0,0 +1,105 @@
+package fr.axel.corpplanner.idempotency;
+
+import fr.axel.corpplanner.idempotency.domain.IdempotencyRecord;
+import fr.axel.corpplanner.idempotency.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock private IdempotencyRecordRepository recordRepository;
+    @InjectMocks private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "ttlHours", 24L);
+        ReflectionTestUtils.setField(store, "pendingLeaseSeconds", 60L);
+        ReflectionTestUtils.setField(store, "maxEntries", 100);
+        store.init();
+    }
+
+    @Test
+    @DisplayName("Une clé en cours n'est réservée que pour le bail, la réponse pour tout le TTL")
+    void pendingKeyShouldOnlyHoldALease() {
+        when(recordRepository.findById("k")).thenReturn(Optional.empty());
+        when(recordRepository.complete(eq("k"), eq(201), any(), any(), any())).thenReturn(1);
+
+        assertThat(store.reserve("k", "hash")).isEmpty();
+        store.complete("k", "hash", 201, "application/json", new byte[0]);
+
+        ArgumentCaptor<LocalDateTime> lease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(recordRepository).insertPending(eq("k"), eq("hash"), lease.capture());
+        assertThat(lease.getValue()).isCloseTo(LocalDateTime.now().plusSeconds(60), within(5, SECONDS));
+        ArgumentCaptor<LocalDateTime> ttl = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(recordRepository).complete(eq("k"), eq(201), eq("application/json"), any(), ttl.capture());
+        assertThat(ttl.getValue()).isCloseTo(LocalDateTime.now().plusHours(24), within(5, SECONDS));
+    }
+
+    @Test
+    @DisplayName("Une clé restée en cours au-delà de son bail peut être reprise")
+    void staleLeaseShouldBeReclaimed() {
+        when(recordRepository.findById("k")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .id("k")
+                .requestHash("hash")
+                .expiresAt(LocalDateTime.now().minusSeconds(1))
+                .build()));
+
+        assertThat(store.reserve("k", "hash")).isEmpty();
+
+        verify(recordRepository).deleteIfExpired(eq("k"), any());
+        verify(recordRepository, never()).deleteById(any());
+        verify(recordRepository).insertPending(eq("k"), eq("hash"), any());
+    }
+
+    @Test
+    @DisplayName("Une clé en cours dont le bail court encore reste bloquée")
+    void liveLeaseShouldStayPending() {
+        when(recordRepository.findById("k")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .id("k")
+                .requestHash("hash")
+                .expiresAt(LocalDateTime.now().plusSeconds(30))
+                .build()));
+
+        assertThat(store.reserve("k", "hash")).hasValueSatisfying(stored -> assertThat(stored.isPending()).isTrue());
+
+        verify(recordRepository, never()).insertPending(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Le bail d'une clé en cours est prolongé jusqu'à la réponse, puis plus du tout")
+    void inFlightLeaseShouldBeRenewedUntilCompleted() {
+        when(recordRepository.findById("k")).thenReturn(Optional.empty());
+        when(recordRepository.complete(eq("k"), eq(201), any(), any(), any())).thenReturn(1);
+
+        store.reserve("k", "hash");
+        store.renewLeases();
+
+        ArgumentCaptor<LocalDateTime> lease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(recordRepository).renewPending(eq(List.of("k")), lease.capture());
+        assertThat(lease.getValue()).isCloseTo(LocalDateTime.now().plusSeconds(60), within(5, SECONDS));
+
+        store.complete("k", "hash", 201, "application/json", new byte[0]);
+        store.renewLeases();
+
+        verify(recordRepository, times(1)).renewPending(any(), any());
+    }
+}
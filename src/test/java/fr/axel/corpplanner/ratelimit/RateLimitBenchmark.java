@@ -0,0 +1,69 @@
+package fr.axel.corpplanner.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Surcoût par requête de RateLimitFilter sur une route limitée par IP, avec 10 000 clients distincts,
+ * et de la seule mise à jour du compteur. Lancé par {@link RateLimitBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RateLimitBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private SlidingWindowLimiter limiter;
+    private MockHttpServletRequest[] requests;
+    private String[] keys;
+    private MockHttpServletResponse response;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitFilter(new JwtService(), new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxKeys", CLIENTS * 2);
+        ReflectionTestUtils.setField(filter, "bookingsMaxRequests", SlidingWindowLimiter.MAX_REQUESTS_LIMIT);
+        ReflectionTestUtils.setField(filter, "bookingsWindowSeconds", 1L);
+        ReflectionTestUtils.setField(filter, "forgotPasswordMaxRequests", SlidingWindowLimiter.MAX_REQUESTS_LIMIT);
+        ReflectionTestUtils.setField(filter, "forgotPasswordWindowSeconds", 1L);
+        filter.init();
+        limiter = new SlidingWindowLimiter("bench", SlidingWindowLimiter.MAX_REQUESTS_LIMIT, 1, CLIENTS * 2, false);
+
+        requests = new MockHttpServletRequest[CLIENTS];
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+            requests[i] = new MockHttpServletRequest("POST", "/api/v1/auth/forgot-password");
+            requests[i].setRemoteAddr(keys[i]);
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        next = (next + 1) % CLIENTS;
+        filter.doFilterInternal(requests[next], response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        next = (next + 1) % CLIENTS;
+        return limiter.tryAcquire(keys[next], System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package fr.axel.corpplanner.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lance {@link RateLimitBenchmark} sous JMH (mvn test -Pbenchmark -Dtest=RateLimitBenchmarkTest).
+ */
+@Tag("benchmark")
+class RateLimitBenchmarkTest {
+
+    @Test
+    @DisplayName("La limite de débit ajoute moins d'une microseconde par requête")
+    void filterShouldCostLessThanOneMicrosecond() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(RateLimitBenchmark.class.getName())
+                .build()).run();
+
+        Map<String, Double> microsPerOp = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                result -> result.getPrimaryResult().getScore()));
+        microsPerOp.forEach((name, score) -> System.out.printf("%-12s %8.3f µs/op%n", name, score));
+
+        assertThat(microsPerOp.get("filter")).isLessThan(1.0);
+        assertThat(microsPerOp.get("tryAcquire")).isLessThan(microsPerOp.get("filter"));
+    }
+}
@@ -0,0 +1,105 @@
+package fr.axel.corpplanner.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.security.JwtAuthenticationFilter;
+import fr.axel.corpplanner.security.JwtService;
+import fr.axel.corpplanner.security.VerifiedToken;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private JwtService jwtService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        filter = new RateLimitFilter(jwtService, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxKeys", 100);
+        ReflectionTestUtils.setField(filter, "bookingsMaxRequests", 2);
+        ReflectionTestUtils.setField(filter, "bookingsWindowSeconds", 60L);
+        ReflectionTestUtils.setField(filter, "forgotPasswordMaxRequests", 1);
+        ReflectionTestUtils.setField(filter, "forgotPasswordWindowSeconds", 900L);
+        // Horloge figée : les requêtes d'un test ne chevauchent jamais deux fenêtres
+        LongSupplier clock = () -> 1_000 * 900_000L;
+        ReflectionTestUtils.setField(filter, "clock", clock);
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Mot de passe oublié : limité par IP, réponse 429 avec Retry-After")
+    void forgotPasswordShouldBeLimitedPerIp() throws Exception {
+        assertThat(perform(forgotPassword("10.0.0.1")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform(forgotPassword("10.0.0.1"));
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 900L);
+
+        assertThat(perform(forgotPassword("10.0.0.2")).getStatus()).isEqualTo(200);
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    @DisplayName("Réservations : limité par utilisateur et jeton transmis à JwtAuthenticationFilter")
+    void bookingsShouldBeLimitedPerUser() throws Exception {
+        VerifiedToken alice = new VerifiedToken("alice@corp.com", Instant.now(), Instant.now().plusSeconds(60), Map.of());
+        when(jwtService.verify("alice-token")).thenReturn(alice);
+
+        MockHttpServletRequest first = bookings("alice-token");
+        assertThat(perform(first).getStatus()).isEqualTo(200);
+        assertThat(first.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE)).isSameAs(alice);
+        assertThat(perform(bookings("alice-token")).getStatus()).isEqualTo(200);
+        assertThat(perform(bookings("alice-token")).getStatus()).isEqualTo(429);
+
+        // Même IP, sans jeton : compteur distinct
+        assertThat(perform(bookings(null)).getStatus()).isEqualTo(200);
+        assertThat(filter.stats()).anySatisfy(stats -> {
+            assertThat(stats.route()).isEqualTo("bookings");
+            assertThat(stats.rejected()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Les autres routes ne sont pas limitées")
+    void otherRoutesShouldNotBeFiltered() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/resources");
+        assertThat(filter.shouldNotFilter(request)).isTrue();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest forgotPassword(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/forgot-password");
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static MockHttpServletRequest bookings(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        if (token != null) {
+            request.setCookies(new Cookie(JwtAuthenticationFilter.TOKEN_COOKIE, token));
+        }
+        return request;
+    }
+}
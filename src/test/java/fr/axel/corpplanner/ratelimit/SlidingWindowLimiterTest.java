@@ -0,0 +1,78 @@
+package fr.axel.corpplanner.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTest {
+
+    private static final long WINDOW_START = 1_000 * 60_000L;
+
+    @Test
+    @DisplayName("Refuse au-delà de la limite dans la fenêtre, par clé")
+    void shouldRejectAboveLimitPerKey() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter("test", 3, 60, 100, false);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a", WINDOW_START + i)).isZero();
+        }
+        assertThat(limiter.tryAcquire("a", WINDOW_START + 10_000)).isEqualTo(50_000);
+        assertThat(limiter.tryAcquire("b", WINDOW_START + 10_000)).isZero();
+
+        assertThat(limiter.stats().allowed()).isEqualTo(4);
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("La fenêtre précédente pèse au prorata du temps restant")
+    void previousWindowShouldBeWeighted() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter("test", 4, 60, 100, false);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("a", WINDOW_START + i);
+        }
+
+        // Un quart de la fenêtre suivante écoulé : 4 * 0.75 = 3 requêtes estimées, une seule place
+        assertThat(limiter.tryAcquire("a", WINDOW_START + 75_000)).isZero();
+        assertThat(limiter.tryAcquire("a", WINDOW_START + 75_000)).isPositive();
+
+        // Deux fenêtres plus tard, l'historique est oublié
+        assertThat(limiter.tryAcquire("a", WINDOW_START + 180_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Table pleine : les nouvelles clés passent sans être suivies, les clés inactives sont évincées")
+    void shouldBoundTrackedKeys() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter("test", 1, 60, 1, false);
+        limiter.tryAcquire("a", WINDOW_START);
+
+        assertThat(limiter.tryAcquire("b", WINDOW_START)).isZero();
+        assertThat(limiter.tryAcquire("b", WINDOW_START)).isZero();
+        assertThat(limiter.stats().untracked()).isEqualTo(2);
+
+        assertThat(limiter.evictIdle(WINDOW_START + 120_000)).isEqualTo(1);
+        assertThat(limiter.stats().trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Table pleine : une clé inactive est évincée pour faire place à la nouvelle")
+    void fullTableShouldEvictIdleKeysOnInsert() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter("test", 1, 60, 1, true);
+        limiter.tryAcquire("a", WINDOW_START);
+
+        assertThat(limiter.tryAcquire("b", WINDOW_START + 120_000)).isZero();
+        assertThat(limiter.tryAcquire("b", WINDOW_START + 120_000)).isPositive();
+        assertThat(limiter.stats().untracked()).isZero();
+    }
+
+    @Test
+    @DisplayName("Table pleine de clés actives : une route sensible refuse les nouvelles clés au lieu de les laisser passer")
+    void sensitiveRouteShouldShedUntrackedKeys() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter("test", 1, 60, 1, true);
+        limiter.tryAcquire("a", WINDOW_START);
+
+        assertThat(limiter.tryAcquire("b", WINDOW_START + 10_000)).isEqualTo(50_000);
+        assertThat(limiter.stats().untracked()).isEqualTo(1);
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+    }
+}
@@ -1,23 +1,50 @@
 package fr.axel.corpplanner.resource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.axel.corpplanner.booking.domain.Booking;
+import fr.axel.corpplanner.booking.domain.BookingSeries;
+import fr.axel.corpplanner.booking.domain.Recurrence;
+import fr.axel.corpplanner.booking.domain.RecurrenceRule;
+import fr.axel.corpplanner.booking.domain.Status;
+import fr.axel.corpplanner.booking.domain.WaitlistEntry;
+import fr.axel.corpplanner.booking.domain.WaitlistStatus;
+import fr.axel.corpplanner.booking.dto.SlotHold;
+import fr.axel.corpplanner.booking.repository.BookingRepository;
+import fr.axel.corpplanner.booking.repository.BookingSeriesRepository;
+import fr.axel.corpplanner.booking.repository.WaitlistEntryRepository;
+import fr.axel.corpplanner.booking.service.BookingService;
+import fr.axel.corpplanner.booking.service.SlotHolds;
+import fr.axel.corpplanner.email.EmailMessage;
 import fr.axel.corpplanner.email.EmailService;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.domain.ResourceType;
 import fr.axel.corpplanner.resource.dto.ResourceRequest;
 import fr.axel.corpplanner.resource.repository.ResourceRepository;
+import fr.axel.corpplanner.user.domain.Role;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +57,12 @@ class ResourceControllerTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private ResourceRepository resourceRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookingSeriesRepository bookingSeriesRepository;
+    @Autowired private WaitlistEntryRepository waitlistEntryRepository;
+    @Autowired private BookingService bookingService;
+    @Autowired private SlotHolds slotHolds;
 
     @MockitoBean private EmailService emailService;
 
@@ -45,7 +78,7 @@ class ResourceControllerTest {
     @DisplayName("Un ADMIN peut créer une ressource")
     @WithMockUser(roles = "ADMIN")
     void adminShouldCreateResource() throws Exception {
-        ResourceRequest request = new ResourceRequest("Projecteur", ResourceType.HARDWARE, 1, "Bureau 202");
+        ResourceRequest request = new ResourceRequest("Projecteur", ResourceType.HARDWARE, 1, "Bureau 202", null);
 
         mockMvc.perform(post("/api/v1/resources")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -58,7 +91,7 @@ class ResourceControllerTest {
     @DisplayName("Un EMPLOYÉ ne peut PAS créer une ressource (403)")
     @WithMockUser(roles = "EMPLOYEE")
     void employeeShouldNotCreateResource() throws Exception {
-        ResourceRequest request = new ResourceRequest("Interdit", ResourceType.ROOM, 5, "Zone 51");
+        ResourceRequest request = new ResourceRequest("Interdit", ResourceType.ROOM, 5, "Zone 51", null);
 
         mockMvc.perform(post("/api/v1/resources")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -70,7 +103,7 @@ class ResourceControllerTest {
     @DisplayName("L'API devrait valider les champs obligatoires (400)")
     @WithMockUser(roles = "ADMIN")
     void shouldValidateBadRequest() throws Exception {
-        ResourceRequest invalidRequest = new ResourceRequest("", null, 0, null);
+        ResourceRequest invalidRequest = new ResourceRequest("", null, 0, null, null);
 
         mockMvc.perform(post("/api/v1/resources")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -104,7 +137,7 @@ class ResourceControllerTest {
                 .active(true)
                 .build());
 
-        ResourceRequest updateRequest = new ResourceRequest("Nouveau Nom", ResourceType.ROOM, 10, "Etage 1");
+        ResourceRequest updateRequest = new ResourceRequest("Nouveau Nom", ResourceType.ROOM, 10, "Etage 1", null);
 
         mockMvc.perform(put("/api/v1/resources/" + saved.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -130,4 +163,131 @@ class ResourceControllerTest {
         Resource deleted = resourceRepository.findById(saved.getId()).orElseThrow();
         assert !deleted.getActive();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Désactiver une ressource annule ses réservations à venir et prévient chaque utilisateur une fois")
+    @WithMockUser(roles = "ADMIN")
+    void deleteShouldCancelFutureBookings() throws Exception {
+        Resource room = resourceRepository.save(Resource.builder()
+                .name("Salle fermée").type(ResourceType.ROOM).capacity(8).active(true).build());
+        User alice = userRepository.save(User.builder()
+                .email("alice@corp.com").password("pass").roles(Set.of(Role.EMPLOYEE)).enabled(true).build());
+        User bob = userRepository.save(User.builder()
+                .email("bob@corp.com").password("pass").roles(Set.of(Role.EMPLOYEE)).enabled(true).build());
+        LocalDateTime day = LocalDateTime.now().plusDays(20).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        Booking past = booking(room, alice, LocalDateTime.now().minusDays(2));
+        Booking first = booking(room, alice, day);
+        Booking second = booking(room, alice, day.plusDays(1));
+        Booking other = booking(room, bob, day.plusHours(2));
+
+        mockMvc.perform(delete("/api/v1/resources/" + room.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(bookingRepository.findById(past.getId()).orElseThrow().getStatus()).isEqualTo(Status.WAITING);
+        assertThat(List.of(first, second, other))
+                .allSatisfy(b -> assertThat(bookingRepository.findById(b.getId()).orElseThrow().getStatus())
+                        .isEqualTo(Status.CANCELLED));
+        verify(emailService).sendAll(argThat((List<EmailMessage> messages) -> messages.size() == 2
+                && messages.stream().anyMatch(m -> m.to().equals("alice@corp.com") && m.content().contains("2 réservation(s)"))));
+    }
+
+    @Test
+    @DisplayName("Désactiver une ressource tronque ses séries commencées, annule les autres, lève ses options et clôt sa liste d'attente")
+    @WithMockUser(roles = "ADMIN")
+    void deleteShouldTruncateSeriesAndReleaseHoldsAndWaitlist() throws Exception {
+        Resource room = resourceRepository.save(Resource.builder()
+                .name("Salle retirée").type(ResourceType.ROOM).capacity(6).active(true).build());
+        User alice = userRepository.save(User.builder()
+                .email("alice@corp.com").password("pass").roles(Set.of(Role.EMPLOYEE)).enabled(true).build());
+        LocalDateTime today = LocalDateTime.now().withHour(7).withMinute(0).withSecond(0).withNano(0);
+
+        BookingSeries started = series(room, alice, today.minusDays(3), 10);
+        BookingSeries upcoming = series(room, alice, today.plusDays(30), 5);
+        WaitlistEntry waiting = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .startDate(today.plusDays(5)).endDate(today.plusDays(5).plusHours(1))
+                .resource(room).user(alice).build());
+        SlotHold hold = slotHolds.place(room.getId(), alice.getId(), today.plusDays(6), today.plusDays(6).plusHours(1));
+
+        mockMvc.perform(delete("/api/v1/resources/" + room.getId()))
+                .andExpect(status().isNoContent());
+
+        BookingSeries truncated = bookingSeriesRepository.findById(started.getId()).orElseThrow();
+        LocalDateTime lastKept = LocalDateTime.now().isAfter(today) ? today : today.minusDays(1);
+        assertThat(truncated.getStatus()).isEqualTo(Status.WAITING);
+        assertThat(truncated.getUntilDate()).isEqualTo(lastKept.toLocalDate());
+        assertThat(truncated.getLastEndDate()).isEqualTo(lastKept.plusHours(1));
+        assertThat(bookingSeriesRepository.findById(upcoming.getId()).orElseThrow().getStatus()).isEqualTo(Status.CANCELLED);
+        assertThat(waitlistEntryRepository.findById(waiting.getId()).orElseThrow().getStatus()).isEqualTo(WaitlistStatus.EXPIRED);
+        assertThat(slotHolds.find(hold.id())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Une ressource désactivée ne peut plus être réservée, même depuis une entité chargée avant (410)")
+    @WithMockUser(roles = "ADMIN")
+    void deactivatedResourceShouldRefuseBookings() throws Exception {
+        Resource room = resourceRepository.save(Resource.builder()
+                .name("Salle fantôme").type(ResourceType.ROOM).capacity(6).active(true).build());
+        User alice = userRepository.save(User.builder()
+                .email("alice@corp.com").password("pass").roles(Set.of(Role.EMPLOYEE)).enabled(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Resource stale = Resource.builder().id(room.getId()).name(room.getName()).type(room.getType())
+                .capacity(room.getCapacity()).active(true).build();
+
+        mockMvc.perform(delete("/api/v1/resources/" + room.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThatThrownBy(() -> bookingService.createIfFree(alice, stale, start, start.plusHours(1)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GONE));
+    }
+
+    private BookingSeries series(Resource resource, User user, LocalDateTime start, int occurrences) {
+        RecurrenceRule rule = new RecurrenceRule(null, resource.getId(), user.getId(), start, start.plusHours(1),
+                Recurrence.DAILY, 1, null, occurrences);
+        return bookingSeriesRepository.save(BookingSeries.builder()
+                .startDate(start)
+                .endDate(start.plusHours(1))
+                .frequency(Recurrence.DAILY)
+                .repeatEvery(1)
+                .occurrenceCount(occurrences)
+                .lastEndDate(rule.lastEnd())
+                .status(Status.WAITING)
+                .resource(resource)
+                .user(user)
+                .build());
+    }
+
+    private Booking booking(Resource resource, User user, LocalDateTime start) {
+        return bookingRepository.save(Booking.builder()
+                .startDate(start)
+                .endDate(start.plusHours(1))
+                .status(Status.WAITING)
+                .resource(resource)
+                .user(user)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Devrait trouver les créneaux libres d'une durée donnée")
+    @WithMockUser(roles = "EMPLOYEE")
+    void shouldFindFreeSlots() throws Exception {
+        resourceRepository.save(Resource.builder()
+                .name("Petite salle").type(ResourceType.ROOM).capacity(4).location("Etage 2").active(true).build());
+        Resource large = resourceRepository.save(Resource.builder()
+                .name("Grande salle").type(ResourceType.ROOM).capacity(12).location("Etage 2").active(true).build());
+
+        mockMvc.perform(get("/api/v1/resources/free-slots")
+                        .param("type", "ROOM")
+                        .param("minCapacity", "8")
+                        .param("location", "etage 2")
+                        .param("duration", "PT1H")
+                        .param("from", "2030-01-07T08:00:00")
+                        .param("to", "2030-01-07T18:00:00")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].resourceId").value(large.getId()))
+                .andExpect(jsonPath("$[0].startDate").value("2030-01-07T08:00:00"));
+    }
+}
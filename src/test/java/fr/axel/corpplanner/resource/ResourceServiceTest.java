@@ -1,5 +1,8 @@
 package fr.axel.corpplanner.resource;
 
+import fr.axel.corpplanner.booking.service.OccupancyGrid;
+import fr.axel.corpplanner.booking.service.ResourceDeactivationService;
+import fr.axel.corpplanner.booking.service.UserBookingIndex;
 import fr.axel.corpplanner.resource.domain.Resource;
 import fr.axel.corpplanner.resource.domain.ResourceType;
 import fr.axel.corpplanner.resource.dto.ResourceRequest;
@@ -28,12 +31,15 @@ import static org.mockito.Mockito.*;
 class ResourceServiceTest {
 
     @Mock private ResourceRepository resourceRepository;
+    @Mock private UserBookingIndex userBookingIndex;
+    @Mock private ResourceDeactivationService resourceDeactivation;
+    @Mock private OccupancyGrid occupancyGrid;
     @InjectMocks private ResourceService resourceService;
 
     @Test
     @DisplayName("Devrait créer une ressource avec succès")
     void shouldCreateResource() {
-        ResourceRequest request = new ResourceRequest("Salle A", ResourceType.ROOM, 10, "Paris");
+        ResourceRequest request = new ResourceRequest("Salle A", ResourceType.ROOM, 10, "Paris", null);
         when(resourceRepository.save(any(Resource.class))).thenAnswer(i -> i.getArgument(0));
 
         Resource result = resourceService.create(request);
@@ -43,6 +49,19 @@ class ResourceServiceTest {
         verify(resourceRepository).save(any(Resource.class));
     }
 
+    @Test
+    @DisplayName("Passer une ressource en pool invalide sa grille d'occupation")
+    void shouldEvictGridOnUpdate() {
+        Resource resource = Resource.builder().id(1L).name("Écrans").type(ResourceType.HARDWARE).capacity(1).build();
+        when(resourceRepository.findById(1L)).thenReturn(Optional.of(resource));
+        when(resourceRepository.save(resource)).thenReturn(resource);
+
+        Resource result = resourceService.update(1L, new ResourceRequest("Écrans", ResourceType.HARDWARE, 3, null, true));
+
+        assertThat(result.concurrentLimit()).isEqualTo(3);
+        verify(occupancyGrid).registerResource(resource);
+    }
+
     @Test
     @DisplayName("Devrait trouver une ressource par son ID")
     void shouldFindById() {
@@ -94,5 +113,6 @@ class ResourceServiceTest {
 
         assertThat(resource.getActive()).isFalse();
         verify(resourceRepository).save(resource);
+        verify(resourceDeactivation).cancelFutureBookings(resource);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.config.RetryLaterException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Pool saturé : le hachage est refusé avec 503 et Retry-After")
+    void shouldRejectWhenPoolIsSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        // Capacité 0 ramenée à 1 : un thread occupé, une tâche en file, la suivante refusée
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 0, 3);
+        try {
+            CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> encoder.matches("secret", "secret"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("secret", "secret"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (encoder.queuedTasks() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(encoder.queuedTasks()).isEqualTo(1);
+
+            RetryLaterException e = assertThrows(RetryLaterException.class, () -> encoder.matches("secret", "secret"));
+            assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(e.getRetryAfterSeconds()).isEqualTo(3);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(encoder.encode("secret")).isEqualTo("secret");
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+}
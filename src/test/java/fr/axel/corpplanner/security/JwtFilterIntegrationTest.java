@@ -1,5 +1,7 @@
 package fr.axel.corpplanner.security;
 
+import fr.axel.corpplanner.config.SqlStatementCounter;
+import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.repository.UserRepository;
 import jakarta.servlet.http.Cookie;
@@ -9,11 +11,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -42,6 +50,63 @@ class JwtFilterIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void filterShouldBuildPrincipalFromClaimsWithoutUserQuery() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("claims@test.com")
+                .password("encoded")
+                .roles(new HashSet<>(Set.of(Role.EMPLOYEE)))
+                .enabled(true)
+                .build());
+
+        String legacyToken = jwtService.generateToken(user);
+        String claimsToken = jwtService.generateToken(Map.of(
+                TokenPrincipal.USER_ID_CLAIM, user.getId(),
+                TokenPrincipal.ROLES_CLAIM, List.of(Role.EMPLOYEE.name())
+        ), user);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/v1/bookings/mine")
+                        .cookie(new Cookie("accessToken", legacyToken)))
+                .andExpect(status().isOk());
+        int legacyStatements = SqlStatementCounter.count();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/v1/bookings/mine")
+                        .cookie(new Cookie("accessToken", claimsToken)))
+                .andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.count()).isLessThan(legacyStatements);
+    }
+
+    // Hors transaction de test : la révocation ne s'applique qu'une fois la déconnexion validée
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void filterShouldRejectTokenRevokedByLogout() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("logout@test.com")
+                .password("encoded")
+                .roles(new HashSet<>())
+                .enabled(true)
+                .build());
+
+        try {
+            String token = jwtService.generateToken(user);
+            Cookie cookie = new Cookie("accessToken", token);
+
+            mockMvc.perform(get("/api/v1/bookings/mine").cookie(cookie))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post("/api/v1/auth/logout").cookie(cookie))
+                    .andExpect(status().isOk());
+
+            // Le cookie copié avant la déconnexion ne permet plus de s'authentifier
+            mockMvc.perform(get("/api/v1/bookings/mine").cookie(cookie))
+                    .andExpect(status().isUnauthorized());
+        } finally {
+            userRepository.delete(user);
+        }
+    }
+
     @Test
     void filterShouldRejectInvalidToken() throws Exception {
         mockMvc.perform(get("/api/v1/bookings/mine")
@@ -1,5 +1,6 @@
 package fr.axel.corpplanner.security;
 
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JwtServiceTest {
 
@@ -22,6 +24,7 @@ class JwtServiceTest {
         String secretKey = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
         ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L); // 1h
+        jwtService.init();
 
         userDetails = new User("test@test.com", "password", Collections.emptyList());
     }
@@ -43,4 +46,23 @@ class JwtServiceTest {
 
         assertThat(isValid).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Un token vérifié est servi depuis le cache, un token altéré ou expiré est refusé")
+    void shouldVerifyOnceAndRejectInvalidTokens() {
+        String token = jwtService.generateToken(userDetails);
+
+        VerifiedToken first = jwtService.verify(token);
+        assertThat(first.subject()).isEqualTo("test@test.com");
+        assertThat(first.expiresAt()).isAfter(first.issuedAt());
+        assertThat(jwtService.verify(token)).isSameAs(first);
+
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "c2lnbmF0dXJlLWZvcmdlZQ";
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L);
+        String expired = jwtService.generateToken(userDetails);
+        assertThrows(JwtException.class, () -> jwtService.verify(expired));
+        assertThat(jwtService.isTokenValid(expired, userDetails)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package fr.axel.corpplanner.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût par requête de la vérification du cookie accessToken dans JwtAuthenticationFilter.
+ * legacy reproduit l'ancien chemin : trois parsings complets, chacun avec décodage de la clé et nouveau parseur.
+ * Lancé par {@link JwtVerificationBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        jwtService.init();
+        token = jwtService.generateToken(new User("bench@corp.com", "password", Collections.emptyList()));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String username = legacyClaims().getSubject();
+        // isTokenValid : extractUsername puis extractExpiration, chacun reparse le jeton
+        boolean valid = legacyClaims().getSubject().equals(username) && !legacyClaims().getExpiration().before(new Date());
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify() {
+        return jwtService.verify(token);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,37 @@
+package fr.axel.corpplanner.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lance {@link JwtVerificationBenchmark} sous JMH (mvn test -Pbenchmark -Dtest=JwtVerificationBenchmarkTest).
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    @Test
+    @DisplayName("Un seul parsing avec clé et parseur réutilisés coûte moins que les trois parsings d'origine")
+    void singleParseShouldBeCheaperThanLegacyPath() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getName())
+                .build()).run();
+
+        Map<String, Double> microsPerOp = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                result -> result.getPrimaryResult().getScore()));
+        microsPerOp.forEach((name, score) -> System.out.printf("%-12s %8.2f µs/op%n", name, score));
+
+        assertThat(microsPerOp.get("singleParse")).isLessThan(microsPerOp.get("legacy"));
+        assertThat(microsPerOp.get("cachedVerify")).isLessThan(microsPerOp.get("singleParse"));
+    }
+}
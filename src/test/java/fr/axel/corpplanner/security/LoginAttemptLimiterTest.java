@@ -0,0 +1,62 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.config.RetryLaterException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginAttemptLimiterTest {
+
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginAttemptLimiter();
+        ReflectionTestUtils.setField(limiter, "maxAccountFailures", 3);
+        ReflectionTestUtils.setField(limiter, "maxIpFailures", 5);
+        ReflectionTestUtils.setField(limiter, "windowSeconds", 300L);
+    }
+
+    @Test
+    @DisplayName("Le compte est bloqué (429) après le nombre d'échecs autorisé")
+    void shouldBlockAccountAfterMaxFailures() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("User@Test.com", "10.0.0.1");
+            limiter.recordFailure("User@Test.com", "10.0.0.1");
+        }
+
+        RetryLaterException e = assertThrows(RetryLaterException.class,
+                () -> limiter.checkAllowed("user@test.com", "10.0.0.2"));
+        assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(e.getRetryAfterSeconds()).isBetween(1L, 300L);
+        assertDoesNotThrow(() -> limiter.checkAllowed("other@test.com", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Une connexion réussie remet à zéro les échecs du compte")
+    void successShouldResetAccount() {
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+        limiter.recordSuccess("user@test.com");
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+
+        assertDoesNotThrow(() -> limiter.checkAllowed("user@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("L'IP est bloquée après des échecs répartis sur plusieurs comptes")
+    void shouldBlockIpAcrossAccounts() {
+        for (int i = 0; i < 5; i++) {
+            limiter.recordFailure("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        assertThrows(RetryLaterException.class, () -> limiter.checkAllowed("new@test.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.checkAllowed("new@test.com", "10.0.0.2"));
+    }
+}
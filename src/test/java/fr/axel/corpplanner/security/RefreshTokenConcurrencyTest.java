@@ -0,0 +1,101 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.email.EmailService;
+import fr.axel.corpplanner.security.domain.RefreshToken;
+import fr.axel.corpplanner.security.repository.RefreshTokenRepository;
+import fr.axel.corpplanner.user.domain.User;
+import fr.axel.corpplanner.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sans transaction de test : chaque appel à consume doit valider la sienne pour que les requêtes
+ * concurrentes se voient réellement.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenConcurrencyTest {
+
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockitoBean private EmailService emailService;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll(refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUser().getId().equals(user.getId()))
+                .toList());
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Refresh concurrents avec le même jeton : un seul passe, la famille est révoquée")
+    void concurrentRefreshShouldSucceedOnce() throws Exception {
+        user = userRepository.save(User.builder()
+                .email("refresh-race@test.com")
+                .password("encoded")
+                .roles(new HashSet<>())
+                .enabled(true)
+                .build());
+        String token = refreshTokenService.create(user, null, "access-race", LocalDateTime.now().plusMinutes(15));
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        int succeeded = 0;
+        int rejected = 0;
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<RefreshToken>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return refreshTokenService.consume(token);
+                }));
+            }
+            start.countDown();
+            for (Future<RefreshToken> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ResponseStatusException.class);
+                    assertThat(((ResponseStatusException) e.getCause()).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    rejected++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(rejected).isEqualTo(CONCURRENT_REFRESHES - 1);
+        assertThat(refreshTokenRepository.findAll().stream()
+                .filter(refreshToken -> refreshToken.getUser().getId().equals(user.getId())))
+                .allMatch(RefreshToken::isRevoked);
+    }
+}
@@ -0,0 +1,121 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.security.domain.RefreshToken;
+import fr.axel.corpplanner.security.repository.RefreshTokenRepository;
+import fr.axel.corpplanner.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock private RefreshTokenRepository refreshTokenRepository;
+    @Mock private TokenRevocationList revocationList;
+    @InjectMocks private RefreshTokenService refreshTokenService;
+
+    @Test
+    @DisplayName("Rotation : le jeton est consommé une seule fois")
+    void consumeShouldMarkTokenUsed() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 86_400_000L);
+        User user = User.builder().id(1L).email("test@test.com").enabled(true).build();
+        String token = refreshTokenService.create(user, null, "access-1", LocalDateTime.now().plusMinutes(15));
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isNotEqualTo(token).hasSize(64);
+        assertThat(saved.getValue().getFamilyId()).isNotNull();
+        when(refreshTokenRepository.findWithUserById(saved.getValue().getId())).thenReturn(Optional.of(saved.getValue()));
+        when(refreshTokenRepository.markUsed(saved.getValue().getId())).thenReturn(1);
+
+        RefreshToken consumed = refreshTokenService.consume(token);
+
+        assertThat(consumed.isUsed()).isTrue();
+        assertThat(consumed.getUser()).isSameAs(user);
+    }
+
+    @Test
+    @DisplayName("Jeton consommé entre la lecture et la mise à jour : traité comme une réutilisation")
+    void lostUpdateShouldRevokeFamily() {
+        User user = User.builder().id(1L).email("test@test.com").enabled(true).build();
+        RefreshToken token = RefreshToken.builder().id("hash").familyId("family-1").user(user)
+                .expiresAt(LocalDateTime.now().plusDays(1)).build();
+        when(refreshTokenRepository.findWithUserById(anyString())).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.markUsed("hash")).thenReturn(0);
+        when(refreshTokenRepository.revokeFamily("family-1")).thenReturn(1);
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(token));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.consume("raced-token"));
+
+        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(refreshTokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    @DisplayName("Réutilisation : la famille et ses jetons d'accès sont révoqués")
+    void reuseShouldRevokeFamily() {
+        LocalDateTime accessExpiresAt = LocalDateTime.now().plusMinutes(10);
+        RefreshToken used = RefreshToken.builder().id("hash").familyId("family-1").used(true)
+                .expiresAt(LocalDateTime.now().plusDays(1)).build();
+        RefreshToken latest = RefreshToken.builder().familyId("family-1")
+                .accessTokenId("access-2").accessExpiresAt(accessExpiresAt).build();
+        when(refreshTokenRepository.findWithUserById(anyString())).thenReturn(Optional.of(used));
+        when(refreshTokenRepository.revokeFamily("family-1")).thenReturn(2);
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(used, latest));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.consume("stolen-token"));
+
+        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(revocationList).revoke("access-2", accessExpiresAt);
+        verify(revocationList, never()).revoke(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Réinitialisation du mot de passe : toutes les familles de l'utilisateur et leurs jetons d'accès sont révoqués")
+    void revokeAllShouldRevokeEveryFamily() {
+        User user = User.builder().id(1L).email("test@test.com").enabled(true).build();
+        LocalDateTime accessExpiresAt = LocalDateTime.now().plusMinutes(10);
+        RefreshToken laptop = RefreshToken.builder().familyId("family-1")
+                .accessTokenId("access-1").accessExpiresAt(accessExpiresAt).build();
+        RefreshToken phone = RefreshToken.builder().familyId("family-2")
+                .accessTokenId("access-2").accessExpiresAt(accessExpiresAt).build();
+        when(refreshTokenRepository.findActiveFamilyIds(1L)).thenReturn(List.of("family-1", "family-2"));
+        when(refreshTokenRepository.revokeFamily(anyString())).thenReturn(1);
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(laptop));
+        when(refreshTokenRepository.findByFamilyId("family-2")).thenReturn(List.of(phone));
+
+        refreshTokenService.revokeAll(user);
+
+        verify(revocationList).revoke("access-1", accessExpiresAt);
+        verify(revocationList).revoke("access-2", accessExpiresAt);
+    }
+
+    @Test
+    @DisplayName("Jeton inconnu : 401")
+    void unknownTokenShouldBeRejected() {
+        when(refreshTokenRepository.findWithUserById(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.consume("unknown"));
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+}
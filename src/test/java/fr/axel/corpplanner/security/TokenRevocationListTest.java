@@ -0,0 +1,108 @@
+package fr.axel.corpplanner.security;
+
+import fr.axel.corpplanner.security.domain.RevokedToken;
+import fr.axel.corpplanner.security.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock private RevokedTokenRepository revokedTokenRepository;
+    @InjectMocks private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationList, "expectedEntries", 1000);
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("loaded-at-startup", LocalDateTime.now().plusMinutes(10), LocalDateTime.now())));
+        revocationList.init();
+    }
+
+    @Test
+    @DisplayName("Un jeton révoqué est refusé sans requête, les autres passent")
+    void revokedTokenShouldBeDetected() {
+        revocationList.revoke("revoked", LocalDateTime.now().plusMinutes(10));
+
+        assertThat(revocationList.isRevoked("revoked")).isTrue();
+        assertThat(revocationList.isRevoked("loaded-at-startup")).isTrue();
+        assertThat(revocationList.isRevoked("valid")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+        verify(revokedTokenRepository).insertIfAbsent(eq("revoked"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Dans une transaction, le jeton n'est refusé en mémoire qu'après sa validation")
+    void revocationShouldApplyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationList.revoke("committed", LocalDateTime.now().plusMinutes(10));
+            revocationList.revoke("rolled-back", LocalDateTime.now().plusMinutes(10));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            assertThat(revocationList.isRevoked("committed")).isFalse();
+            synchronizations.get(0).afterCommit();
+            assertThat(revocationList.isRevoked("committed")).isTrue();
+            assertThat(revocationList.isRevoked("rolled-back")).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Synchronisation incrémentale : seules les révocations récentes sont relues")
+    void syncShouldReadRecentRevocations() {
+        when(revokedTokenRepository.findActiveCreatedSince(any(), any())).thenReturn(List.of(
+                new RevokedToken("from-other-instance", LocalDateTime.now().plusMinutes(10), LocalDateTime.now())));
+
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked("from-other-instance")).isTrue();
+        verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any());
+    }
+
+    @Test
+    @DisplayName("Purge : les jetons expirés sortent, le filtre reconstruit garde les autres")
+    void purgeShouldRebuildFilter() {
+        revocationList.revoke("still-valid", LocalDateTime.now().plusMinutes(10));
+        ReflectionTestUtils.invokeMethod(revocationList, "add", "expired", LocalDateTime.now().minusSeconds(1));
+
+        revocationList.purgeExpired();
+
+        assertThat(revocationList.isRevoked("still-valid")).isTrue();
+        assertThat(revocationList.isRevoked("expired")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Filtre de Bloom : aucun faux négatif et peu de faux positifs à capacité")
+    void bloomFilterShouldRespectFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> inserted = IntStream.range(0, 10_000)
+                .mapToObj(i -> UUID.randomUUID().toString()).toList();
+        inserted.forEach(filter::put);
+
+        assertThat(inserted).allMatch(filter::mightContain);
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
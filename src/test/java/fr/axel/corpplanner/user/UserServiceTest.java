@@ -1,5 +1,6 @@
 package fr.axel.corpplanner.user;
 
+import fr.axel.corpplanner.security.PrincipalCache;
 import fr.axel.corpplanner.user.domain.Role;
 import fr.axel.corpplanner.user.domain.User;
 import fr.axel.corpplanner.user.dto.UserResponse;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
 
     @Mock private UserRepository userRepository;
+    @Mock private PrincipalCache principalCache;
     @InjectMocks private UserService userService;
 
     @Test
@@ -43,6 +45,7 @@ class UserServiceTest {
         assertThat(response.firstName()).isEqualTo("NouveauNom");
         assertThat(response.roles()).contains("ADMIN");
         verify(userRepository).save(existingUser);
+        verify(principalCache, times(2)).invalidate("old@test.com");
     }
 
     @Test